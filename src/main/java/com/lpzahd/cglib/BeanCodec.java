@@ -0,0 +1,391 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.ProtectionDomain;
+import java.util.*;
+
+/**
+ * Class Name: BeanCodec
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 生成的对象二进制编码，属性与Copier使用相同的getter/setter选择，只编码有同类型setter的可读属性。
+ * 属性按选择器返回的顺序依次写入ByteBuffer，不写属性名：基本类型按其字节宽度写入，引用类型见{@link BinaryValues}，
+ * 嵌套对象、集合、Map与数组按声明类型逐层编码。布局由{@link #getLayoutVersion()}标识，属性或者类型变化后布局版本随之变化，
+ * 不同布局版本写入的数据不能互相读取。循环引用的对象图不支持
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 03:20
+ * Version: 1.0
+ */
+public abstract class BeanCodec {
+
+    /**
+     * 编码格式的版本，基本类型、null标记以及各类值的写入方式变化时增加
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final BeanCodecKey KEY_FACTORY = (BeanCodecKey) KeyFactory.create(BeanCodecKey.class);
+
+    private static final Type BEAN_CODEC = TypeUtils.parseType(BeanCodec.class.getName());
+    private static final Type BYTE_BUFFER = Type.getType(ByteBuffer.class);
+    private static final Type VALUE_CODEC = Type.getType(ValueCodec.class);
+    private static final Signature ENCODE_FIELDS = new Signature("encodeFields", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT, BYTE_BUFFER});
+    private static final Signature DECODE_FIELDS = new Signature("decodeFields", Constants.TYPE_OBJECT, new Type[]{BYTE_BUFFER});
+    private static final Signature CODEC = new Signature("codec", VALUE_CODEC, new Type[]{Type.INT_TYPE});
+    private static final Signature VALUE_WRITE = new Signature("write", Type.VOID_TYPE, new Type[]{BYTE_BUFFER, Constants.TYPE_OBJECT});
+    private static final Signature VALUE_READ = new Signature("read", Constants.TYPE_OBJECT, new Type[]{BYTE_BUFFER});
+    private static final Signature PUT_BOOLEAN = new Signature("putBoolean", Type.VOID_TYPE, new Type[]{BYTE_BUFFER, Type.BOOLEAN_TYPE});
+    private static final Signature GET_BOOLEAN = new Signature("getBoolean", Type.BOOLEAN_TYPE, new Type[]{BYTE_BUFFER});
+
+    private Class<?> type;
+    private ValueCodec[] codecs;
+    private long layoutVersion;
+
+    public static BeanCodec create(Class<?> type) {
+        return create(type, null);
+    }
+
+    /**
+     * MethodName: create
+     * Description: 创建type的编码，对象图中有无法按声明类型编码的属性时抛出UnsupportedOperationException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public static BeanCodec create(Class<?> type, BeanPropertySelector selector) {
+        Generator gen = new Generator();
+        gen.setType(type);
+        gen.setSelector(selector);
+        return gen.create();
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 由对象图中各个类型的属性名与属性类型计算的布局版本
+     */
+    public long getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * MethodName: encode
+     * Description: 从buffer的当前位置写入对象，buffer剩余空间不足时抛出BufferOverflowException，此时buffer的位置不确定
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public void encode(Object bean, ByteBuffer buffer) {
+        if (bean == null) {
+            throw new NullPointerException("编码的对象不能为null");
+        }
+        if (!type.isInstance(bean)) {
+            throw new IllegalArgumentException(bean.getClass().getName() + "不是" + type.getName());
+        }
+        encodeFields(bean, buffer);
+    }
+
+    /**
+     * MethodName: decode
+     * Description: 从buffer的当前位置读取一个对象，type没有public无参构造时抛出UnsupportedOperationException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(ByteBuffer buffer) {
+        return (T) decodeFields(buffer);
+    }
+
+    /**
+     * 生成的属性写入方法
+     */
+    protected abstract void encodeFields(Object bean, ByteBuffer buffer);
+
+    /**
+     * 生成的对象创建与属性读取方法
+     */
+    protected abstract Object decodeFields(ByteBuffer buffer);
+
+    /**
+     * 第index个属性的值编码，基本类型的属性为null
+     */
+    protected final ValueCodec codec(int index) {
+        return codecs[index];
+    }
+
+    protected static void putBoolean(ByteBuffer buffer, boolean value) {
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    protected static boolean getBoolean(ByteBuffer buffer) {
+        return buffer.get() != 0;
+    }
+
+    /**
+     * 引用类型值的编码
+     */
+    public interface ValueCodec {
+
+        void write(ByteBuffer buffer, Object value);
+
+        Object read(ByteBuffer buffer);
+    }
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<BeanCodec> {
+
+        private static final Source SOURCE = new Source(BeanCodec.class.getName());
+
+        private Class<?> type;
+        private List<BinaryValues.Property> properties;
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        public void setType(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                setNamePrefix(type.getName());
+            }
+            this.type = type;
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return type.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(type);
+        }
+
+        public BeanCodec create() {
+            properties = BinaryValues.properties(type, selector);
+            return (BeanCodec) super.create(KEY_FACTORY.newInstance(type.getName(), selector));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), BEAN_CODEC, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            generateEncode(ce);
+            generateDecode(ce);
+            ce.end_class();
+        }
+
+        /**
+         * MethodName: generateEncode
+         * Description: 生成代码：Bean b = (Bean) bean; buffer.putInt(b.getId()); codec(1).write(buffer, b.getName()); ...
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 03:20
+         * Version: 1.0
+         */
+        private void generateEncode(ClassEmitter ce) {
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, ENCODE_FIELDS, null);
+            Type beanType = Type.getType(type);
+            Local beanLocal = e.make_local(beanType);
+            e.load_arg(0);
+            e.checkcast(beanType);
+            e.store_local(beanLocal);
+
+            for (int i = 0; i < properties.size(); i++) {
+                MethodInfo read = ReflectUtils.getMethodInfo(properties.get(i).getter.getReadMethod());
+                Type propertyType = read.getSignature().getReturnType();
+                if (TypeUtils.isPrimitive(propertyType)) {
+                    e.load_arg(1);
+                    e.load_local(beanLocal);
+                    e.invoke(read);
+                    if (propertyType == Type.BOOLEAN_TYPE) {
+                        e.invoke_static(BEAN_CODEC, PUT_BOOLEAN);
+                    } else {
+                        e.invoke_virtual(BYTE_BUFFER, new Signature(bufferMethod("put", propertyType), BYTE_BUFFER, new Type[]{propertyType}));
+                        e.pop();
+                    }
+                } else {
+                    e.load_this();
+                    e.push(i);
+                    e.invoke_virtual_this(CODEC);
+                    e.load_arg(1);
+                    e.load_local(beanLocal);
+                    e.invoke(read);
+                    e.invoke_interface(VALUE_CODEC, VALUE_WRITE);
+                }
+            }
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * MethodName: generateDecode
+         * Description: 生成代码：Bean b = new Bean(); b.setId(buffer.getInt()); b.setName((String) codec(1).read(buffer)); ... return b;
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 03:20
+         * Version: 1.0
+         */
+        private void generateDecode(ClassEmitter ce) {
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, DECODE_FIELDS, null);
+            if (!constructible()) {
+                e.throw_exception(Type.getType(UnsupportedOperationException.class), type.getName() + "没有public无参构造，不能解码");
+                e.end_method();
+                return;
+            }
+            Type beanType = Type.getType(type);
+            Local beanLocal = e.make_local(beanType);
+            e.new_instance(beanType);
+            e.dup();
+            e.invoke_constructor(beanType);
+            e.store_local(beanLocal);
+
+            for (int i = 0; i < properties.size(); i++) {
+                MethodInfo write = ReflectUtils.getMethodInfo(properties.get(i).setter.getWriteMethod());
+                Type propertyType = write.getSignature().getArgumentTypes()[0];
+                e.load_local(beanLocal);
+                if (TypeUtils.isPrimitive(propertyType)) {
+                    e.load_arg(0);
+                    if (propertyType == Type.BOOLEAN_TYPE) {
+                        e.invoke_static(BEAN_CODEC, GET_BOOLEAN);
+                    } else {
+                        e.invoke_virtual(BYTE_BUFFER, new Signature(bufferMethod("get", propertyType), propertyType, new Type[0]));
+                    }
+                } else {
+                    e.load_this();
+                    e.push(i);
+                    e.invoke_virtual_this(CODEC);
+                    e.load_arg(0);
+                    e.invoke_interface(VALUE_CODEC, VALUE_READ);
+                    e.checkcast(propertyType);
+                }
+                e.invoke(write);
+                if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                    // 链式setter
+                    e.pop();
+                }
+            }
+            e.load_local(beanLocal);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * ByteBuffer读写基本类型的方法名，如putInt、getLong，byte为put、get
+         */
+        private static String bufferMethod(String prefix, Type primitiveType) {
+            if (primitiveType == Type.BYTE_TYPE) {
+                return prefix;
+            }
+            String name = primitiveType.getClassName();
+            return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private boolean constructible() {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return false;
+            }
+            try {
+                return Modifier.isPublic(type.getConstructor().getModifiers());
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * MethodName: layoutVersion
+         * Description: 从type开始按属性顺序记录对象图中每个类型的属性名与属性类型，取64位FNV-1a哈希，同时检查每个属性都可以编码
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 03:20
+         * Version: 1.0
+         */
+        private long layoutVersion() {
+            StringBuilder layout = new StringBuilder().append(FORMAT_VERSION).append(':');
+            Set<Class<?>> visited = new HashSet<>();
+            Deque<Class<?>> pending = new ArrayDeque<>();
+            pending.add(type);
+            while (!pending.isEmpty()) {
+                Class<?> current = pending.poll();
+                if (!visited.add(current)) {
+                    continue;
+                }
+                layout.append(current.getName()).append('{');
+                List<Class<?>> nested = new ArrayList<>();
+                for (BinaryValues.Property property : current == type ? properties : BinaryValues.properties(current, selector)) {
+                    layout.append(property.getter.getName()).append(':').append(property.type.getTypeName()).append(';');
+                    if (!property.getter.getPropertyType().isPrimitive()) {
+                        BinaryValues.codec(property.type, selector);
+                        BinaryValues.beanClasses(property.type, nested);
+                    }
+                }
+                layout.append('}');
+                pending.addAll(nested);
+            }
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : layout.toString().getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            BeanCodec codec = (BeanCodec) ReflectUtils.newInstance(type);
+            codec.type = this.type;
+            codec.codecs = new ValueCodec[properties.size()];
+            for (int i = 0; i < properties.size(); i++) {
+                BinaryValues.Property property = properties.get(i);
+                if (!property.getter.getPropertyType().isPrimitive()) {
+                    codec.codecs[i] = BinaryValues.codec(property.type, selector);
+                }
+            }
+            codec.layoutVersion = layoutVersion();
+            return codec;
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface BeanCodecKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param className 编码的类名
+         * @param selector  属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 03:20
+         * Version: 1.0
+         */
+        Object newInstance(String className, Object selector);
+
+    }
+}
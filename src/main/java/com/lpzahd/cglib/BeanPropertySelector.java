@@ -5,6 +5,8 @@ import com.lpzahd.cglib.selector.NonStandardBeanPropertySelector;
 import com.lpzahd.cglib.selector.StandardBeanPropertySelector;
 
 import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Class Name: BeanPropertySelector
@@ -37,4 +39,19 @@ public interface BeanPropertySelector {
      */
     PropertyDescriptor[] selectSetters(Class<?> clazz);
 
+    /**
+     * 按属性名查找属性获取器，拷贝类生成时对每个嵌套类型调用，内置选择器返回缓存的Map。
+     *
+     * @param clazz 应该选择属性获取器的 Class。
+     * @return 属性名到属性获取器的映射，不能修改。
+     */
+    default Map<String, PropertyDescriptor> selectGetterNames(Class<?> clazz) {
+        PropertyDescriptor[] getters = selectGetters(clazz);
+        Map<String, PropertyDescriptor> getterNames = new HashMap<>(getters.length * 2);
+        for (PropertyDescriptor getter : getters) {
+            getterNames.put(getter.getName(), getter);
+        }
+        return getterNames;
+    }
+
 }
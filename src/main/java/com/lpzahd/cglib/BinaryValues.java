@@ -0,0 +1,447 @@
+package com.lpzahd.cglib;
+
+import com.lpzahd.cglib.BeanCodec.ValueCodec;
+import net.sf.cglib.core.ReflectUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Class Name: BinaryValues
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: {@link BeanCodec}中引用类型属性的编码。每个值先写入1个字节，0表示null，1表示后面是值；
+ * 字符串为UTF-8字节数(int)加字节，枚举按名称，数组、集合为元素数量(int)加元素，Map为数量加依次排列的键值，
+ * 基本类型数组整块写入，嵌套对象按其类型的BeanCodec写入属性。只按声明的类型编码，不记录运行时子类
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 03:20
+ * Version: 1.0
+ */
+final class BinaryValues {
+
+    private static final Map<Class<?>, ValueCodec> SCALARS = new HashMap<>(32);
+
+    static {
+        SCALARS.put(Boolean.class, scalar(buffer -> buffer.get() != 0, (buffer, value) -> buffer.put((byte) ((Boolean) value ? 1 : 0))));
+        SCALARS.put(Byte.class, scalar(ByteBuffer::get, (buffer, value) -> buffer.put((Byte) value)));
+        SCALARS.put(Short.class, scalar(ByteBuffer::getShort, (buffer, value) -> buffer.putShort((Short) value)));
+        SCALARS.put(Character.class, scalar(ByteBuffer::getChar, (buffer, value) -> buffer.putChar((Character) value)));
+        SCALARS.put(Integer.class, scalar(ByteBuffer::getInt, (buffer, value) -> buffer.putInt((Integer) value)));
+        SCALARS.put(Long.class, scalar(ByteBuffer::getLong, (buffer, value) -> buffer.putLong((Long) value)));
+        SCALARS.put(Float.class, scalar(ByteBuffer::getFloat, (buffer, value) -> buffer.putFloat((Float) value)));
+        SCALARS.put(Double.class, scalar(ByteBuffer::getDouble, (buffer, value) -> buffer.putDouble((Double) value)));
+        SCALARS.put(String.class, scalar(BinaryValues::getString, (buffer, value) -> putString(buffer, (String) value)));
+        SCALARS.put(BigInteger.class, scalar(buffer -> new BigInteger(getBytes(buffer)), (buffer, value) -> putBytes(buffer, ((BigInteger) value).toByteArray())));
+        SCALARS.put(BigDecimal.class, scalar(buffer -> {
+            int scale = buffer.getInt();
+            return new BigDecimal(new BigInteger(getBytes(buffer)), scale);
+        }, (buffer, value) -> {
+            buffer.putInt(((BigDecimal) value).scale());
+            putBytes(buffer, ((BigDecimal) value).unscaledValue().toByteArray());
+        }));
+        SCALARS.put(UUID.class, scalar(buffer -> new UUID(buffer.getLong(), buffer.getLong()), (buffer, value) -> {
+            buffer.putLong(((UUID) value).getMostSignificantBits());
+            buffer.putLong(((UUID) value).getLeastSignificantBits());
+        }));
+        SCALARS.put(LocalDate.class, scalar(buffer -> LocalDate.ofEpochDay(buffer.getLong()), (buffer, value) -> buffer.putLong(((LocalDate) value).toEpochDay())));
+        SCALARS.put(LocalTime.class, scalar(buffer -> LocalTime.ofNanoOfDay(buffer.getLong()), (buffer, value) -> buffer.putLong(((LocalTime) value).toNanoOfDay())));
+        SCALARS.put(LocalDateTime.class, scalar(buffer -> LocalDateTime.of(LocalDate.ofEpochDay(buffer.getLong()), LocalTime.ofNanoOfDay(buffer.getLong())), (buffer, value) -> {
+            buffer.putLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+            buffer.putLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+        }));
+        SCALARS.put(Instant.class, scalar(buffer -> Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()), (buffer, value) -> {
+            buffer.putLong(((Instant) value).getEpochSecond());
+            buffer.putInt(((Instant) value).getNano());
+        }));
+    }
+
+    private BinaryValues() {
+    }
+
+    /**
+     * 编码的属性：有同名同类型setter的getter，type为在bean类中解析后的属性类型
+     */
+    static final class Property {
+        final PropertyDescriptor getter;
+        final PropertyDescriptor setter;
+        final Type type;
+
+        Property(PropertyDescriptor getter, PropertyDescriptor setter, Type type) {
+            this.getter = getter;
+            this.setter = setter;
+            this.type = type;
+        }
+    }
+
+    static List<Property> properties(Class<?> type, BeanPropertySelector selector) {
+        Map<String, PropertyDescriptor> setters = new HashMap<>();
+        for (PropertyDescriptor setter : selector.selectSetters(type)) {
+            setters.put(setter.getName(), setter);
+        }
+        List<Property> properties = new ArrayList<>();
+        for (PropertyDescriptor getter : selector.selectGetters(type)) {
+            PropertyDescriptor setter = setters.get(getter.getName());
+            if (setter != null && setter.getPropertyType() == getter.getPropertyType()) {
+                properties.add(new Property(getter, setter, GenericTypes.resolve(getter.getReadMethod().getGenericReturnType(), type)));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * MethodName: codec
+     * Description: 引用类型的值编码，嵌套对象在第一次使用时才创建其BeanCodec。无法确定元素类型的集合、Map，
+     * 以及接口、抽象类、Object等不能按声明类型创建的类型抛出UnsupportedOperationException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    static ValueCodec codec(Type type, BeanPropertySelector selector) {
+        Class<?> raw = TypeRef.rawType(type);
+        ValueCodec scalar = SCALARS.get(raw);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (raw.isEnum()) {
+            return enumCodec(raw);
+        }
+        if (raw.isArray()) {
+            Class<?> component = raw.getComponentType();
+            return component.isPrimitive() ? primitiveArray(component)
+                    : objectArray(component, codec(GenericTypes.componentType(type), selector));
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            return collection(raw, codec(argument(type, Collection.class, 0), selector));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            return map(raw, codec(argument(type, Map.class, 0), selector), codec(argument(type, Map.class, 1), selector));
+        }
+        checkBean(raw);
+        return bean(raw, selector);
+    }
+
+    /**
+     * MethodName: beanClasses
+     * Description: type中按BeanCodec编码的嵌套对象类型，包括数组、集合、Map的元素类型
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    static void beanClasses(Type type, Collection<Class<?>> out) {
+        Class<?> raw = TypeRef.rawType(type);
+        if (raw.isPrimitive() || SCALARS.containsKey(raw) || raw.isEnum()) {
+            return;
+        }
+        if (raw.isArray()) {
+            beanClasses(GenericTypes.componentType(type), out);
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            beanClasses(argument(type, Collection.class, 0), out);
+        } else if (Map.class.isAssignableFrom(raw)) {
+            beanClasses(argument(type, Map.class, 0), out);
+            beanClasses(argument(type, Map.class, 1), out);
+        } else {
+            out.add(raw);
+        }
+    }
+
+    private static Type argument(Type type, Class<?> generic, int index) {
+        Type argument = GenericTypes.argument(type, generic, index);
+        if (argument == null) {
+            throw new UnsupportedOperationException("无法确定" + type.getTypeName() + "的元素类型，不能二进制编码");
+        }
+        return argument;
+    }
+
+    private static void checkBean(Class<?> raw) {
+        if (raw == Object.class || raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            throw new UnsupportedOperationException("类型" + raw.getName() + "不能按声明类型二进制编码");
+        }
+    }
+
+    // ------------------------------------------------------------------ 各类值的编码
+
+    private interface Reader {
+        Object read(ByteBuffer buffer);
+    }
+
+    private interface Writer {
+        void write(ByteBuffer buffer, Object value);
+    }
+
+    /**
+     * 带null标记的值编码
+     */
+    private static ValueCodec scalar(Reader reader, Writer writer) {
+        return new ValueCodec() {
+            @Override
+            public void write(ByteBuffer buffer, Object value) {
+                if (value == null) {
+                    buffer.put((byte) 0);
+                } else {
+                    buffer.put((byte) 1);
+                    writer.write(buffer, value);
+                }
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return buffer.get() == 0 ? null : reader.read(buffer);
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ValueCodec enumCodec(Class<?> type) {
+        return scalar(buffer -> Enum.valueOf((Class) type, getString(buffer)), (buffer, value) -> putString(buffer, ((Enum<?>) value).name()));
+    }
+
+    private static ValueCodec primitiveArray(Class<?> component) {
+        if (component == byte.class) {
+            return scalar(buffer -> {
+                byte[] array = new byte[buffer.getInt()];
+                buffer.get(array);
+                return array;
+            }, (buffer, value) -> putBytes(buffer, (byte[]) value));
+        }
+        if (component == int.class) {
+            return scalar(buffer -> {
+                int[] array = new int[buffer.getInt()];
+                buffer.asIntBuffer().get(array);
+                skip(buffer, array.length * 4L);
+                return array;
+            }, (buffer, value) -> {
+                int[] array = (int[]) value;
+                buffer.putInt(array.length);
+                buffer.asIntBuffer().put(array);
+                skip(buffer, array.length * 4L);
+            });
+        }
+        if (component == long.class) {
+            return scalar(buffer -> {
+                long[] array = new long[buffer.getInt()];
+                buffer.asLongBuffer().get(array);
+                skip(buffer, array.length * 8L);
+                return array;
+            }, (buffer, value) -> {
+                long[] array = (long[]) value;
+                buffer.putInt(array.length);
+                buffer.asLongBuffer().put(array);
+                skip(buffer, array.length * 8L);
+            });
+        }
+        if (component == double.class) {
+            return scalar(buffer -> {
+                double[] array = new double[buffer.getInt()];
+                buffer.asDoubleBuffer().get(array);
+                skip(buffer, array.length * 8L);
+                return array;
+            }, (buffer, value) -> {
+                double[] array = (double[]) value;
+                buffer.putInt(array.length);
+                buffer.asDoubleBuffer().put(array);
+                skip(buffer, array.length * 8L);
+            });
+        }
+        if (component == float.class) {
+            return scalar(buffer -> {
+                float[] array = new float[buffer.getInt()];
+                buffer.asFloatBuffer().get(array);
+                skip(buffer, array.length * 4L);
+                return array;
+            }, (buffer, value) -> {
+                float[] array = (float[]) value;
+                buffer.putInt(array.length);
+                buffer.asFloatBuffer().put(array);
+                skip(buffer, array.length * 4L);
+            });
+        }
+        if (component == short.class) {
+            return scalar(buffer -> {
+                short[] array = new short[buffer.getInt()];
+                buffer.asShortBuffer().get(array);
+                skip(buffer, array.length * 2L);
+                return array;
+            }, (buffer, value) -> {
+                short[] array = (short[]) value;
+                buffer.putInt(array.length);
+                buffer.asShortBuffer().put(array);
+                skip(buffer, array.length * 2L);
+            });
+        }
+        if (component == char.class) {
+            return scalar(buffer -> {
+                char[] array = new char[buffer.getInt()];
+                buffer.asCharBuffer().get(array);
+                skip(buffer, array.length * 2L);
+                return array;
+            }, (buffer, value) -> {
+                char[] array = (char[]) value;
+                buffer.putInt(array.length);
+                buffer.asCharBuffer().put(array);
+                skip(buffer, array.length * 2L);
+            });
+        }
+        // boolean[]
+        return scalar(buffer -> {
+            boolean[] array = new boolean[buffer.getInt()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = buffer.get() != 0;
+            }
+            return array;
+        }, (buffer, value) -> {
+            boolean[] array = (boolean[]) value;
+            buffer.putInt(array.length);
+            for (boolean element : array) {
+                buffer.put((byte) (element ? 1 : 0));
+            }
+        });
+    }
+
+    private static ValueCodec objectArray(Class<?> component, ValueCodec element) {
+        return scalar(buffer -> {
+            Object[] array = (Object[]) Array.newInstance(component, buffer.getInt());
+            for (int i = 0; i < array.length; i++) {
+                array[i] = element.read(buffer);
+            }
+            return array;
+        }, (buffer, value) -> {
+            Object[] array = (Object[]) value;
+            buffer.putInt(array.length);
+            for (Object item : array) {
+                element.write(buffer, item);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueCodec collection(Class<?> type, ValueCodec element) {
+        Class<?> implClass = Copier.Generator.collectionImplClass(type);
+        checkBean(implClass);
+        return scalar(buffer -> {
+            int size = buffer.getInt();
+            Collection<Object> collection = (Collection<Object>) newContainer(implClass, size);
+            for (int i = 0; i < size; i++) {
+                collection.add(element.read(buffer));
+            }
+            return collection;
+        }, (buffer, value) -> {
+            Collection<?> collection = (Collection<?>) value;
+            buffer.putInt(collection.size());
+            for (Object item : collection) {
+                element.write(buffer, item);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueCodec map(Class<?> type, ValueCodec key, ValueCodec value) {
+        Class<?> implClass = Copier.Generator.mapImplClass(type);
+        checkBean(implClass);
+        return scalar(buffer -> {
+            int size = buffer.getInt();
+            Map<Object, Object> map = (Map<Object, Object>) newContainer(implClass, size);
+            for (int i = 0; i < size; i++) {
+                map.put(key.read(buffer), value.read(buffer));
+            }
+            return map;
+        }, (buffer, object) -> {
+            Map<?, ?> map = (Map<?, ?>) object;
+            buffer.putInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                key.write(buffer, entry.getKey());
+                value.write(buffer, entry.getValue());
+            }
+        });
+    }
+
+    private static Object newContainer(Class<?> implClass, int size) {
+        if (implClass == ArrayList.class || implClass == HashSet.class || implClass == HashMap.class) {
+            return CompactCollections.presized(implClass, size);
+        }
+        return ReflectUtils.newInstance(implClass);
+    }
+
+    /**
+     * 嵌套对象，BeanCodec在第一次读写时创建，允许类型自引用
+     */
+    private static ValueCodec bean(Class<?> type, BeanPropertySelector selector) {
+        return new ValueCodec() {
+            private volatile BeanCodec codec;
+
+            private BeanCodec codec() {
+                BeanCodec current = codec;
+                if (current == null) {
+                    current = BeanCodec.create(type, selector);
+                    codec = current;
+                }
+                return current;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, Object value) {
+                if (value == null) {
+                    buffer.put((byte) 0);
+                } else {
+                    buffer.put((byte) 1);
+                    codec().encodeFields(value, buffer);
+                }
+            }
+
+            @Override
+            public Object read(ByteBuffer buffer) {
+                return buffer.get() == 0 ? null : codec().decodeFields(buffer);
+            }
+        };
+    }
+
+    // ------------------------------------------------------------------ 工具
+
+    private static void skip(ByteBuffer buffer, long bytes) {
+        buffer.position(buffer.position() + (int) bytes);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        putBytes(buffer, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        // 堆内的缓冲区直接从数组解码
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        skip(buffer, length);
+        return value;
+    }
+}
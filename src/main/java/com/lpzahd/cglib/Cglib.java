@@ -1,8 +1,13 @@
 package com.lpzahd.cglib;
 
+import com.lpzahd.cglib.jfr.CopierCacheMissEvent;
+import com.lpzahd.cglib.jfr.CopierEvictionEvent;
+import com.lpzahd.cglib.jfr.SlowCopyRecordingCopier;
+import com.lpzahd.cglib.metrics.CopierMetrics;
+import com.lpzahd.cglib.metrics.CopierMetricsRegistry;
+import com.lpzahd.cglib.metrics.InstrumentedCopier;
 import com.lpzahd.cglib.selector.StandardBeanPropertySelector;
 import lombok.experimental.UtilityClass;
-import net.sf.cglib.beans.BeanGenerator;
 import net.sf.cglib.beans.BeanMap;
 import net.sf.cglib.core.Converter;
 
@@ -30,17 +35,47 @@ public class Cglib {
             this.type = type;
             this.value = value;
         }
+
+        String getName() {
+            return name;
+        }
+
+        Class<T> getType() {
+            return type;
+        }
+
+        T getValue() {
+            return value;
+        }
     }
 
     public static class CopierBuilder {
 
-        private static final Map<Integer, Copier> sCacheCopiers = new ConcurrentHashMap<>();
+        /**
+         * 按完整配置缓存的拷贝器，键为{@link #generateKey()}返回的配置列表
+         */
+        private static final Map<List<Object>, Copier> sCacheCopiers = new ConcurrentHashMap<>();
 
         private final Class<?> source;
         private final Class<?> target;
         private boolean useFilter = false;
         private boolean useConverter = false;
+        private int tieredThreshold = 0;
         private BeanPropertySelector selector = Cglib.selector;
+        private CopierEngine engine = Cglib.engine;
+        private boolean metrics = Cglib.metricsEnabled;
+        private int slowCopySampleInterval = 0;
+        private boolean fieldAccess = false;
+        private boolean shareImmutables = false;
+        private boolean polymorphic = false;
+        private boolean merge = false;
+        private NullElementPolicy nullElements = NullElementPolicy.FAIL;
+        private CollectionOutput collectionOutput = CollectionOutput.MUTABLE;
+        private String internPool;
+        private final Set<Class<?>> internTypes = new LinkedHashSet<>();
+        private final Map<Class<?>, Class<?>> subtypes = new LinkedHashMap<>();
+        private Class<?> via;
+        private final Map<String, String> viaMapper = new HashMap<>();
 
         private final Map<String, String> mapper = new HashMap<>();
 
@@ -74,25 +109,331 @@ public class Cglib {
             return this;
         }
 
+        public CopierBuilder engine(CopierEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        /**
+         * MethodName: metrics
+         * Description: 是否记录拷贝次数、耗时、分配字节数、生成耗时以及缓存命中，并注册为JMX MBean
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 13:50
+         * Version: 1.0
+         */
+        public CopierBuilder metrics(boolean metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * MethodName: slowCopyEvents
+         * Description: 平均每sampleInterval次拷贝计时一次，耗时超过阈值时提交jfr事件SlowCopyEvent，
+         * 阈值在录制配置中设置，小于等于0时不计时
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 14:50
+         * Version: 1.0
+         */
+        public CopierBuilder slowCopyEvents(int sampleInterval) {
+            this.slowCopySampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * MethodName: fieldAccess
+         * Description: 平凡的getter/setter(只读写字段)直接读写字段，字段不是public时通过VarHandle访问，
+         * 其余访问器以及无法读取class文件的类仍然调用访问器。子类重写的访问器会被绕过，只在拷贝声明类型本身的对象时开启
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 16:45
+         * Version: 1.0
+         */
+        public CopierBuilder fieldAccess(boolean fieldAccess) {
+            this.fieldAccess = fieldAccess;
+            return this;
+        }
+
+        /**
+         * MethodName: shareImmutables
+         * Description: 不可变的嵌套对象以及集合、Map、数组中不可变的元素直接共享引用，不再新建拷贝，
+         * 判断规则见{@link Immutables#isImmutable(Class)}
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 17:20
+         * Version: 1.0
+         */
+        public CopierBuilder shareImmutables(boolean shareImmutables) {
+            this.shareImmutables = shareImmutables;
+            return this;
+        }
+
+        /**
+         * MethodName: polymorphic
+         * Description: 声明类型不是final的嵌套对象以及集合、Map、数组元素按运行时类型拷贝，
+         * 与目标声明类型在同一继承体系中的运行时类型保持不变，其余使用subtype注册的映射或者目标声明类型
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 18:20
+         * Version: 1.0
+         */
+        public CopierBuilder polymorphic(boolean polymorphic) {
+            this.polymorphic = polymorphic;
+            return this;
+        }
+
+        /**
+         * MethodName: subtype
+         * Description: 注册源子类型对应的目标子类型，同时开启polymorphic，未注册的子类型按最近的已注册父类映射
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 18:20
+         * Version: 1.0
+         */
+        public CopierBuilder subtype(Class<?> sourceType, Class<?> targetType) {
+            this.subtypes.put(sourceType, targetType);
+            this.polymorphic = true;
+            return this;
+        }
+
+        /**
+         * MethodName: merge
+         * Description: 合并拷贝，复用目标对象上已有的嵌套对象、可变的集合与Map以及长度相同的数组，
+         * 值没有变化的属性不调用setter；按运行时类型拷贝的对象仍然新建，分层拷贝的反射阶段不复用
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:20
+         * Version: 1.0
+         */
+        public CopierBuilder merge(boolean merge) {
+            this.merge = merge;
+            return this;
+        }
+
+        /**
+         * MethodName: nullElements
+         * Description: 包装类型的集合(List&lt;Long&gt;等)拷贝到基本类型的数组(long[])或者基本类型列表(LongArrayList)时对null元素的处理，
+         * 默认抛出NullPointerException
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 00:20
+         * Version: 1.0
+         */
+        public CopierBuilder nullElements(NullElementPolicy policy) {
+            this.nullElements = policy;
+            return this;
+        }
+
+        /**
+         * MethodName: collectionOutput
+         * Description: 深拷贝新建的集合、Map的形式，目标属性声明为接口时生效。COMPACT输出紧凑的不可变容器，
+         * 适合长期缓存的DTO；目标属性之后还需要修改时使用TRIMMED
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 01:00
+         * Version: 1.0
+         */
+        public CopierBuilder collectionOutput(CollectionOutput output) {
+            this.collectionOutput = output;
+            return this;
+        }
+
+        /**
+         * MethodName: intern
+         * Description: 拷贝时String以及valueTypes类型的属性、集合与Map元素经过名称为pool的{@link InterningPool}驻留，
+         * 长期缓存的拷贝结果共享相等的实例，命中率见InterningPool的JMX指标。valueTypes必须是不可变类型，
+         * 设置valueTypes时同时开启shareImmutables，这些类型的嵌套对象不再新建拷贝
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 01:40
+         * Version: 1.0
+         */
+        public CopierBuilder intern(String pool, Class<?>... valueTypes) {
+            for (Class<?> valueType : valueTypes) {
+                if (!Immutables.isImmutable(valueType)) {
+                    throw new IllegalArgumentException(valueType.getName() + "不是不可变类型，不能驻留");
+                }
+            }
+            this.internPool = pool;
+            this.internTypes.addAll(Arrays.asList(valueTypes));
+            if (valueTypes.length > 0) {
+                this.shareImmutables = true;
+            }
+            return this;
+        }
+
+        /**
+         * MethodName: via
+         * Description: 融合拷贝，生成一个source -> middle -> target的拷贝器，不创建中间对象，mapper为目标属性到中间属性的映射，
+         * 规则见{@link Copier.Generator#setVia}，融合拷贝不使用tiered
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:00
+         * Version: 1.0
+         */
+        public CopierBuilder via(Class<?> middle) {
+            this.via = middle;
+            return this;
+        }
+
+        /**
+         * MethodName: via
+         * Description: 同via(middle)，middleMapper为中间属性到源属性的映射
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:00
+         * Version: 1.0
+         */
+        public CopierBuilder via(Class<?> middle, Map<String, String> middleMapper) {
+            this.via = middle;
+            this.viaMapper.putAll(middleMapper);
+            return this;
+        }
+
+        /**
+         * MethodName: tiered
+         * Description: 分层拷贝，调用次数达到threshold之前使用反射拷贝，之后在后台生成字节码拷贝器并替换，
+         * 小于等于0时直接生成字节码拷贝器
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 10:55
+         * Version: 1.0
+         */
+        public CopierBuilder tiered(int threshold) {
+            this.tieredThreshold = threshold;
+            return this;
+        }
+
         public Copier build() {
-            int keyCode = generateKey();
-            Copier copier = sCacheCopiers.get(keyCode);
+            List<Object> key = generateKey();
+            Copier copier = sCacheCopiers.get(key);
             if (copier == null) {
-                copier = Copier.create(source, target, useFilter, useConverter, mapper, selector);
-                sCacheCopiers.put(keyCode, copier);
+                copier = sCacheCopiers.computeIfAbsent(key, k -> generate());
+            } else if (metrics && copier instanceof InstrumentedCopier) {
+                ((InstrumentedCopier) copier).getMetrics().recordCacheHit();
+            }
+            return copier;
+        }
+
+        private Copier generate() {
+            CopierCacheMissEvent event = new CopierCacheMissEvent();
+            event.begin();
+            Copier copier;
+            if (metrics) {
+                CopierMetrics copierMetrics = CopierMetricsRegistry.get(source, target);
+                copierMetrics.recordCacheMiss();
+                long start = System.nanoTime();
+                copier = create();
+                copierMetrics.recordGeneration(System.nanoTime() - start);
+                copier = new InstrumentedCopier(copier, copierMetrics);
+            } else {
+                copier = create();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.sourceClass = source;
+                event.targetClass = target;
+                event.commit();
+            }
+            return copier;
+        }
+
+        /**
+         * MethodName: fanOut
+         * Description: 生成一个源对象同时拷贝到当前目标类型以及targets的拷贝器，源对象本身的每个属性只读取一次(嵌套对象的内部属性为每个目标分别读取)，
+         * 使用当前的filter、converter、mapper、selector以及深拷贝相关配置，engine、metrics、tiered等包装配置不生效
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 22:10
+         * Version: 1.0
+         */
+        public FanOutCopier fanOut(Class<?>... targets) {
+            Class<?>[] all = new Class<?>[targets.length + 1];
+            all[0] = target;
+            System.arraycopy(targets, 0, all, 1, targets.length);
+            return FanOutCopier.create(generator(), all);
+        }
+
+        private Copier create() {
+            Copier copier;
+            if (tieredThreshold > 0 && via == null) {
+                copier = TieredCopier.create(generator(), engine, tieredThreshold);
+            } else {
+                copier = engine.create(generator());
+            }
+            if (slowCopySampleInterval > 0) {
+                copier = new SlowCopyRecordingCopier(copier, source, target, slowCopySampleInterval);
+            }
+            return copier;
+        }
+
+        /**
+         * MethodName: plan
+         * Description: 获取当前配置下生成的拷贝计划，包括每个目标属性的拷贝方式、被跳过的属性以及copy方法的字节码大小
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 15:55
+         * Version: 1.0
+         */
+        public CopyPlan plan() {
+            return generator().plan();
+        }
+
+        private Copier.Generator generator() {
+            Copier.Generator generator = Copier.generator(source, target, useFilter, useConverter, mapper, selector);
+            generator.setEngine(engine);
+            generator.setFieldAccess(fieldAccess);
+            generator.setShareImmutables(shareImmutables);
+            generator.setPolymorphic(polymorphic);
+            generator.setSubtypes(subtypes);
+            generator.setMerge(merge);
+            generator.setNullElements(nullElements);
+            generator.setCollectionOutput(collectionOutput);
+            if (internPool != null) {
+                generator.setIntern(internPool, internTypes);
+            }
+            if (via != null) {
+                generator.setVia(via, viaMapper.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(viaMapper)));
+            }
+            return generator;
+        }
+
+        /**
+         * MethodName: evict
+         * Description: 从缓存中移除当前配置对应的拷贝器，hidden class生成的拷贝类在不再被引用后即可卸载
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 11:35
+         * Version: 1.0
+         */
+        public Copier evict() {
+            Copier copier = sCacheCopiers.remove(generateKey());
+            if (copier != null) {
+                CopierEvictionEvent event = new CopierEvictionEvent();
+                if (event.shouldCommit()) {
+                    event.sourceClass = source;
+                    event.targetClass = target;
+                    event.commit();
+                }
             }
             return copier;
         }
 
-        private int generateKey() {
-            return ((1213 * 340057 + source.hashCode()) * 340057 + target.hashCode()) * 340057 + Boolean.hashCode(useFilter) * 340057 + Boolean.hashCode(useConverter);
+        /**
+         * 缓存键，包括所有配置并按值比较，集合类型的配置复制一份，之后修改builder不影响已缓存的键。subtypes按注册顺序比较
+         */
+        private List<Object> generateKey() {
+            return Arrays.asList(source, target, useFilter, useConverter, tieredThreshold, engine, metrics, slowCopySampleInterval,
+                    fieldAccess, shareImmutables, polymorphic, new ArrayList<>(subtypes.keySet()), new ArrayList<>(subtypes.values()), merge, via, new HashMap<>(viaMapper),
+                    nullElements, collectionOutput, internPool, new ArrayList<>(internTypes), new HashMap<>(mapper), selector);
         }
     }
 
     private static final Converter SMART_CONVERTER = new SmartConvert();
 
+    /**
+     * setValue使用的BeanMap模板，通过put(bean, key, value)读写，不再为每次调用创建BeanMap
+     */
+    private static final ClassValue<BeanMap> BEAN_MAPS = new ClassValue<BeanMap>() {
+        @Override
+        protected BeanMap computeValue(Class<?> type) {
+            BeanMap.Generator generator = new BeanMap.Generator();
+            generator.setBeanClass(type);
+            return generator.create();
+        }
+    };
+
     private static BeanPropertySelector selector = new StandardBeanPropertySelector();
 
+    private static CopierEngine engine = CopierEngine.CGLIB_ENGINE;
+
+    private static boolean metricsEnabled = Boolean.getBoolean("cglib.copier.metrics");
+
     /**
      * MethodName: setGlobalBeanPropertySelector
      * Description: 设置全局默认BeanPropertySelector
@@ -104,18 +445,121 @@ public class Cglib {
         Cglib.selector = selector;
     }
 
+    /**
+     * MethodName: setGlobalCopierEngine
+     * Description: 设置全局默认CopierEngine
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 11:30
+     * Version: 1.0
+     */
+    public static void setGlobalCopierEngine(CopierEngine engine) {
+        Cglib.engine = engine;
+    }
+
+    /**
+     * MethodName: setGlobalMetricsEnabled
+     * Description: 设置全局默认是否开启拷贝指标，默认关闭，也可以通过-Dcglib.copier.metrics=true开启，
+     * 只对开启之后构建的拷贝器生效
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 13:55
+     * Version: 1.0
+     */
+    public static void setGlobalMetricsEnabled(boolean enabled) {
+        Cglib.metricsEnabled = enabled;
+    }
+
+    /**
+     * MethodName: registerImmutable
+     * Description: 注册不可变类型，deepClone以及shareImmutables时直接共享引用
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 17:25
+     * Version: 1.0
+     */
+    public static void registerImmutable(Class<?>... types) {
+        Immutables.register(types);
+    }
+
+    /**
+     * MethodName: deepClone
+     * Description: 同类型深拷贝，嵌套bean、集合、Map、数组中可变的部分按运行时类型新建拷贝，不可变的对象直接共享引用
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 17:25
+     * Version: 1.0
+     */
+    public static <T> T deepClone(T source) {
+        if (source == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) source.getClass();
+        if (Immutables.isImmutable(type)) {
+            return source;
+        }
+        T target = newInstance(type);
+        builder(type, type)
+                .shareImmutables(true)
+                .polymorphic(true)
+                .build()
+                .copy(source, target, null, null);
+        return target;
+    }
+
+    /**
+     * MethodName: differ
+     * Description: 获取比较器，比较源对象与目标对象的属性并可以只写入变化的属性，使用全局默认BeanPropertySelector
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 19:45
+     * Version: 1.0
+     */
+    public static Differ differ(Class<?> source, Class<?> target) {
+        return Differ.create(source, target, Collections.emptyMap(), selector);
+    }
+
+    /**
+     * MethodName: deepEquals
+     * Description: 按拷贝器遍历的属性图深度比较，使用全局默认BeanPropertySelector，见{@link DeepEquality}
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:05
+     * Version: 1.0
+     */
+    public static boolean deepEquals(Object a, Object b) {
+        return DeepEquality.deepEquals(a, b, selector);
+    }
+
+    /**
+     * MethodName: deepHash
+     * Description: 与deepEquals一致的深度哈希
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:05
+     * Version: 1.0
+     */
+    public static int deepHash(Object x) {
+        return DeepEquality.deepHash(x, selector);
+    }
+
+    /**
+     * MethodName: copyByClass
+     * Description: 创建目标对象并拷贝，record、全参构造以及@Builder的目标先读取所有源属性再调用一次构造方法，见{@link Copier#copyNew}
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:40
+     * Version: 1.0
+     */
     public static <S, T> T copyByClass(S source, Class<T> clz) {
-        return copy(source, newInstance(clz), null, null);
+        return copyNew(builder(source.getClass(), clz).build(), source, null, null);
     }
 
     public static <S, T> T copyByClass(S source, Class<T> clz, Filter<Object, Object> filter, Converter converter) {
-        return copy(source, newInstance(clz), filter, converter);
+        Copier copier = builder(source.getClass(), clz)
+                .filter(filter != null)
+                .converter(converter != null)
+                .build();
+        return copyNew(copier, source, filter, converter);
     }
 
     public static <S, T> List<T> copyListByClass(Iterable<S> sources, Class<T> target) {
         List<T> targets = new ArrayList<>();
         for (S source : sources) {
-            targets.add(copy(source, newInstance(target)));
+            targets.add(copyByClass(source, target));
         }
         return targets;
     }
@@ -123,11 +567,21 @@ public class Cglib {
     public static <S, T> List<T> copyListByClass(Iterable<S> sources, Class<T> target, Filter<Object, Object> filter, Converter converter, Map<String, String> mapper) {
         List<T> targets = new ArrayList<>();
         for (S source : sources) {
-            targets.add(copy(source, newInstance(target), filter, converter, mapper));
+            Copier copier = builder(source.getClass(), target)
+                    .filter(filter != null)
+                    .converter(converter != null)
+                    .mapper(mapper)
+                    .build();
+            targets.add(copyNew(copier, source, filter, converter));
         }
         return targets;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T> T copyNew(Copier copier, Object source, Filter<Object, Object> filter, Converter converter) {
+        return (T) copier.copyNew(source, filter, converter);
+    }
+
     public static <S, T> T copy(S source, T target) {
         builder(source.getClass(), target.getClass())
                 .build()
@@ -154,6 +608,35 @@ public class Cglib {
         return target;
     }
 
+    /**
+     * MethodName: copy
+     * Description: 按声明的源类型与目标类型拷贝，根对象为集合、Map或者数组时整个结构生成一个拷贝器并按(源类型, 目标类型)缓存，见{@link RootCopier}，
+     * 例如Cglib.copy(orders, new TypeRef&lt;List&lt;Order&gt;&gt;(){}, new TypeRef&lt;List&lt;OrderDto&gt;&gt;(){})。
+     * 元素类型从声明的源类型取得，不按每个元素的运行时类型推断，所以源类型必须声明；目标不是集合、Map或者数组时同copyByClass
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 23:20
+     * Version: 1.0
+     */
+    public static <T> T copy(Object source, TypeRef<?> sourceType, TypeRef<T> target) {
+        return copy(source, sourceType, target, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(Object source, TypeRef<?> sourceType, TypeRef<T> target, Filter<Object, Object> filter, Converter converter) {
+        if (source == null) {
+            return null;
+        }
+        if (!container(TypeRef.rawType(target.getType()))) {
+            return (T) copyByClass(source, TypeRef.rawType(target.getType()), filter, converter);
+        }
+        return (T) RootCopier.create(sourceType.getType(), target.getType(), filter != null, converter != null, selector)
+                .copyNew(source, filter, converter);
+    }
+
+    private static boolean container(Class<?> type) {
+        return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
     public static <T> T copyIgnoreProperties(Object source, T target, List<String> properties) {
         builder(source.getClass(), target.getClass())
                 .filter(true)
@@ -179,6 +662,51 @@ public class Cglib {
         return target;
     }
 
+    /**
+     * MethodName: columnar
+     * Description: 获取对象列表与列批次之间的批量拷贝器，properties为空时包括所有类型不可变的可读属性，
+     * 使用全局默认BeanPropertySelector，见{@link ColumnarCopier}
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    public static ColumnarCopier columnar(Class<?> type, String... properties) {
+        return ColumnarCopier.create(type, properties, selector);
+    }
+
+    /**
+     * MethodName: codec
+     * Description: 获取对象的二进制编码，使用全局默认BeanPropertySelector，写入快照文件见{@link SnapshotFile}
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public static BeanCodec codec(Class<?> type) {
+        return BeanCodec.create(type, selector);
+    }
+
+    /**
+     * MethodName: coalesce
+     * Description: 多个源对象按顺序合并到目标对象，每个目标属性取第一个不为null的源属性值，替代多次copyIgnoreNull，
+     * 为null的源对象被忽略，见{@link CoalescingCopier}
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:40
+     * Version: 1.0
+     */
+    public static <T> T coalesce(T target, Object... sources) {
+        List<Object> present = new ArrayList<>(sources.length);
+        for (Object source : sources) {
+            if (source != null) {
+                present.add(source);
+            }
+        }
+        Class<?>[] sourceClasses = new Class<?>[present.size()];
+        for (int i = 0; i < sourceClasses.length; i++) {
+            sourceClasses[i] = present.get(i).getClass();
+        }
+        return CoalescingCopier.create(target.getClass(), sourceClasses, selector).copy(present.toArray(), target);
+    }
+
     public static <T> T copyConvert(Object source, T target, Converter converter) {
         builder(source.getClass(), target.getClass())
                 .converter(true)
@@ -188,30 +716,54 @@ public class Cglib {
     }
 
     public static <T> T setValue(T obj, Property<?>... properties) {
-        BeanMap beanMap = BeanMap.create(obj);
+        BeanMap beanMap = BEAN_MAPS.get(obj.getClass());
         for (Property<?> property : properties) {
             Class<?> propertyType = beanMap.getPropertyType(property.name);
             if (property.type == propertyType) {
-                beanMap.put(property.name, property.value);
+                beanMap.put(obj, property.name, property.value);
             }
         }
         return obj;
     }
 
+    /**
+     * MethodName: toMap
+     * Description: bean的所有getter属性拷贝到预设容量的HashMap中，使用全局默认BeanPropertySelector
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:25
+     * Version: 1.0
+     */
+    public static Map<String, Object> toMap(Object bean) {
+        return MapCopier.of(bean.getClass(), selector).toMap(bean);
+    }
+
+    /**
+     * MethodName: fromMap
+     * Description: Map中与setter属性同名的值拷贝到bean，值类型不一致时使用SmartConvert转换
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:25
+     * Version: 1.0
+     */
+    public static <T> T fromMap(Map<String, ?> map, T target) {
+        MapCopier.of(target.getClass(), selector).fromMap(map, target);
+        return target;
+    }
+
+    public static <T> T fromMap(Map<String, ?> map, Class<T> clz) {
+        return fromMap(map, newInstance(clz));
+    }
+
+    /**
+     * MethodName: addProperties
+     * Description: 创建superClass的子类实例并增加属性，子类、拷贝器与setter按(父类, 属性名与类型)缓存
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:40
+     * Version: 1.0
+     */
     public static <T> T addProperties(Class<T> superClass, T source, Property<?>... properties) {
-        BeanGenerator generator = new BeanGenerator();
-        generator.setSuperclass(superClass);
-        for (Property<?> property : properties) {
-            generator.addProperty(property.name, property.type);
-        }
         @SuppressWarnings("unchecked")
-        T child = (T) generator.create();
-        T proxySource = copy(source, child);
-        BeanMap beanMap = BeanMap.create(proxySource);
-        for (Property<?> property : properties) {
-            beanMap.put(property.name, property.value);
-        }
-        return proxySource;
+        T child = (T) DynamicSubclass.of(superClass, properties).create(source, properties);
+        return child;
     }
 
     public static <T> T addProperties(T source, Property<?>... properties) {
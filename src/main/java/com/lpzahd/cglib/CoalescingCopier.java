@@ -0,0 +1,262 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: CoalescingCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 多个源对象按顺序合并到一个目标对象，排在前面的源优先。每个目标属性依次读取各个源的同名属性，
+ * 取第一个不为null的值调用一次setter，全部为null时不修改目标属性。基本类型的属性不会为null，源对象不为null时即取其值。
+ * 属性与Copier使用相同的getter/setter选择，只拷贝类型兼容的属性，嵌套对象与集合不展开
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 22:40
+ * Version: 1.0
+ */
+public abstract class CoalescingCopier {
+
+    private static final CoalescingCopierKey KEY_FACTORY = (CoalescingCopierKey) KeyFactory.create(CoalescingCopierKey.class);
+
+    private static final Type COALESCING_COPIER = TypeUtils.parseType(CoalescingCopier.class.getName());
+    private static final Signature COPY_ALL = new Signature("copyAll", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT_ARRAY, Constants.TYPE_OBJECT});
+
+    /**
+     * 按(目标类型, 源类型列表, selector)缓存的合并拷贝器
+     */
+    private static final Map<List<Object>, CoalescingCopier> CACHE = new ConcurrentHashMap<>();
+
+    private int sourceCount;
+
+    public static CoalescingCopier create(Class<?> target, Class<?>... sources) {
+        return create(target, sources, null);
+    }
+
+    /**
+     * MethodName: create
+     * Description: 相同的目标类型、源类型与selector返回缓存的合并拷贝器
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:40
+     * Version: 1.0
+     */
+    public static CoalescingCopier create(Class<?> target, Class<?>[] sources, BeanPropertySelector selector) {
+        Class<?>[] types = sources.clone();
+        return CACHE.computeIfAbsent(Arrays.asList(target, Arrays.asList(types), selector), k -> {
+            Generator gen = new Generator();
+            gen.setTarget(target);
+            gen.setSources(types);
+            gen.setSelector(selector);
+            return gen.create();
+        });
+    }
+
+    /**
+     * MethodName: copy
+     * Description: sources与创建时的源类型一一对应，元素可以为null，为null的源不参与合并
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:40
+     * Version: 1.0
+     */
+    public <T> T copy(Object[] sources, T target) {
+        if (sources.length != sourceCount) {
+            throw new IllegalArgumentException("源对象数量" + sources.length + "与源类型数量" + sourceCount + "不一致");
+        }
+        copyAll(sources, target);
+        return target;
+    }
+
+    /**
+     * 生成的合并方法
+     */
+    protected abstract void copyAll(Object[] sources, Object target);
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<CoalescingCopier> {
+
+        private static final Source SOURCE = new Source(CoalescingCopier.class.getName());
+
+        private Class<?> target;
+        private Class<?>[] sources;
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        public void setTarget(Class<?> target) {
+            if (!Modifier.isPublic(target.getModifiers())) {
+                setNamePrefix(target.getName());
+            }
+            this.target = target;
+        }
+
+        public void setSources(Class<?>[] sources) {
+            for (Class<?> source : sources) {
+                if (!Modifier.isPublic(source.getModifiers())) {
+                    setNamePrefix(source.getName());
+                }
+            }
+            this.sources = sources.clone();
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return target.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(target);
+        }
+
+        public CoalescingCopier create() {
+            String[] sourceNames = new String[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                sourceNames[i] = sources[i].getName();
+            }
+            return (CoalescingCopier) super.create(KEY_FACTORY.newInstance(target.getName(), Arrays.asList(sourceNames), selector));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), COALESCING_COPIER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, COPY_ALL, null);
+            Local[] sourceLocals = new Local[sources.length];
+            List<Map<String, PropertyDescriptor>> getters = new ArrayList<>(sources.length);
+            for (int i = 0; i < sources.length; i++) {
+                Type sourceType = Type.getType(sources[i]);
+                sourceLocals[i] = e.make_local(sourceType);
+                e.load_arg(0);
+                e.push(i);
+                e.aaload();
+                e.checkcast(sourceType);
+                e.store_local(sourceLocals[i]);
+                getters.add(selector.selectGetterNames(sources[i]));
+            }
+            Type targetType = Type.getType(target);
+            Local targetLocal = e.make_local(targetType);
+            e.load_arg(1);
+            e.checkcast(targetType);
+            e.store_local(targetLocal);
+
+            for (PropertyDescriptor setter : selector.selectSetters(target)) {
+                List<Integer> candidates = new ArrayList<>(sources.length);
+                for (int i = 0; i < sources.length; i++) {
+                    PropertyDescriptor getter = getters.get(i).get(setter.getName());
+                    if (getter != null && Copier.Generator.compatible(getter, setter)) {
+                        candidates.add(i);
+                    }
+                }
+                if (!candidates.isEmpty()) {
+                    visitProperty(e, setter, candidates, getters, sourceLocals, targetLocal);
+                }
+            }
+
+            e.return_value();
+            e.end_method();
+            ce.end_class();
+        }
+
+        /**
+         * MethodName: visitProperty
+         * Description: 生成代码：if (s1 != null && (value = s1.getX()) != null) goto write; if (s2 != null && ...) goto write; ... goto end;
+         * write: target.setX(value); end:
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 22:40
+         * Version: 1.0
+         */
+        private void visitProperty(CodeEmitter e, PropertyDescriptor setter, List<Integer> candidates, List<Map<String, PropertyDescriptor>> getters,
+                                   Local[] sourceLocals, Local targetLocal) {
+            MethodInfo write = ReflectUtils.getMethodInfo(setter.getWriteMethod());
+            Local valueLocal = e.make_local(Type.getType(setter.getPropertyType()));
+            Label writeLabel = e.make_label();
+            Label endLabel = e.make_label();
+            for (int i : candidates) {
+                MethodInfo read = ReflectUtils.getMethodInfo(getters.get(i).get(setter.getName()).getReadMethod());
+                Label nextLabel = e.make_label();
+                e.load_local(sourceLocals[i]);
+                e.ifnull(nextLabel);
+                e.load_local(sourceLocals[i]);
+                e.invoke(read);
+                if (TypeUtils.isPrimitive(read.getSignature().getReturnType())) {
+                    // 类型兼容时目标属性为相同的基本类型
+                    e.store_local(valueLocal);
+                    e.goTo(writeLabel);
+                } else {
+                    Label nullLabel = e.make_label();
+                    e.dup();
+                    e.ifnull(nullLabel);
+                    e.store_local(valueLocal);
+                    e.goTo(writeLabel);
+                    e.mark(nullLabel);
+                    e.pop();
+                }
+                e.mark(nextLabel);
+            }
+            e.goTo(endLabel);
+
+            e.mark(writeLabel);
+            e.load_local(targetLocal);
+            e.load_local(valueLocal);
+            e.invoke(write);
+            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                // 链式setter
+                e.pop();
+            }
+            e.mark(endLabel);
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            CoalescingCopier copier = (CoalescingCopier) ReflectUtils.newInstance(type);
+            copier.sourceCount = sources.length;
+            return copier;
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface CoalescingCopierKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param targetClassName  目标类名
+         * @param sourceClassNames 按优先级排列的源类名列表
+         * @param selector         属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 22:40
+         * Version: 1.0
+         */
+        Object newInstance(String targetClassName, Object sourceClassNames, Object selector);
+
+    }
+}
@@ -0,0 +1,26 @@
+package com.lpzahd.cglib;
+
+/**
+ * Class Name: CollectionOutput
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 深拷贝生成的集合、Map的形式，只对声明为接口的目标属性生效，声明为具体类时仍然新建该类
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 01:00
+ * Version: 1.0
+ */
+public enum CollectionOutput {
+    /**
+     * 默认容量的ArrayList、HashSet、HashMap，默认
+     */
+    MUTABLE,
+    /**
+     * 按源容器的元素数量预留容量的ArrayList、HashSet、HashMap，仍然可以修改
+     */
+    TRIMMED,
+    /**
+     * 声明为List、Set、Collection、Map时输出不可变容器：空容器共享单例，一个元素使用singleton，
+     * 其余使用List.of、Set.of、Map.of形式的定长容器(包含null时使用不可修改的包装)。其余接口同TRIMMED
+     */
+    COMPACT
+}
@@ -0,0 +1,107 @@
+package com.lpzahd.cglib;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class Name: ColumnBatch
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 按列保存的一批对象，每个属性一列，基本类型的属性保存为基本类型数组，其余属性保存为属性类型的数组(如String[])，
+ * 第i个对象的属性值在每一列的下标i处。列数组不复制，长度可以大于size，只有前size个元素有效
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 02:30
+ * Version: 1.0
+ */
+public final class ColumnBatch {
+
+    private final int size;
+    private final Map<String, Object> columns;
+
+    /**
+     * MethodName: ColumnBatch
+     * Description: 按列名顺序创建列批次，列必须是数组并且长度不小于size，否则抛出IllegalArgumentException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    public ColumnBatch(int size, Map<String, ?> columns) {
+        if (size < 0) {
+            throw new IllegalArgumentException("列批次的行数不能为负数：" + size);
+        }
+        Map<String, Object> copy = new LinkedHashMap<>(CompactCollections.capacity(columns.size()));
+        for (Map.Entry<String, ?> entry : columns.entrySet()) {
+            Object column = entry.getValue();
+            if (column == null || !column.getClass().isArray()) {
+                throw new IllegalArgumentException("列" + entry.getKey() + "不是数组");
+            }
+            if (Array.getLength(column) < size) {
+                throw new IllegalArgumentException("列" + entry.getKey() + "的长度" + Array.getLength(column) + "小于行数" + size);
+            }
+            copy.put(entry.getKey(), column);
+        }
+        this.size = size;
+        this.columns = Collections.unmodifiableMap(copy);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 按创建时的顺序排列的列名
+     */
+    public Set<String> names() {
+        return columns.keySet();
+    }
+
+    /**
+     * 列数组，不存在时返回null
+     */
+    public Object column(String name) {
+        return columns.get(name);
+    }
+
+    /**
+     * MethodName: column
+     * Description: 指定数组类型的列，列不存在或者类型不一致时抛出IllegalArgumentException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    public <A> A column(String name, Class<A> arrayType) {
+        Object column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("列批次中没有列" + name);
+        }
+        if (!arrayType.isInstance(column)) {
+            throw new IllegalArgumentException("列" + name + "的类型" + column.getClass().getSimpleName() + "不是" + arrayType.getSimpleName());
+        }
+        return arrayType.cast(column);
+    }
+
+    public int[] ints(String name) {
+        return column(name, int[].class);
+    }
+
+    public long[] longs(String name) {
+        return column(name, long[].class);
+    }
+
+    public double[] doubles(String name) {
+        return column(name, double[].class);
+    }
+
+    public boolean[] booleans(String name) {
+        return column(name, boolean[].class);
+    }
+
+    public String[] strings(String name) {
+        return column(name, String[].class);
+    }
+}
@@ -0,0 +1,426 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: ColumnarCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 对象列表与{@link ColumnBatch}之间的批量拷贝。toColumns一次遍历列表，把每个对象的属性写入对应列数组的同一下标；
+ * fromColumns按行以无参构造创建对象并调用setter，得到与列批次行数相同的对象列表。
+ * 列使用与Copier相同的getter选择，只包括类型不可变(见{@link Immutables#isImmutable})的属性，嵌套对象与集合不按列保存
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 02:30
+ * Version: 1.0
+ */
+public abstract class ColumnarCopier {
+
+    private static final ColumnarCopierKey KEY_FACTORY = (ColumnarCopierKey) KeyFactory.create(ColumnarCopierKey.class);
+
+    private static final Type COLUMNAR_COPIER = TypeUtils.parseType(ColumnarCopier.class.getName());
+    private static final Type LIST = Type.getType(List.class);
+    private static final Type ITERATOR = Type.getType(Iterator.class);
+    private static final Signature FILL = new Signature("fill", Type.VOID_TYPE, new Type[]{LIST, Constants.TYPE_OBJECT_ARRAY});
+    private static final Signature MATERIALIZE = new Signature("materialize", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT_ARRAY, Type.INT_TYPE, LIST});
+
+    /**
+     * 按(对象类型, 属性列表, selector)缓存的拷贝器
+     */
+    private static final Map<List<Object>, ColumnarCopier> CACHE = new ConcurrentHashMap<>();
+
+    private Class<?> type;
+    private String[] names;
+    private Class<?>[] arrayTypes;
+    private boolean materializable;
+
+    public static ColumnarCopier create(Class<?> type, String... properties) {
+        return create(type, properties, null);
+    }
+
+    /**
+     * MethodName: create
+     * Description: properties为空时包括所有类型不可变的可读属性，否则只包括指定的属性并按指定的顺序排列，
+     * 属性不可读或者类型可变时抛出IllegalArgumentException。相同的类型、属性与selector返回缓存的拷贝器
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    public static ColumnarCopier create(Class<?> type, String[] properties, BeanPropertySelector selector) {
+        String[] names = properties.clone();
+        return CACHE.computeIfAbsent(Arrays.asList(type, Arrays.asList(names), selector), k -> {
+            Generator gen = new Generator();
+            gen.setType(type);
+            gen.setProperties(names);
+            gen.setSelector(selector);
+            return gen.create();
+        });
+    }
+
+    /**
+     * 按列顺序排列的列名
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * 对象类型是否有public无参构造，没有时只能toColumns，fromColumns抛出UnsupportedOperationException
+     */
+    public boolean canMaterialize() {
+        return materializable;
+    }
+
+    /**
+     * MethodName: toColumns
+     * Description: 一次遍历把对象列表拷贝为列批次，列表中有null元素时抛出NullPointerException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    public ColumnBatch toColumns(List<?> beans) {
+        int size = beans.size();
+        Object[] columns = new Object[names.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Array.newInstance(arrayTypes[i].getComponentType(), size);
+        }
+        fill(beans, columns);
+        Map<String, Object> named = new LinkedHashMap<>(CompactCollections.capacity(names.length));
+        for (int i = 0; i < names.length; i++) {
+            named.put(names[i], columns[i]);
+        }
+        return new ColumnBatch(size, named);
+    }
+
+    /**
+     * MethodName: fromColumns
+     * Description: 按行从列批次创建对象，列批次需要包括所有列并且列的数组类型一致，否则抛出IllegalArgumentException；
+     * 没有setter的列被忽略，对象类型没有public无参构造时抛出UnsupportedOperationException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 02:30
+     * Version: 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> fromColumns(ColumnBatch batch) {
+        if (!materializable) {
+            throw new UnsupportedOperationException(type.getName() + "没有public无参构造，不能从列批次创建");
+        }
+        Object[] columns = new Object[names.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = batch.column(names[i], arrayTypes[i]);
+        }
+        List<T> beans = new ArrayList<>(batch.size());
+        materialize(columns, batch.size(), (List<Object>) beans);
+        return beans;
+    }
+
+    /**
+     * 生成的按列拷贝方法，columns为已按对象数量创建的列数组
+     */
+    protected abstract void fill(List<?> beans, Object[] columns);
+
+    /**
+     * 生成的按行创建对象方法，创建的对象依次加入beans
+     */
+    protected abstract void materialize(Object[] columns, int size, List<Object> beans);
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<ColumnarCopier> {
+
+        private static final Source SOURCE = new Source(ColumnarCopier.class.getName());
+
+        private Class<?> type;
+        private String[] properties = new String[0];
+        private PropertyDescriptor[] columns;
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        public void setType(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                setNamePrefix(type.getName());
+            }
+            this.type = type;
+        }
+
+        public void setProperties(String[] properties) {
+            this.properties = properties.clone();
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return type.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(type);
+        }
+
+        public ColumnarCopier create() {
+            columns = resolveColumns();
+            String[] names = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                names[i] = columns[i].getName();
+            }
+            return (ColumnarCopier) super.create(KEY_FACTORY.newInstance(type.getName(), Arrays.asList(names), selector));
+        }
+
+        private PropertyDescriptor[] resolveColumns() {
+            if (properties.length == 0) {
+                List<PropertyDescriptor> resolved = new ArrayList<>();
+                for (PropertyDescriptor getter : selector.selectGetters(type)) {
+                    if (Immutables.isImmutable(getter.getPropertyType())) {
+                        resolved.add(getter);
+                    }
+                }
+                return resolved.toArray(new PropertyDescriptor[0]);
+            }
+            Map<String, PropertyDescriptor> getters = selector.selectGetterNames(type);
+            PropertyDescriptor[] resolved = new PropertyDescriptor[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                PropertyDescriptor getter = getters.get(properties[i]);
+                if (getter == null) {
+                    throw new IllegalArgumentException(type.getName() + "没有可读属性" + properties[i]);
+                }
+                if (!Immutables.isImmutable(getter.getPropertyType())) {
+                    throw new IllegalArgumentException("属性" + properties[i] + "的类型" + getter.getPropertyType().getName() + "可变，不能按列拷贝");
+                }
+                resolved[i] = getter;
+            }
+            return resolved;
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), COLUMNAR_COPIER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            generateFill(ce);
+            generateMaterialize(ce);
+            ce.end_class();
+        }
+
+        /**
+         * MethodName: generateFill
+         * Description: 生成代码：int[] c0 = (int[]) columns[0]; ... int i = 0; Iterator it = beans.iterator();
+         * while (it.hasNext()) { Bean bean = (Bean) it.next(); c0[i] = bean.getX(); ... i++; }
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 02:30
+         * Version: 1.0
+         */
+        private void generateFill(ClassEmitter ce) {
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, FILL, null);
+            Local[] columnLocals = loadColumns(e, 1);
+            Type beanType = Type.getType(type);
+
+            Local indexLocal = e.make_local(Type.INT_TYPE);
+            e.push(0);
+            e.store_local(indexLocal);
+            Local iteratorLocal = e.make_local(ITERATOR);
+            e.load_arg(0);
+            e.invoke_interface(LIST, new Signature("iterator", ITERATOR, new Type[0]));
+            e.store_local(iteratorLocal);
+
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+            e.mark(loopStart);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(ITERATOR, new Signature("hasNext", Type.BOOLEAN_TYPE, new Type[0]));
+            e.if_jump(Opcodes.IFEQ, loopEnd);
+
+            Local beanLocal = e.make_local(beanType);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(ITERATOR, new Signature("next", Constants.TYPE_OBJECT, new Type[0]));
+            Label notNullLabel = e.make_label();
+            e.dup();
+            e.ifnonnull(notNullLabel);
+            e.throw_exception(Type.getType(NullPointerException.class), "按列拷贝的列表中包含null元素");
+            e.mark(notNullLabel);
+            e.checkcast(beanType);
+            e.store_local(beanLocal);
+
+            for (int i = 0; i < columns.length; i++) {
+                MethodInfo read = ReflectUtils.getMethodInfo(columns[i].getReadMethod());
+                e.load_local(columnLocals[i]);
+                e.load_local(indexLocal);
+                e.load_local(beanLocal);
+                e.invoke(read);
+                e.array_store(read.getSignature().getReturnType());
+            }
+            e.iinc(indexLocal, 1);
+            e.goTo(loopStart);
+            e.mark(loopEnd);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * MethodName: generateMaterialize
+         * Description: 生成代码：for (int i = 0; i < size; i++) { Bean bean = new Bean(); bean.setX(c0[i]); ... beans.add(bean); }
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 02:30
+         * Version: 1.0
+         */
+        private void generateMaterialize(ClassEmitter ce) {
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, MATERIALIZE, null);
+            if (!constructible()) {
+                e.throw_exception(Type.getType(UnsupportedOperationException.class), type.getName() + "没有public无参构造，不能从列批次创建");
+                e.end_method();
+                return;
+            }
+            Local[] columnLocals = loadColumns(e, 0);
+            Type beanType = Type.getType(type);
+
+            Local indexLocal = e.make_local(Type.INT_TYPE);
+            e.push(0);
+            e.store_local(indexLocal);
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+            e.mark(loopStart);
+            e.load_local(indexLocal);
+            e.load_arg(1);
+            e.if_jump(Opcodes.IF_ICMPGE, loopEnd);
+
+            Local beanLocal = e.make_local(beanType);
+            e.new_instance(beanType);
+            e.dup();
+            e.invoke_constructor(beanType);
+            e.store_local(beanLocal);
+
+            PropertyDescriptor[] setters = selector.selectSetters(type);
+            for (int i = 0; i < columns.length; i++) {
+                PropertyDescriptor setter = setter(setters, columns[i]);
+                if (setter == null) {
+                    continue;
+                }
+                MethodInfo write = ReflectUtils.getMethodInfo(setter.getWriteMethod());
+                e.load_local(beanLocal);
+                e.load_local(columnLocals[i]);
+                e.load_local(indexLocal);
+                e.array_load(Type.getType(columns[i].getPropertyType()));
+                e.invoke(write);
+                if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                    // 链式setter
+                    e.pop();
+                }
+            }
+
+            e.load_arg(2);
+            e.load_local(beanLocal);
+            e.invoke_interface(LIST, TypeUtils.parseSignature("boolean add(Object)"));
+            e.pop();
+            e.iinc(indexLocal, 1);
+            e.goTo(loopStart);
+            e.mark(loopEnd);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * 生成代码：把参数arg中的每一列转换为对应的数组类型并保存到本地变量
+         */
+        private Local[] loadColumns(CodeEmitter e, int arg) {
+            Local[] columnLocals = new Local[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Type arrayType = Type.getType(arrayType(columns[i]));
+                columnLocals[i] = e.make_local(arrayType);
+                e.load_arg(arg);
+                e.push(i);
+                e.aaload();
+                e.checkcast(arrayType);
+                e.store_local(columnLocals[i]);
+            }
+            return columnLocals;
+        }
+
+        /**
+         * 与列同名并且属性类型相同的setter
+         */
+        private static PropertyDescriptor setter(PropertyDescriptor[] setters, PropertyDescriptor column) {
+            for (PropertyDescriptor setter : setters) {
+                if (setter.getName().equals(column.getName()) && setter.getPropertyType() == column.getPropertyType()) {
+                    return setter;
+                }
+            }
+            return null;
+        }
+
+        private boolean constructible() {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return false;
+            }
+            try {
+                return Modifier.isPublic(type.getConstructor().getModifiers());
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+
+        private static Class<?> arrayType(PropertyDescriptor column) {
+            return Array.newInstance(column.getPropertyType(), 0).getClass();
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            ColumnarCopier copier = (ColumnarCopier) ReflectUtils.newInstance(type);
+            copier.type = this.type;
+            copier.names = new String[columns.length];
+            copier.arrayTypes = new Class<?>[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                copier.names[i] = columns[i].getName();
+                copier.arrayTypes[i] = arrayType(columns[i]);
+            }
+            copier.materializable = constructible();
+            return copier;
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface ColumnarCopierKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param className   对象类名
+         * @param columnNames 按列顺序排列的属性名列表
+         * @param selector    属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 02:30
+         * Version: 1.0
+         */
+        Object newInstance(String className, Object columnNames, Object selector);
+
+    }
+}
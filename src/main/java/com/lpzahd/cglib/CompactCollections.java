@@ -0,0 +1,127 @@
+package com.lpzahd.cglib;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+
+/**
+ * Class Name: CompactCollections
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: {@link CollectionOutput#TRIMMED}、{@link CollectionOutput#COMPACT}时由生成的代码调用，
+ * 计算预留的容量以及把拷贝完成的容器转换为紧凑的不可变容器
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 01:00
+ * Version: 1.0
+ */
+@UtilityClass
+public class CompactCollections {
+
+    /**
+     * MethodName: capacity
+     * Description: 放入size个元素不触发扩容的HashSet、HashMap初始容量
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:00
+     * Version: 1.0
+     */
+    public static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    /**
+     * MethodName: list
+     * Description: 拷贝完成的列表转换为不可变列表，空列表共享Collections.emptyList()
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:00
+     * Version: 1.0
+     */
+    public static List<Object> list(Collection<Object> collection) {
+        switch (collection.size()) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(collection.iterator().next());
+            default:
+                Object[] elements = collection.toArray();
+                // List.of不接受null元素
+                return containsNull(elements) ? Collections.unmodifiableList(Arrays.asList(elements)) : List.of(elements);
+        }
+    }
+
+    /**
+     * MethodName: set
+     * Description: 拷贝完成的Set转换为不可变Set，空Set共享Collections.emptySet()
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:00
+     * Version: 1.0
+     */
+    public static Set<Object> set(Set<Object> set) {
+        switch (set.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.singleton(set.iterator().next());
+            default:
+                return set.contains(null) ? Collections.unmodifiableSet(set) : Set.copyOf(set);
+        }
+    }
+
+    /**
+     * MethodName: map
+     * Description: 拷贝完成的Map转换为不可变Map，空Map共享Collections.emptyMap()
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:00
+     * Version: 1.0
+     */
+    public static Map<Object, Object> map(Map<Object, Object> map) {
+        switch (map.size()) {
+            case 0:
+                return Collections.emptyMap();
+            case 1:
+                Map.Entry<Object, Object> entry = map.entrySet().iterator().next();
+                return Collections.singletonMap(entry.getKey(), entry.getValue());
+            default:
+                return map.containsKey(null) || map.containsValue(null) ? Collections.unmodifiableMap(map) : Map.copyOf(map);
+        }
+    }
+
+    /**
+     * 按源容器的元素数量新建预留容量的ArrayList、HashSet或者HashMap，供反射拷贝使用
+     */
+    static Object presized(Class<?> implClass, int size) {
+        if (implClass == ArrayList.class) {
+            return new ArrayList<>(size);
+        }
+        if (implClass == HashSet.class) {
+            return new HashSet<>(capacity(size));
+        }
+        return new HashMap<>(capacity(size));
+    }
+
+    /**
+     * 按容器种类转换为不可变容器，供反射拷贝使用
+     */
+    @SuppressWarnings("unchecked")
+    static Object compact(Object container) {
+        if (container instanceof Map) {
+            return map((Map<Object, Object>) container);
+        }
+        if (container instanceof Set) {
+            return set((Set<Object>) container);
+        }
+        return list((Collection<Object>) container);
+    }
+
+    private static boolean containsNull(Object[] elements) {
+        for (Object element : elements) {
+            if (element == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
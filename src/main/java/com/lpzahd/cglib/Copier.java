@@ -1,16 +1,20 @@
 package com.lpzahd.cglib;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import com.lpzahd.cglib.jfr.CopierGenerationEvent;
 import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import net.sf.cglib.core.*;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.security.ProtectionDomain;
 import java.time.temporal.Temporal;
 import java.util.*;
@@ -34,6 +38,36 @@ public abstract class Copier {
     private static final Signature COPY = new Signature("copy", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT, FILTER, CONVERTER});
     private static final Signature CONVERT = TypeUtils.parseSignature("Object convert(Object, Class, Object)");
     private static final Signature FILTER_SIGN = TypeUtils.parseSignature("boolean accept(Object, String, Object, String)");
+    private static final Type METHOD_HANDLES = Type.getType(MethodHandles.class);
+    private static final Type LOOKUP = Type.getType(MethodHandles.Lookup.class);
+    private static final Type VAR_HANDLE = Type.getType(VarHandle.class);
+    private static final Signature LOOKUP_SIGN = new Signature("lookup", LOOKUP, new Type[0]);
+    private static final Signature PRIVATE_LOOKUP_IN = new Signature("privateLookupIn", LOOKUP, new Type[]{Constants.TYPE_CLASS, LOOKUP});
+    private static final Signature FIND_VAR_HANDLE = new Signature("findVarHandle", VAR_HANDLE, new Type[]{Constants.TYPE_CLASS, Constants.TYPE_STRING, Constants.TYPE_CLASS});
+    private static final Type POLYMORPHIC_COPIER = Type.getType(PolymorphicCopier.class);
+    private static final Type GENERATOR = Type.getType(Generator.class);
+    private static final Signature POLYMORPHIC_CREATE = new Signature("create", POLYMORPHIC_COPIER, new Type[]{Constants.TYPE_CLASS, GENERATOR});
+    private static final Signature INIT_POLYMORPHIC = new Signature("CGLIB$initPolymorphic", Type.VOID_TYPE, new Type[]{GENERATOR});
+    private static final Signature POLYMORPHIC_COPY = new Signature("copy", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_OBJECT, FILTER, CONVERTER});
+    private static final Type MERGES = Type.getType(Merges.class);
+    private static final Signature IS_MUTABLE = new Signature("isMutable", Type.BOOLEAN_TYPE, new Type[]{Constants.TYPE_OBJECT});
+    private static final Type COMPACT_COLLECTIONS = Type.getType(CompactCollections.class);
+    private static final Signature COMPACT_CAPACITY = new Signature("capacity", Type.INT_TYPE, new Type[]{Type.INT_TYPE});
+    private static final Signature COMPACT_LIST = new Signature("list", Type.getType(List.class), new Type[]{Type.getType(Collection.class)});
+    private static final Signature COMPACT_SET = new Signature("set", Type.getType(Set.class), new Type[]{Type.getType(Set.class)});
+    private static final Signature COMPACT_MAP = new Signature("map", Type.getType(Map.class), new Type[]{Type.getType(Map.class)});
+    private static final Type INTERNING_POOL = Type.getType(InterningPool.class);
+    private static final Signature POOL_NAMED = new Signature("named", INTERNING_POOL, new Type[]{Constants.TYPE_STRING});
+    private static final Signature POOL_INTERN = new Signature("intern", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_OBJECT});
+    private static final String POOL_FIELD = "CGLIB$POOL";
+    private static final Type OBJECTS = Type.getType(Objects.class);
+    private static final Signature OBJECTS_EQUALS = new Signature("equals", Type.BOOLEAN_TYPE, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT});
+    private static final Type REFLECT_UTILS = Type.getType(ReflectUtils.class);
+    private static final Signature REFLECT_NEW_INSTANCE = new Signature("newInstance", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_CLASS});
+    private static final Signature COPY_NEW = new Signature("copyNew", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_OBJECT, FILTER, CONVERTER});
+    private static final Signature GET_TARGET_CLASS = new Signature("getTargetClass", Constants.TYPE_CLASS, new Type[0]);
+    private static final Signature ROOT = new Signature("CGLIB$root", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT, FILTER, CONVERTER});
+    private static final Signature CONSTRUCT = new Signature("CGLIB$construct", Constants.TYPE_OBJECT, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT, FILTER, CONVERTER});
 
     public static Copier create(Class<?> source, Class<?> target, boolean useConverter) {
         return create(source, target, false, useConverter, Collections.emptyMap(), null);
@@ -44,6 +78,48 @@ public abstract class Copier {
     }
 
     public static Copier create(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector) {
+        return create(source, target, useFilter, useConverter, mapper, selector, CopierEngine.CGLIB_ENGINE);
+    }
+
+    public static Copier create(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector, CopierEngine engine) {
+        return create(source, target, useFilter, useConverter, mapper, selector, engine, false);
+    }
+
+    /**
+     * MethodName: create
+     * Description: fieldAccess为true时，平凡的getter/setter替换为直接读写字段，
+     * 字段不是public时通过VarHandle访问；子类重写的访问器会被绕过，只适用于拷贝声明类型本身的对象
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 16:30
+     * Version: 1.0
+     */
+    public static Copier create(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector, CopierEngine engine, boolean fieldAccess) {
+        Generator gen = generator(source, target, useFilter, useConverter, mapper, selector);
+        gen.setFieldAccess(fieldAccess);
+        gen.setEngine(engine);
+        return engine.create(gen);
+    }
+
+    /**
+     * MethodName: plan
+     * Description: 获取拷贝计划，不加载任何类
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 15:50
+     * Version: 1.0
+     */
+    public static CopyPlan plan(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector) {
+        return plan(source, target, useFilter, useConverter, mapper, selector, false);
+    }
+
+    public static CopyPlan plan(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector, boolean fieldAccess) {
+        Generator gen = generator(source, target, useFilter, useConverter, mapper, selector);
+        gen.setFieldAccess(fieldAccess);
+        return gen.plan();
+    }
+
+    static Generator generator(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector) {
         Generator gen = new Generator();
         gen.setSource(source);
         gen.setTarget(target);
@@ -51,13 +127,40 @@ public abstract class Copier {
         gen.setUseConverter(useConverter);
         gen.setSelector(selector);
         if (!mapper.isEmpty()) {
-            gen.setMapper(Collections.unmodifiableMap(mapper));
+            gen.setMapper(Collections.unmodifiableMap(new HashMap<>(mapper)));
         }
-        return gen.create();
+        return gen;
     }
 
     public abstract void copy(Object source, Object target, Filter<?, ?> filter, Converter converter);
 
+    /**
+     * MethodName: copyNew
+     * Description: 创建目标对象并拷贝。有无参构造的目标使用无参构造加copy；record、全参构造以及@Builder的目标
+     * 先读取所有源属性再调用一次构造方法或者builder，这类目标没有setter，copy不会修改已有的对象。
+     * 默认实现通过{@link #getTargetClass()}的无参构造创建目标对象再调用copy，生成的拷贝器会重写
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:30
+     * Version: 1.0
+     */
+    public Object copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        Class<?> targetClass = getTargetClass();
+        if (targetClass == null) {
+            throw new IllegalStateException(getClass().getName() + "没有指定目标类型，不能创建目标对象");
+        }
+        Object target = ReflectUtils.newInstance(targetClass);
+        copy(source, target, filter, converter);
+        return target;
+    }
+
+    /**
+     * 拷贝的目标类型，生成的拷贝器返回生成时的目标类型；自定义的子类需要默认的copyNew时重写
+     */
+    public Class<?> getTargetClass() {
+        return null;
+    }
+
     /**
      * 内部字节码代码生成
      */
@@ -70,11 +173,112 @@ public abstract class Copier {
         private boolean useFilter = false;
         private boolean useConverter = false;
         private Map<String, String> mapper = Collections.emptyMap();
+        private boolean fieldAccess = false;
+        private boolean shareImmutables = false;
+        private boolean polymorphic = false;
+        private Map<Class<?>, Class<?>> subtypes = Collections.emptyMap();
+        private boolean merge = false;
+        private NullElementPolicy nullElements = NullElementPolicy.FAIL;
+        private CollectionOutput collectionOutput = CollectionOutput.MUTABLE;
+
+        /**
+         * 驻留池名称以及经过驻留池的值类型，见{@link #setIntern}
+         */
+        private String internPool;
+        private Set<Class<?>> internTypes = Collections.emptySet();
+
+        /**
+         * 融合拷贝经过的中间类型以及中间属性名到源属性名的映射，见{@link #setVia}
+         */
+        private Class<?> via;
+        private Map<String, String> viaMapper = Collections.emptyMap();
 
         private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
 
+        /**
+         * 按运行时类型拷贝时子拷贝器的生成方式
+         */
+        private CopierEngine engine = CopierEngine.CGLIB_ENGINE;
+
+        /**
+         * 最近一次生成的代码中拷贝的属性数量
+         */
+        private int propertyCount;
+
+        /**
+         * 最近一次生成的字节码大小，-1表示没有生成(命中了cglib的缓存)
+         */
+        private int bytecodeSize = -1;
+
+        /**
+         * 最近一次生成时每个目标属性的拷贝方式
+         */
+        private final List<CopyPlan.Property> planProperties = new ArrayList<>();
+
+        /**
+         * 当前生成的属性路径前缀
+         */
+        private String path = "";
+
+        /**
+         * 当前属性在path中的起始位置，元素经过Converter转换时以元素相对所属bean的路径(例如"ids[]")作为转换的上下文
+         */
+        private int elementBase;
+
+        /**
+         * 当前生成的类是否用到了驻留池
+         */
+        private boolean internUsed;
+
+        /**
+         * 可以替换为字段访问的访问器，MethodInfo没有按方法所在类区分equals，这里按实例区分
+         */
+        private final Map<MethodInfo, FieldAccess> fieldAccesses = new IdentityHashMap<>();
+
+        /**
+         * 需要通过VarHandle访问的字段以及生成类中保存VarHandle的静态字段名
+         */
+        private final Map<Field, String> varHandles = new LinkedHashMap<>();
+
+        /**
+         * 按运行时类型分派的目标属性类型以及生成类中保存PolymorphicCopier的静态字段名
+         */
+        private final Map<Class<?>, String> polymorphicSites = new LinkedHashMap<>();
+
+        /**
+         * 构造参数对应的读写方法以及保存参数值的本地变量，按实例区分
+         */
+        private final Map<PropertyDescriptor, MethodInfo[]> parameterMethods = new IdentityHashMap<>();
+        private final Map<MethodInfo, Local> parameterLocals = new IdentityHashMap<>();
+
+        /**
+         * 一次拷贝到多个目标时共享的源对象本地变量，以及已经读入本地变量的源属性getter对应的读取方法
+         */
+        private Local sharedSource;
+        private final Map<Method, MethodInfo> sharedReads = new HashMap<>();
+
+        /**
+         * 当前生成的bean对应的中间类型，null表示不限制；当前属性下嵌套的目标类型到中间类型的映射
+         */
+        private Class<?> viaLevel;
+        private Map<Class<?>, Class<?>> viaChildren = Collections.emptyMap();
+
+        /**
+         * 当前按值拷贝的属性对应的中间属性，使用转换器时先转换为中间属性的类型，再转换为目标属性的类型
+         */
+        private PropertyDescriptor viaValue;
+
+        private Type classType;
+
         Generator() {
             super(SOURCE);
+            setStrategy(new DefaultGeneratorStrategy() {
+                @Override
+                protected byte[] transform(byte[] b) {
+                    bytecodeSize = b.length;
+                    return b;
+                }
+            });
         }
 
         public void setSelector(BeanPropertySelector selector) {
@@ -109,6 +313,198 @@ public abstract class Copier {
             this.mapper = mapper;
         }
 
+        public void setFieldAccess(boolean fieldAccess) {
+            this.fieldAccess = fieldAccess;
+        }
+
+        public void setEngine(CopierEngine engine) {
+            if (engine != null) {
+                this.engine = engine;
+            }
+        }
+
+        /**
+         * 不可变的嵌套对象以及集合元素直接共享引用，不再新建拷贝，见{@link Immutables}
+         */
+        public void setShareImmutables(boolean shareImmutables) {
+            this.shareImmutables = shareImmutables;
+        }
+
+        /**
+         * 声明类型不是final的嵌套对象以及集合、Map、数组元素按运行时类型拷贝，见{@link PolymorphicCopier}
+         */
+        public void setPolymorphic(boolean polymorphic) {
+            this.polymorphic = polymorphic;
+        }
+
+        /**
+         * 源子类型到目标子类型的映射，设置后同时开启polymorphic
+         */
+        public void setSubtypes(Map<Class<?>, Class<?>> subtypes) {
+            if (!subtypes.isEmpty()) {
+                this.subtypes = Collections.unmodifiableMap(new LinkedHashMap<>(subtypes));
+                this.polymorphic = true;
+            }
+        }
+
+        /**
+         * 合并拷贝，复用目标对象上已有的嵌套对象、集合、Map以及长度相同的数组，值没有变化的属性不调用setter，见{@link Merges}
+         */
+        public void setMerge(boolean merge) {
+            this.merge = merge;
+        }
+
+        /**
+         * MethodName: setVia
+         * Description: 融合A -> B -> C两次拷贝为一次A -> C拷贝，不创建中间对象。目标属性按mapper找到中间属性，
+         * 中间属性可读并且可写(setter或者构造参数)时再按viaMapper找到源属性，嵌套对象、集合、Map、数组的元素按中间属性的类型逐层限制。
+         * 不使用转换器时，源属性到中间属性或者中间属性到目标属性在分两次拷贝时会被跳过的属性同样跳过(见{@link #hopCopied})；
+         * 使用转换器时按值拷贝的属性依次转换为中间属性与目标属性的类型。按运行时类型分派的属性不限制
+         *
+         * @param via       中间类型
+         * @param viaMapper 中间属性名到源属性名的映射，为空时按同名属性
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:00
+         * Version: 1.0
+         */
+        public void setVia(Class<?> via, Map<String, String> viaMapper) {
+            this.via = via;
+            this.viaMapper = viaMapper;
+        }
+
+        /**
+         * 包装类型的集合拷贝到基本类型的数组或者列表时对null元素的处理，默认抛出NullPointerException，见{@link NullElementPolicy}
+         */
+        public void setNullElements(NullElementPolicy nullElements) {
+            if (nullElements != null) {
+                this.nullElements = nullElements;
+            }
+        }
+
+        /**
+         * 深拷贝新建的集合、Map的形式，只对声明为接口的目标属性生效，合并拷贝新建的容器不受影响，见{@link CollectionOutput}
+         */
+        public void setCollectionOutput(CollectionOutput collectionOutput) {
+            if (collectionOutput != null) {
+                this.collectionOutput = collectionOutput;
+            }
+        }
+
+        /**
+         * MethodName: setIntern
+         * Description: 写入声明类型为String或者valueTypes的属性以及集合、Map元素时经过名称为pool的{@link InterningPool}，
+         * 相等的值共享同一个实例。valueTypes需要是不可变类型，按声明类型新建拷贝的嵌套对象不驻留
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 01:40
+         * Version: 1.0
+         */
+        public void setIntern(String pool, Collection<Class<?>> valueTypes) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            types.add(String.class);
+            types.addAll(valueTypes);
+            this.internPool = pool;
+            this.internTypes = Collections.unmodifiableSet(types);
+        }
+
+        public Class<?> getSource() {
+            return source;
+        }
+
+        public Class<?> getTarget() {
+            return target;
+        }
+
+        boolean isUseFilter() {
+            return useFilter;
+        }
+
+        boolean isUseConverter() {
+            return useConverter;
+        }
+
+        Map<String, String> getMapper() {
+            return mapper;
+        }
+
+        BeanPropertySelector getSelector() {
+            return selector;
+        }
+
+        boolean isFieldAccess() {
+            return fieldAccess;
+        }
+
+        boolean isShareImmutables() {
+            return shareImmutables;
+        }
+
+        CopierEngine getEngine() {
+            return engine;
+        }
+
+        boolean isPolymorphic() {
+            return polymorphic;
+        }
+
+        Map<Class<?>, Class<?>> getSubtypes() {
+            return subtypes;
+        }
+
+        boolean isMerge() {
+            return merge;
+        }
+
+        NullElementPolicy getNullElements() {
+            return nullElements;
+        }
+
+        CollectionOutput getCollectionOutput() {
+            return collectionOutput;
+        }
+
+        String getInternPool() {
+            return internPool;
+        }
+
+        Set<Class<?>> getInternTypes() {
+            return internTypes;
+        }
+
+        /**
+         * 驻留配置参与缓存key的部分
+         */
+        Object internKey() {
+            if (internPool == null) {
+                return null;
+            }
+            List<String> names = new ArrayList<>(internTypes.size() + 1);
+            names.add(internPool);
+            for (Class<?> type : internTypes) {
+                names.add(type.getName());
+            }
+            return names;
+        }
+
+        /**
+         * 按运行时类型拷贝时source到target的子拷贝器的生成器，沿用当前的全部配置并开启polymorphic，融合拷贝不生效
+         */
+        Generator derive(Class<?> source, Class<?> target) {
+            Generator gen = generator(source, target, useFilter, useConverter, mapper, selector);
+            gen.setFieldAccess(fieldAccess);
+            gen.setShareImmutables(shareImmutables);
+            gen.setPolymorphic(true);
+            gen.setSubtypes(subtypes);
+            gen.setMerge(merge);
+            gen.setNullElements(nullElements);
+            gen.setCollectionOutput(collectionOutput);
+            if (internPool != null) {
+                gen.setIntern(internPool, internTypes);
+            }
+            gen.setEngine(engine);
+            return gen;
+        }
+
         @Override
         protected ClassLoader getDefaultClassLoader() {
             return source.getClassLoader();
@@ -120,20 +516,66 @@ public abstract class Copier {
         }
 
         public Copier create() {
-            BeanCopierKey key = (BeanCopierKey) KEY_FACTORY.newInstance(source.getName(), target.getName(), useFilter, useConverter);
-            return (Copier) super.create(key);
+            BeanCopierKey key = (BeanCopierKey) KEY_FACTORY.newInstance(source.getName(), target.getName(), useFilter, useConverter, fieldAccess, shareImmutables, polymorphic, subtypes, merge,
+                    via == null ? null : Arrays.asList(via.getName(), viaMapper), nullElements,
+                    collectionOutput, internKey(), mapper, selector);
+            CopierGenerationEvent event = new CopierGenerationEvent();
+            event.begin();
+            bytecodeSize = -1;
+            Copier copier = (Copier) super.create(key);
+            if (bytecodeSize >= 0) {
+                commit(event, "cglib");
+            }
+            return copier;
+        }
+
+        /**
+         * MethodName: generateBytecode
+         * Description: 不经过cglib的类加载流程，直接生成拷贝类的字节码
+         *
+         * @param writer    字节码写入器，class文件版本大于等于V1_7时需要计算栈帧
+         * @param className 生成的类名
+         * @param version   class文件版本
+         * @param engine    生成方式，记录在CopierGenerationEvent中
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 14:45
+         * Version: 1.0
+         */
+        public byte[] generateBytecode(ClassWriter writer, String className, int version, String engine) {
+            CopierGenerationEvent event = new CopierGenerationEvent();
+            event.begin();
+            generateClass(writer, className, version);
+            byte[] bytes = writer.toByteArray();
+            bytecodeSize = bytes.length;
+            commit(event, engine);
+            return bytes;
         }
 
         /**
-         * MethodName: getBeanGetters
-         * Description: 获取bean的getter方法
+         * MethodName: plan
+         * Description: 生成字节码但不加载，返回每个目标属性的拷贝方式以及copy方法的字节码大小
          *
          * @author lpzahd
-         * Create DateTime: 2023/9/9 13:18
+         * Create DateTime: 2026/10/19 15:45
          * Version: 1.0
          */
-        private PropertyDescriptor[] getBeanGetters(Class<?> clz) {
-            return selector.selectGetters(clz);
+        public CopyPlan plan() {
+            String className = source.getName() + "$$CopierPlan";
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            generateClass(writer, className, Opcodes.V1_2);
+            return new CopyPlan(source, target, className, new ArrayList<>(planProperties), writer.toByteArray());
+        }
+
+        private void commit(CopierGenerationEvent event, String engine) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sourceClass = source;
+                event.targetClass = target;
+                event.engine = engine;
+                event.propertyCount = propertyCount;
+                event.bytecodeSize = bytecodeSize;
+                event.commit();
+            }
         }
 
         /**
@@ -150,18 +592,31 @@ public abstract class Copier {
 
         @Override
         public void generateClass(ClassVisitor v) {
+            generateClass(v, getClassName(), Opcodes.V1_2);
+        }
+
+        /**
+         * MethodName: generateClass
+         * Description: 以指定的类名和class文件版本生成拷贝类，供不同的{@link CopierEngine}使用
+         *
+         * @param v         字节码写入器
+         * @param className 生成的类名
+         * @param version   class文件版本，大于等于V1_7时写入器需要计算栈帧
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 11:20
+         * Version: 1.0
+         */
+        public void generateClass(ClassVisitor v, String className, int version) {
+            checkCreatable(target);
             Type sourceType = Type.getType(source);
             Type targetType = Type.getType(target);
             ClassEmitter ce = new ClassEmitter(v);
-            ce.begin_class(46, 1, getClassName(), BEAN_COPIER, null, "<generated>");
+            ce.begin_class(version, 1, className, BEAN_COPIER, null, "<generated>");
+            reset(ce);
             EmitUtils.null_constructor(ce);
             CodeEmitter e = ce.begin_method(1, COPY, null);
-            PropertyDescriptor[] getters = getBeanGetters(source);
+            Map<String, PropertyDescriptor> sourceGetPropertyNames = selector.selectGetterNames(source);
             PropertyDescriptor[] setters = getBeanSetters(target);
-            Map<String, PropertyDescriptor> sourceGetPropertyNames = new HashMap<>(getters.length);
-            for (PropertyDescriptor getter : getters) {
-                sourceGetPropertyNames.put(getter.getName(), getter);
-            }
 
             // 加载源数据
             Local sourceLocal = e.make_local();
@@ -175,18 +630,202 @@ public abstract class Copier {
             e.checkcast(targetType);
             e.store_local(targetLocal);
 
-            visitInnerProperties(e, sourceGetPropertyNames, setters, sourceLocal, targetLocal);
+            visitInnerProperties(e, source, target, sourceGetPropertyNames, setters, sourceLocal, targetLocal);
 
             e.return_value();
             e.end_method();
+            generateCopyNew(ce, sourceType, targetType);
+            e = ce.begin_method(Constants.ACC_PUBLIC, GET_TARGET_CLASS, null);
+            EmitUtils.load_class(e, targetType);
+            e.return_value();
+            e.end_method();
+            initStaticFields(ce);
             ce.end_class();
         }
 
+        private void reset(ClassEmitter ce) {
+            propertyCount = 0;
+            planProperties.clear();
+            path = "";
+            elementBase = 0;
+            internUsed = false;
+            fieldAccesses.clear();
+            varHandles.clear();
+            polymorphicSites.clear();
+            parameterMethods.clear();
+            parameterLocals.clear();
+            sharedSource = null;
+            sharedReads.clear();
+            viaLevel = via;
+            viaChildren = Collections.emptyMap();
+            classType = ce.getClassType();
+        }
+
+        /**
+         * MethodName: generateFanOut
+         * Description: 生成一个源对象拷贝到多个目标对象的方法，参数依次为源对象、目标数组、filter、converter，位置与copy方法一致。
+         * 生成代码：先读取所有目标用到的源属性存入本地变量，再依次拷贝到每个目标，目标数组中为null的元素新建后写回数组。
+         * 只共享源对象本身的属性读取，嵌套对象、集合仍然为每个目标分别读取内部属性与元素并新建
+         *
+         * @param ce        类生成器，类已经开始
+         * @param signature 生成的方法签名
+         * @param targets   目标类型
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 22:10
+         * Version: 1.0
+         */
+        void generateFanOut(ClassEmitter ce, Signature signature, Class<?>[] targets) {
+            reset(ce);
+            Type sourceType = Type.getType(source);
+            Map<String, PropertyDescriptor> sourceGetPropertyNames = selector.selectGetterNames(source);
+            PropertyDescriptor[][] setters = new PropertyDescriptor[targets.length][];
+            Set<Method> reads = new LinkedHashSet<>();
+            for (int i = 0; i < targets.length; i++) {
+                checkCreatable(targets[i]);
+                Creator creator = Creator.of(targets[i]);
+                setters[i] = creator != null ? creator.parameters() : getBeanSetters(targets[i]);
+                for (PropertyDescriptor setter : setters[i]) {
+                    PropertyDescriptor getter = sourceGetPropertyNames.get(mapper.isEmpty() ? setter.getName() : mapper.get(setter.getName()));
+                    if (getter != null) {
+                        reads.add(getter.getReadMethod());
+                    }
+                }
+            }
+
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, signature, null);
+            Local sourceLocal = e.make_local(sourceType);
+            e.load_arg(0);
+            e.checkcast(sourceType);
+            e.store_local(sourceLocal);
+
+            // 每个源属性只读取一次
+            for (Method method : reads) {
+                MethodInfo read = methodInfo(method);
+                Local valueLocal = e.make_local(read.getSignature().getReturnType());
+                e.load_local(sourceLocal);
+                invokeRead(e, read);
+                e.store_local(valueLocal);
+                MethodInfo shared = parameterMethod(read.getSignature());
+                parameterLocals.put(shared, valueLocal);
+                sharedReads.put(method, shared);
+            }
+            sharedSource = sourceLocal;
+
+            for (int i = 0; i < targets.length; i++) {
+                Class<?> targetClass = targets[i];
+                Type targetType = Type.getType(targetClass);
+                path = "";
+                Local targetLocal = e.make_local(targetType);
+                e.load_arg(1);
+                e.push(i);
+                e.aaload();
+                e.checkcast(targetType);
+                e.store_local(targetLocal);
+
+                Label copyLabel = e.make_label();
+                Label endLabel = e.make_label();
+                e.load_local(targetLocal);
+                e.ifnonnull(copyLabel);
+                Creator creator = Creator.of(targetClass);
+                if (creator != null) {
+                    Local constructedLocal = construct(e, source, targetClass, sourceLocal);
+                    e.load_arg(1);
+                    e.push(i);
+                    e.load_local(constructedLocal);
+                    e.aastore();
+                    e.goTo(endLabel);
+                } else {
+                    newInstance(e, targetClass);
+                    e.store_local(targetLocal);
+                    e.load_arg(1);
+                    e.push(i);
+                    e.load_local(targetLocal);
+                    e.aastore();
+                }
+                e.mark(copyLabel);
+                // 已有的目标对象只通过setter拷贝
+                path = "";
+                visitInnerProperties(e, source, targetClass, sourceGetPropertyNames, creator != null ? getBeanSetters(targetClass) : setters[i], sourceLocal, targetLocal);
+                e.mark(endLabel);
+            }
+            sharedSource = null;
+
+            e.return_value();
+            e.end_method();
+            initStaticFields(ce);
+        }
+
+        /**
+         * MethodName: generateRoot
+         * Description: 生成根对象为集合、Map或者数组的copyNew方法，调用静态方法CGLIB$root，参数位置与copy方法一致。
+         * 根对象作为属性参与集合、Map、数组的深拷贝代码生成，读写通过invokeRead、invokeWrite改为访问本地变量
+         *
+         * @param ce              类生成器，类已经开始
+         * @param sourceType 源对象类型，集合与Map的类型参数为元素的类型
+         * @param targetType 目标类型，类型参数缺失时元素类型为Object
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:20
+         * Version: 1.0
+         */
+        void generateRoot(ClassEmitter ce, java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            reset(ce);
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC, COPY_NEW, null);
+            e.load_arg(0);
+            e.aconst_null();
+            e.load_arg(1);
+            e.load_arg(2);
+            e.invoke_static_this(ROOT);
+            e.return_value();
+            e.end_method();
+
+            e = ce.begin_method(Constants.ACC_PRIVATE | Constants.ACC_STATIC, ROOT, null);
+            Local sourceLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.load_arg(0);
+            e.store_local(sourceLocal);
+            Local targetLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.aconst_null();
+            e.store_local(targetLocal);
+            // 根对象的读写方法，源对象同时作为占位对象
+            MethodInfo read = parameterMethod(new Signature("root", Constants.TYPE_OBJECT, new Type[0]));
+            MethodInfo write = parameterMethod(new Signature("root", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT}));
+            parameterLocals.put(read, sourceLocal);
+            parameterLocals.put(write, targetLocal);
+            if (targetClass.isArray()) {
+                path = "[].";
+                deepCopyArray(e, sourceLocal, sourceLocal, read, write, sourceType, targetType);
+            } else if (Map.class.isAssignableFrom(targetClass)) {
+                deepCopyMap(e, sourceLocal, sourceLocal, read, write,
+                        rootArgument(sourceType, Map.class, 0), rootArgument(sourceType, Map.class, 1),
+                        rootArgument(targetType, Map.class, 0), rootArgument(targetType, Map.class, 1),
+                        Map.class, targetClass);
+            } else {
+                path = "[].";
+                deepCopyCollection(e, sourceLocal, sourceLocal, read, write,
+                        rootArgument(sourceType, Collection.class, 0), rootArgument(targetType, Collection.class, 0),
+                        Collection.class, targetClass);
+            }
+            e.load_local(targetLocal);
+            e.return_value();
+            e.end_method();
+            initStaticFields(ce);
+        }
+
+        /**
+         * 根对象的类型参数，按原始类型使用时为Object
+         */
+        private static java.lang.reflect.Type rootArgument(java.lang.reflect.Type type, Class<?> generic, int index) {
+            java.lang.reflect.Type argument = GenericTypes.argument(type, generic, index);
+            return argument == null ? Object.class : argument;
+        }
+
         /**
          * MethodName: visitInnerProperties
          * Description: 迭代内部属性
          *
          * @param e                      代码生成器
+         * @param sourceClass            源对象类型，解析继承来的泛型属性
+         * @param targetClass            目标对象类型，解析继承来的泛型属性
          * @param sourceGetPropertyNames 源对象所有getter属性以及映射的名称
          * @param targetSetProperties    目标对象属性的所有setter属性
          * @param sourceLocal            源对象本地变量
@@ -195,93 +834,141 @@ public abstract class Copier {
          * Create DateTime: 2023/9/6 20:50
          * Version: 1.0
          */
-        private void visitInnerProperties(CodeEmitter e, Map<String, PropertyDescriptor> sourceGetPropertyNames, PropertyDescriptor[] targetSetProperties, Local sourceLocal, Local targetLocal) {
+        private void visitInnerProperties(CodeEmitter e, Class<?> sourceClass, Class<?> targetClass, Map<String, PropertyDescriptor> sourceGetPropertyNames, PropertyDescriptor[] targetSetProperties, Local sourceLocal, Local targetLocal) {
+            Map<Class<?>, Class<?>> parentViaChildren = viaChildren;
+            int parentElementBase = elementBase;
             for (PropertyDescriptor targetSetProperty : targetSetProperties) {
-                PropertyDescriptor sourceGetProperty = (mapper.isEmpty()) ? sourceGetPropertyNames.get(targetSetProperty.getName()) : sourceGetPropertyNames.get(mapper.get(targetSetProperty.getName()));
-                if (sourceGetProperty != null) {
-                    MethodInfo sourceRead = ReflectUtils.getMethodInfo(sourceGetProperty.getReadMethod());
-                    MethodInfo targetWrite = ReflectUtils.getMethodInfo(targetSetProperty.getWriteMethod());
+                String sourceName = (mapper.isEmpty()) ? targetSetProperty.getName() : mapper.get(targetSetProperty.getName());
+                PropertyDescriptor viaProperty = null;
+                if (viaLevel != null && sourceName != null) {
+                    // 融合拷贝：目标属性 -> 中间属性 -> 源属性
+                    viaProperty = viaProperty(viaLevel, sourceName);
+                    sourceName = viaProperty == null ? null : (viaMapper.isEmpty()) ? sourceName : viaMapper.get(sourceName);
+                }
+                viaChildren = viaProperty == null ? Collections.emptyMap() : viaChildren(viaLevel, viaProperty, targetClass, targetSetProperty);
+                PropertyDescriptor sourceGetProperty = sourceName == null ? null : sourceGetPropertyNames.get(sourceName);
+                viaValue = viaProperty;
+                if (sourceGetProperty == null) {
+                    record(targetSetProperty.getName(), null, null, targetSetProperty.getPropertyType(), CopyPlan.Strategy.SKIPPED_NO_SOURCE, false);
+                } else if (viaProperty != null && !useConverter
+                        && (!hopCopied(sourceGetProperty, sourceGenericType(sourceGetProperty, sourceClass), viaProperty.getPropertyType(), sourceGenericType(viaProperty, viaLevel))
+                        || !hopCopied(viaProperty, sourceGenericType(viaProperty, viaLevel), targetSetProperty.getPropertyType(), GenericTypes.resolve(genericType(targetSetProperty), targetClass)))) {
+                    // 分两次拷贝时其中一次会跳过该属性
+                    record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.SKIPPED_INCOMPATIBLE);
+                } else {
+                    propertyCount++;
+                    String parentPath = path;
+                    elementBase = parentPath.length();
+                    MethodInfo sourceRead = sourceRead(sourceLocal, sourceGetProperty);
+                    MethodInfo targetWrite = writeInfo(targetSetProperty);
+                    MethodInfo targetRead = mergeRead(targetSetProperty);
                     Class<?> sourcePropertyClass = sourceGetProperty.getPropertyType();
                     Class<?> targetPropertyClass = targetSetProperty.getPropertyType();
-                    if (Collection.class.isAssignableFrom(targetPropertyClass) && Collection.class.isAssignableFrom(sourcePropertyClass)) {
+                    java.lang.reflect.Type sourcePropertyType = sourceGenericType(sourceGetProperty, sourceClass);
+                    java.lang.reflect.Type targetPropertyType = GenericTypes.resolve(genericType(targetSetProperty), targetClass);
+                    if (PrimitiveSequences.supported(sourcePropertyType, targetPropertyType)) {
+                        // 包装类型集合、基本类型数组、基本类型列表之间按基本类型拷贝
+                        record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.PRIMITIVE_SEQUENCE);
+                        path = parentPath + targetSetProperty.getName() + "[].";
+                        primitiveCopy(e, sourceLocal, targetLocal, sourceRead, targetWrite, sourcePropertyType, targetPropertyType);
+                        path = parentPath;
+                    } else if (Collection.class.isAssignableFrom(targetPropertyClass) && Collection.class.isAssignableFrom(sourcePropertyClass)) {
                         // 当前是集合
                         // 获取集合属性的泛型类型
-                        Class<?> sourceGenericClass = getCollectionGenericType(sourceGetProperty.getWriteMethod().getGenericParameterTypes()[0]);
-                        Class<?> targetGenericClass = getCollectionGenericType(targetSetProperty.getWriteMethod().getGenericParameterTypes()[0]);
+                        java.lang.reflect.Type sourceElementType = GenericTypes.argument(sourcePropertyType, Collection.class, 0);
+                        java.lang.reflect.Type targetElementType = GenericTypes.argument(targetPropertyType, Collection.class, 0);
 
-                        if (sourceGenericClass != null && targetGenericClass != null) {
+                        if (sourceElementType != null && targetElementType != null) {
                             // 目标要生成的类型
-                            Class<?> targetCollectionClass;
-                            if (isConcreteClass(targetPropertyClass)) {
-                                // 该类是具体实现类
-                                targetCollectionClass = targetPropertyClass;
-                            } else {
-                                if (List.class.isAssignableFrom(targetPropertyClass)) {
-                                    targetCollectionClass = ArrayList.class;
-                                } else if (Set.class.isAssignableFrom(targetPropertyClass)) {
-                                    targetCollectionClass = HashSet.class;
-                                } else {
-                                    // 类型不明确，暂时用ArrayList.class;
-                                    targetCollectionClass = ArrayList.class;
-                                }
-                            }
+                            Class<?> targetCollectionClass = collectionImplClass(targetPropertyClass);
 
                             // 生成代码实现集合属性的深拷贝
-                            deepCopyCollection(
-                                    e,
-                                    sourceLocal, targetLocal,
-                                    sourceRead, targetWrite,
-                                    sourceGenericClass, targetGenericClass,
-                                    Collection.class, targetCollectionClass
-                            );
+                            record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.DEEP_COLLECTION);
+                            path = parentPath + targetSetProperty.getName() + "[].";
+                            if (targetRead != null) {
+                                mergeCollection(
+                                        e,
+                                        sourceLocal, targetLocal,
+                                        sourceRead, targetWrite, targetRead,
+                                        sourceElementType, targetElementType,
+                                        targetCollectionClass, List.class.isAssignableFrom(targetPropertyClass)
+                                );
+                            } else {
+                                deepCopyCollection(
+                                        e,
+                                        sourceLocal, targetLocal,
+                                        sourceRead, targetWrite,
+                                        sourceElementType, targetElementType,
+                                        Collection.class, targetPropertyClass
+                                );
+                            }
+                            path = parentPath;
                         } else {
                             // 泛型没有匹配到，则直接进行赋值
-                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite);
+                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite, targetRead);
                         }
                     } else if (Map.class.isAssignableFrom(targetPropertyClass) && Map.class.isAssignableFrom(sourcePropertyClass)) {
                         // 当前是集合
                         // 获取集合属性的泛型类型
-                        MapTypeInformation sourceTypeInformation = getMapGenericType(sourceGetProperty.getWriteMethod().getGenericParameterTypes()[0]);
-                        MapTypeInformation targetTypeInformation = getMapGenericType(targetSetProperty.getWriteMethod().getGenericParameterTypes()[0]);
+                        java.lang.reflect.Type sourceKeyType = GenericTypes.argument(sourcePropertyType, Map.class, 0);
+                        java.lang.reflect.Type sourceValueType = GenericTypes.argument(sourcePropertyType, Map.class, 1);
+                        java.lang.reflect.Type targetKeyType = GenericTypes.argument(targetPropertyType, Map.class, 0);
+                        java.lang.reflect.Type targetValueType = GenericTypes.argument(targetPropertyType, Map.class, 1);
 
-                        if (sourceTypeInformation != null && targetTypeInformation != null) {
+                        if (sourceKeyType != null && sourceValueType != null && targetKeyType != null && targetValueType != null) {
                             // 目标要生成的类型
-                            Class<?> targetMapClass;
-                            if (isConcreteClass(targetPropertyClass)) {
-                                // 该类是具体实现类
-                                targetMapClass = targetPropertyClass;
+                            Class<?> targetMapClass = mapImplClass(targetPropertyClass);
+
+                            record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.DEEP_MAP);
+                            path = parentPath + targetSetProperty.getName();
+                            if (targetRead != null) {
+                                mergeMap(
+                                        e,
+                                        sourceLocal, targetLocal,
+                                        sourceRead, targetWrite, targetRead,
+                                        sourceKeyType, sourceValueType,
+                                        targetKeyType, targetValueType,
+                                        targetMapClass
+                                );
                             } else {
-                                if (Map.class.isAssignableFrom(targetPropertyClass)) {
-//                                    targetMapClass = TreeMap.class;
-                                    targetMapClass = HashMap.class;
-                                } else {
-                                    // 类型不明确，暂时用HashSet.class;
-                                    targetMapClass = HashSet.class;
-                                }
+                                deepCopyMap(
+                                        e,
+                                        sourceLocal, targetLocal,
+                                        sourceRead, targetWrite,
+                                        sourceKeyType, sourceValueType,
+                                        targetKeyType, targetValueType,
+                                        Map.class, targetPropertyClass
+                                );
                             }
-
-                            deepCopyMap(
-                                    e,
-                                    sourceLocal, targetLocal,
-                                    sourceRead, targetWrite,
-                                    sourceTypeInformation.getKeyType(), sourceTypeInformation.getValueType(),
-                                    targetTypeInformation.getKeyType(), targetTypeInformation.getValueType(),
-                                    Map.class, targetMapClass
-                            );
+                            path = parentPath;
                         } else {
                             // 泛型没有匹配到，则直接进行赋值
-                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite);
+                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite, targetRead);
                         }
                     } else if (targetPropertyClass.isArray() && sourcePropertyClass.isArray()) {
                         // 当前属性是数组
-                        deepCopyArray(e, sourceLocal, targetLocal, sourceRead, targetWrite, sourcePropertyClass, targetPropertyClass);
+                        record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.DEEP_ARRAY);
+                        path = parentPath + targetSetProperty.getName() + "[].";
+                        if (targetRead != null) {
+                            mergeArray(e, sourceLocal, targetLocal, sourceRead, targetWrite, targetRead, sourcePropertyType, targetPropertyType);
+                        } else {
+                            deepCopyArray(e, sourceLocal, targetLocal, sourceRead, targetWrite, sourcePropertyType, targetPropertyType);
+                        }
+                        path = parentPath;
+                    } else if (polymorphicSite(sourcePropertyClass, targetPropertyClass, polymorphic, subtypes, shareImmutables)) {
+                        // 声明类型不能确定实际类型，按运行时类型分派
+                        record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.POLYMORPHIC);
+                        polymorphicCopy(e, sourceLocal, targetLocal, sourceRead, targetWrite, targetPropertyClass);
                     } else {
-                        boolean isBean = guessBean(targetPropertyClass);
+                        boolean isBean = deepCopied(sourcePropertyClass, targetPropertyClass, shareImmutables);
                         if (isBean) {
+                            record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, CopyPlan.Strategy.NESTED_BEAN);
+                            path = parentPath + targetSetProperty.getName() + ".";
+
                             // 获取当前对象的引用
                             Local sourceValueLocal = e.make_local(sourceRead.getSignature().getReturnType());
                             e.load_local(sourceLocal);
-                            e.invoke(sourceRead);
+                            invokeRead(e, sourceRead);
                             e.store_local(sourceValueLocal);
 
 
@@ -298,9 +985,31 @@ public abstract class Copier {
                             // 标记非 null 时的代码块开始
                             e.mark(notNullLabel);
 
-                            // 创建一个新的对象
+                            if (Creator.of(targetPropertyClass) != null) {
+                                // 通过构造方法或者builder创建，不能在已有对象上拷贝
+                                Class<?> parentVia = enterVia(targetPropertyClass);
+                                Local constructedLocal = construct(e, sourcePropertyClass, targetPropertyClass, sourceValueLocal);
+                                viaLevel = parentVia;
+                                mergeWrite(e, targetLocal, constructedLocal, targetWrite, targetRead);
+                                e.mark(endLabel);
+                                path = parentPath;
+                                continue;
+                            }
+
                             Type targetValueType = Type.getType(targetPropertyClass);
                             Local targetValueLocal = e.make_local(targetValueType);
+                            Label copyLabel = null;
+                            if (targetRead != null) {
+                                // 合并拷贝时目标对象上已有的嵌套对象不为null则直接在其上拷贝
+                                copyLabel = e.make_label();
+                                e.load_local(targetLocal);
+                                invokeRead(e, targetRead);
+                                e.store_local(targetValueLocal);
+                                e.load_local(targetValueLocal);
+                                e.ifnonnull(copyLabel);
+                            }
+
+                            // 创建一个新的对象
                             e.new_instance(targetValueType);
                             e.dup();
                             e.invoke_constructor(targetValueType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
@@ -309,156 +1018,1378 @@ public abstract class Copier {
                             // 目标对象set新创建的对象
                             e.load_local(targetLocal);
                             e.load_local(targetValueLocal);
-                            e.invoke(targetWrite);
+                            invokeWrite(e, targetWrite);
+
+                            if (copyLabel != null) {
+                                e.mark(copyLabel);
+                            }
 
                             // 赋值
                             innerCopy(e, sourcePropertyClass, targetPropertyClass, sourceValueLocal, targetValueLocal);
 
                             // 标记代码块结束
                             e.mark(endLabel);
+                            path = parentPath;
                         } else {
-                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite);
+                            copyValue(e, sourceLocal, targetLocal, targetSetProperty, sourceGetProperty, sourceRead, targetWrite, targetRead);
                         }
                     }
                 }
             }
+            viaChildren = parentViaChildren;
+            elementBase = parentElementBase;
+            viaValue = null;
         }
 
-        private void copyValue(CodeEmitter e, Local sourceLocal, Local targetLocal, PropertyDescriptor targetSetProperty, PropertyDescriptor sourceGetProperty, MethodInfo sourceRead, MethodInfo targetWrite) {
-            if (useFilter) {
-                if (useConverter) {
-                    filterInvoke(e, sourceLocal, targetLocal, sourceGetProperty, targetSetProperty, sourceRead, targetWrite);
-                } else if (compatible(sourceGetProperty, targetSetProperty)) {
-                    MethodInfo targetRead = ReflectUtils.getMethodInfo(targetSetProperty.getReadMethod());
-                    e.load_arg(2);
-                    e.load_local(sourceLocal);
-                    e.invoke(sourceRead);
-                    e.box(sourceRead.getSignature().getReturnType());
-                    e.push(targetSetProperty.getName());
+        /**
+         * MethodName: hopCopied
+         * Description: 融合拷贝的一次拷贝from -> to在不使用转换器单独拷贝时是否拷贝该属性，与visitInnerProperties的分支一致：
+         * 按基本类型拷贝的序列、有泛型参数的集合与Map、数组、按运行时类型分派以及嵌套对象都会拷贝，其余按值拷贝的属性需要类型兼容
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:00
+         * Version: 1.0
+         */
+        private boolean hopCopied(PropertyDescriptor from, java.lang.reflect.Type fromType, Class<?> toClass, java.lang.reflect.Type toType) {
+            Class<?> fromClass = from.getPropertyType();
+            if (PrimitiveSequences.supported(fromType, toType)) {
+                return true;
+            }
+            if (Collection.class.isAssignableFrom(toClass) && Collection.class.isAssignableFrom(fromClass)) {
+                if (GenericTypes.argument(fromType, Collection.class, 0) != null && GenericTypes.argument(toType, Collection.class, 0) != null) {
+                    return true;
+                }
+            } else if (Map.class.isAssignableFrom(toClass) && Map.class.isAssignableFrom(fromClass)) {
+                if (GenericTypes.argument(fromType, Map.class, 0) != null && GenericTypes.argument(fromType, Map.class, 1) != null
+                        && GenericTypes.argument(toType, Map.class, 0) != null && GenericTypes.argument(toType, Map.class, 1) != null) {
+                    return true;
+                }
+            } else if ((toClass.isArray() && fromClass.isArray())
+                    || polymorphicSite(fromClass, toClass, polymorphic, subtypes, shareImmutables)
+                    || deepCopied(fromClass, toClass, shareImmutables)) {
+                return true;
+            }
+            return toClass.isAssignableFrom(fromClass);
+        }
+
+        private void copyValue(CodeEmitter e, Local sourceLocal, Local targetLocal, PropertyDescriptor targetSetProperty, PropertyDescriptor sourceGetProperty, MethodInfo sourceRead, MethodInfo targetWrite, MethodInfo currentRead) {
+            boolean primitive = sourceGetProperty.getPropertyType().isPrimitive() || targetSetProperty.getPropertyType().isPrimitive();
+            boolean compatible = compatible(sourceGetProperty, targetSetProperty);
+            CopyPlan.Strategy strategy;
+            if (!useConverter && !compatible) {
+                strategy = CopyPlan.Strategy.SKIPPED_INCOMPATIBLE;
+            } else if (useFilter) {
+                strategy = useConverter ? CopyPlan.Strategy.FILTER_CONVERT : CopyPlan.Strategy.FILTER;
+            } else {
+                strategy = useConverter ? CopyPlan.Strategy.CONVERT : CopyPlan.Strategy.DIRECT;
+            }
+            record(targetSetProperty.getName(), sourceGetProperty, targetSetProperty, strategy,
+                    primitive && strategy != CopyPlan.Strategy.DIRECT && strategy != CopyPlan.Strategy.SKIPPED_INCOMPATIBLE);
+
+            if (useFilter) {
+                if (useConverter) {
+                    filterInvoke(e, sourceLocal, targetLocal, sourceGetProperty, targetSetProperty, sourceRead, targetWrite, currentRead);
+                } else if (compatible) {
+                    MethodInfo targetRead = readInfo(targetSetProperty);
+                    e.load_arg(2);
+                    e.load_local(sourceLocal);
+                    invokeRead(e, sourceRead);
+                    e.box(sourceRead.getSignature().getReturnType());
+                    e.push(targetSetProperty.getName());
                     e.load_local(targetLocal);
-                    e.invoke(targetRead);
+                    invokeRead(e, targetRead);
                     e.box(targetRead.getSignature().getReturnType());
                     e.push(sourceGetProperty.getName());
                     e.invoke_interface(FILTER, FILTER_SIGN);
                     Label ifLabel = e.make_label();
                     e.if_jump(Opcodes.IFEQ, ifLabel);
-                    e.load_local(targetLocal);
-                    e.load_local(sourceLocal);
-                    e.invoke(sourceRead);
-                    e.invoke(targetWrite);
-                    if (targetWrite.getSignature().getReturnType() != Type.VOID_TYPE) {
-                        e.pop();
+                    if (currentRead != null) {
+                        writeInvoke(e, sourceLocal, targetLocal, sourceRead, targetWrite, currentRead);
+                    } else {
+                        e.load_local(targetLocal);
+                        e.load_local(sourceLocal);
+                        invokeRead(e, sourceRead);
+                        invokeWrite(e, targetWrite);
                     }
                     e.visitLabel(ifLabel);
                 }
             } else {
-                if (useConverter) {
-                    convertInvoke(e, sourceLocal, targetLocal, sourceRead, targetWrite);
-                } else if (compatible(sourceGetProperty, targetSetProperty)) {
-                    writeInvoke(e, sourceLocal, targetLocal, sourceRead, targetWrite);
-                }
+                if (useConverter) {
+                    convertInvoke(e, sourceLocal, targetLocal, sourceRead, targetWrite, currentRead);
+                } else if (compatible) {
+                    writeInvoke(e, sourceLocal, targetLocal, sourceRead, targetWrite, currentRead);
+                }
+            }
+        }
+
+
+        private void filterInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, PropertyDescriptor getter, PropertyDescriptor setter, MethodInfo read, MethodInfo write, MethodInfo currentRead) {
+            MethodInfo targetRead = readInfo(setter);
+            e.load_arg(2);
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.box(read.getSignature().getReturnType());
+            e.push(setter.getName());
+            e.load_local(targetLocal);
+            invokeRead(e, targetRead);
+            e.box(targetRead.getSignature().getReturnType());
+            e.push(getter.getName());
+            e.invoke_interface(FILTER, FILTER_SIGN);
+            Label ifLabel = e.make_label();
+            e.if_jump(Opcodes.IFEQ, ifLabel);
+            convertInvoke(e, sourceLocal, targetLocal, read, write, currentRead);
+            e.visitLabel(ifLabel);
+        }
+
+        private void writeInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write, MethodInfo currentRead) {
+//            e.load_local(sourceLocal);
+//            e.invoke(read); // 将属性值加载到栈上
+//            e.load_local(targetLocal);
+//            e.swap();
+//            e.invoke(write); // 写入目标对象
+
+            Local tempLocal = e.make_local(read.getSignature().getReturnType());
+            e.load_local(sourceLocal);  // 将 sourceLocal 对应的值加载到栈上
+            invokeRead(e, read);         // 调用 read 方法，将属性值加载到栈上
+            e.store_local(tempLocal);    // 将属性值存储到临时变量中
+            mergeWrite(e, targetLocal, tempLocal, write, currentRead); // 将临时变量中的值写入目标对象
+        }
+
+        private void convertInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write, MethodInfo currentRead) {
+            Type setterType = write.getSignature().getArgumentTypes()[0];
+            if (currentRead != null) {
+                // 转换后的值与目标属性当前值相等时不调用setter
+                Local convertedLocal = e.make_local(setterType);
+                e.load_arg(3);
+                loadViaConverted(e, sourceLocal, read);
+                EmitUtils.load_class(e, setterType);
+                e.push(write.getSignature().getName());
+                e.invoke_interface(CONVERTER, CONVERT);
+                e.unbox_or_zero(setterType);
+                e.store_local(convertedLocal);
+                mergeWrite(e, targetLocal, convertedLocal, write, currentRead);
+                return;
+            }
+            e.load_local(targetLocal);
+            e.load_arg(3);
+            loadViaConverted(e, sourceLocal, read);
+            EmitUtils.load_class(e, setterType);
+            e.push(write.getSignature().getName());
+            e.invoke_interface(CONVERTER, CONVERT);
+            e.unbox_or_zero(setterType);
+            invokeWrite(e, write);
+        }
+
+        /**
+         * 读取源属性值并装箱放到栈顶；融合拷贝时先按中间属性的类型转换一次，与分两次拷贝时转换器的调用一致，
+         * 生成代码：converter.convert(value, B.class, "setX")
+         */
+        private void loadViaConverted(CodeEmitter e, Local sourceLocal, MethodInfo read) {
+            if (viaValue != null) {
+                e.load_arg(3);
+            }
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.box(read.getSignature().getReturnType());
+            if (viaValue != null) {
+                Class<?> viaClass = viaValue.getPropertyType();
+                EmitUtils.load_class(e, Type.getType(viaClass));
+                // 通过构造参数写入的中间属性与construct一致，按参数名转换
+                e.push(viaValue.getWriteMethod() != null ? viaValue.getWriteMethod().getName() : viaValue.getName());
+                e.invoke_interface(CONVERTER, CONVERT);
+                if (viaClass.isPrimitive()) {
+                    // 与写入中间对象的基本类型属性一致，null转换为0
+                    e.unbox_or_zero(Type.getType(viaClass));
+                    e.box(Type.getType(viaClass));
+                }
+            }
+        }
+
+        private MethodInfo methodInfo(Method method) {
+            MethodInfo info = ReflectUtils.getMethodInfo(method);
+            if (fieldAccess) {
+                FieldAccess access = FieldAccess.resolve(method);
+                if (access != null) {
+                    fieldAccesses.put(info, access);
+                }
+            }
+            return info;
+        }
+
+        /**
+         * MethodName: invokeRead
+         * Description: 栈顶为源对象时读取属性值，平凡getter替换为getfield或者VarHandle.get，构造参数读取保存参数的本地变量
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 16:35
+         * Version: 1.0
+         */
+        private void invokeRead(CodeEmitter e, MethodInfo read) {
+            Local parameterLocal = parameterLocals.get(read);
+            if (parameterLocal != null) {
+                // 构造参数：丢弃栈顶的占位对象，读取参数的当前值
+                e.pop();
+                e.load_local(parameterLocal);
+                return;
+            }
+            FieldAccess access = fieldAccesses.get(read);
+            if (access == null) {
+                e.invoke(read);
+                return;
+            }
+            Field field = access.getField();
+            Type ownerType = Type.getType(field.getDeclaringClass());
+            Type fieldType = Type.getType(field.getType());
+            if (access.isDirect()) {
+                e.getfield(ownerType, field.getName(), fieldType);
+            } else {
+                e.getstatic(classType, varHandle(field), VAR_HANDLE);
+                e.swap();
+                e.invoke_virtual(VAR_HANDLE, new Signature("get", fieldType, new Type[]{ownerType}));
+            }
+        }
+
+        /**
+         * MethodName: invokeWrite
+         * Description: 栈上依次为目标对象和属性值时写入属性，平凡setter替换为putfield或者VarHandle.set，链式setter的返回值出栈，
+         * 构造参数写入保存参数的本地变量。驻留的值类型先经过驻留池
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 16:35
+         * Version: 1.0
+         */
+        private void invokeWrite(CodeEmitter e, MethodInfo write) {
+            Type valueType = write.getSignature().getArgumentTypes()[0];
+            if (interned(valueType)) {
+                intern(e, valueType);
+            }
+            Local parameterLocal = parameterLocals.get(write);
+            if (parameterLocal != null) {
+                // 构造参数：属性值存入参数，丢弃占位对象
+                e.store_local(parameterLocal);
+                e.pop();
+                return;
+            }
+            FieldAccess access = fieldAccesses.get(write);
+            if (access == null) {
+                e.invoke(write);
+                if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                    e.pop();
+                }
+                return;
+            }
+            Field field = access.getField();
+            Type ownerType = Type.getType(field.getDeclaringClass());
+            Type fieldType = Type.getType(field.getType());
+            if (access.isDirect()) {
+                e.putfield(ownerType, field.getName(), fieldType);
+            } else {
+                Local valueLocal = e.make_local(fieldType);
+                e.store_local(valueLocal);
+                e.getstatic(classType, varHandle(field), VAR_HANDLE);
+                e.swap();
+                e.load_local(valueLocal);
+                e.invoke_virtual(VAR_HANDLE, new Signature("set", Type.VOID_TYPE, new Type[]{ownerType, fieldType}));
+            }
+        }
+
+        private boolean interned(Type type) {
+            if (internPool == null) {
+                return false;
+            }
+            for (Class<?> internType : internTypes) {
+                if (Type.getType(internType).equals(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 栈顶为即将写入的值，生成代码：value = (T) POOL.intern(value)
+         */
+        private void intern(CodeEmitter e, Type type) {
+            internUsed = true;
+            e.getstatic(classType, POOL_FIELD, INTERNING_POOL);
+            e.swap();
+            e.invoke_virtual(INTERNING_POOL, POOL_INTERN);
+            e.checkcast(type);
+        }
+
+        /**
+         * 直接引用或者经过Converter转换的集合、Map元素为驻留的值类型时经过驻留池
+         */
+        private Local internElement(CodeEmitter e, Local targetElementLocal, Class<?> targetClass) {
+            Type targetType = Type.getType(targetClass);
+            if (interned(targetType)) {
+                e.load_local(targetElementLocal);
+                intern(e, targetType);
+                e.store_local(targetElementLocal);
+            }
+            return targetElementLocal;
+        }
+
+        private String varHandle(Field field) {
+            return varHandles.computeIfAbsent(field, f -> "CGLIB$VH$" + varHandles.size());
+        }
+
+        /**
+         * MethodName: polymorphicCopy
+         * Description: 源属性值不为null时交给PolymorphicCopier按运行时类型拷贝
+         * 生成代码：Object value = source.getX(); if (value != null) target.setX((T) SITE.copy(value, filter, converter));
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 18:15
+         * Version: 1.0
+         */
+        private void polymorphicCopy(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write, Class<?> targetPropertyClass) {
+            Local valueLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.store_local(valueLocal);
+
+            Label endLabel = e.make_label();
+            e.load_local(valueLocal);
+            e.ifnull(endLabel);
+
+            e.load_local(targetLocal);
+            e.getstatic(classType, polymorphicSite(targetPropertyClass), POLYMORPHIC_COPIER);
+            e.load_local(valueLocal);
+            e.load_arg(2);
+            e.load_arg(3);
+            e.invoke_virtual(POLYMORPHIC_COPIER, POLYMORPHIC_COPY);
+            e.checkcast(Type.getType(targetPropertyClass));
+            invokeWrite(e, write);
+
+            e.mark(endLabel);
+        }
+
+        /**
+         * 集合、Map、数组元素按运行时类型拷贝，null由PolymorphicCopier原样返回
+         */
+        private Local polymorphicElement(CodeEmitter e, Local elementLocal, Class<?> targetClass) {
+            Type targetType = Type.getType(targetClass);
+            Local targetElementLocal = e.make_local(targetType);
+            e.getstatic(classType, polymorphicSite(targetClass), POLYMORPHIC_COPIER);
+            e.load_local(elementLocal);
+            e.load_arg(2);
+            e.load_arg(3);
+            e.invoke_virtual(POLYMORPHIC_COPIER, POLYMORPHIC_COPY);
+            e.checkcast(targetType);
+            e.store_local(targetElementLocal);
+            return targetElementLocal;
+        }
+
+        private String polymorphicSite(Class<?> targetClass) {
+            return polymorphicSites.computeIfAbsent(targetClass, c -> "CGLIB$POLY$" + polymorphicSites.size());
+        }
+
+        /**
+         * MethodName: initStaticFields
+         * Description: 在静态初始化块中初始化字段访问使用的VarHandle以及驻留池，开启polymorphic时生成初始化PolymorphicCopier的静态方法，
+         * 生成代码：VH = MethodHandles.privateLookupIn(Owner.class, MethodHandles.lookup()).findVarHandle(Owner.class, "name", Type.class)
+         * POOL = InterningPool.named("pool")
+         * static void CGLIB$initPolymorphic(Generator template) { if (POLY == null) { POLY = PolymorphicCopier.create(Target.class, template); } }
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 16:40
+         * Version: 1.0
+         */
+        private void initStaticFields(ClassEmitter ce) {
+            for (String name : varHandles.values()) {
+                ce.declare_field(Constants.ACC_PRIVATE | Constants.ACC_STATIC | Constants.ACC_FINAL, name, VAR_HANDLE, null);
+            }
+            if (internUsed) {
+                ce.declare_field(Constants.ACC_PRIVATE | Constants.ACC_STATIC | Constants.ACC_FINAL, POOL_FIELD, INTERNING_POOL, null);
+            }
+            if (!varHandles.isEmpty() || internUsed) {
+                CodeEmitter e = ce.begin_static();
+                for (Map.Entry<Field, String> entry : varHandles.entrySet()) {
+                    Field field = entry.getKey();
+                    Type ownerType = Type.getType(field.getDeclaringClass());
+                    EmitUtils.load_class(e, ownerType);
+                    e.invoke_static(METHOD_HANDLES, LOOKUP_SIGN);
+                    e.invoke_static(METHOD_HANDLES, PRIVATE_LOOKUP_IN);
+                    EmitUtils.load_class(e, ownerType);
+                    e.push(field.getName());
+                    EmitUtils.load_class(e, Type.getType(field.getType()));
+                    e.invoke_virtual(LOOKUP, FIND_VAR_HANDLE);
+                    e.putstatic(classType, entry.getValue(), VAR_HANDLE);
+                }
+                if (internUsed) {
+                    e.push(internPool);
+                    e.invoke_static(INTERNING_POOL, POOL_NAMED);
+                    e.putstatic(classType, POOL_FIELD, INTERNING_POOL);
+                }
+                e.return_value();
+                e.end_method();
+            }
+            if (polymorphic) {
+                initPolymorphic(ce);
+            }
+        }
+
+        /**
+         * 生成初始化PolymorphicCopier的静态方法，字段不是final，类定义之后由{@link #initialize}调用，
+         * 子拷贝器的配置只被生成类的静态字段引用，拷贝类卸载时一同回收
+         */
+        private void initPolymorphic(ClassEmitter ce) {
+            for (String name : polymorphicSites.values()) {
+                ce.declare_field(Constants.ACC_PRIVATE | Constants.ACC_STATIC, name, POLYMORPHIC_COPIER, null);
+            }
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC | Constants.ACC_STATIC, INIT_POLYMORPHIC, null);
+            Label endLabel = e.make_label();
+            if (!polymorphicSites.isEmpty()) {
+                // cglib缓存命中时会再次调用，已经初始化的不再重复创建
+                e.getstatic(classType, polymorphicSites.values().iterator().next(), POLYMORPHIC_COPIER);
+                e.ifnonnull(endLabel);
+            }
+            for (Map.Entry<Class<?>, String> entry : polymorphicSites.entrySet()) {
+                EmitUtils.load_class(e, Type.getType(entry.getKey()));
+                e.load_arg(0);
+                e.invoke_static(POLYMORPHIC_COPIER, POLYMORPHIC_CREATE);
+                e.putstatic(classType, entry.getValue(), POLYMORPHIC_COPIER);
+            }
+            e.mark(endLabel);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * MethodName: initialize
+         * Description: 拷贝类定义之后、创建实例之前由引擎调用，开启polymorphic时把子拷贝器的配置交给生成类中的PolymorphicCopier，
+         * lookup需要能够访问生成类的public静态方法
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 18:05
+         * Version: 1.0
+         */
+        public void initialize(MethodHandles.Lookup lookup, Class<?> type) {
+            if (!polymorphic) {
+                return;
+            }
+            try {
+                lookup.findStatic(type, INIT_POLYMORPHIC.getName(), MethodType.methodType(void.class, Generator.class)).invoke(derive(source, target));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new CodeGenerationException(e);
+            }
+        }
+
+        /**
+         * 拷贝集合、Map、数组中的一个元素，返回保存目标元素的本地变量。元素本身是集合、Map、数组时按泛型类型逐层展开拷贝，
+         * 使用Converter并且类型不兼容的简单元素经过Converter转换
+         */
+        private Local copyElement(CodeEmitter e, Local elementLocal, java.lang.reflect.Type sourceGenericType, java.lang.reflect.Type targetGenericType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceGenericType);
+            Class<?> targetClass = TypeRef.rawType(targetGenericType);
+            if (nestedContainer(sourceGenericType, targetGenericType) != null) {
+                return containerElement(e, elementLocal, sourceGenericType, targetGenericType);
+            }
+            if (convertedElement(sourceClass, targetClass)) {
+                return internElement(e, convertElement(e, elementLocal, sourceClass, targetClass), targetClass);
+            }
+            if (polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables)) {
+                return polymorphicElement(e, elementLocal, targetClass);
+            }
+            if (!deepCopied(sourceClass, targetClass, shareImmutables)) {
+                return internElement(e, createAndStoreLocalVariable(e, elementLocal, targetClass), targetClass);
+            }
+            if (Creator.of(targetClass) != null) {
+                Class<?> parentVia = enterVia(targetClass);
+                Local constructedLocal = construct(e, sourceClass, targetClass, elementLocal);
+                viaLevel = parentVia;
+                return constructedLocal;
+            }
+            Type targetType = Type.getType(targetClass);
+            Local targetElementLocal = e.make_local(targetType);
+            e.new_instance(targetType);
+            e.dup();
+            e.invoke_constructor(targetType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
+            e.store_local(targetElementLocal);
+            innerCopy(e, sourceClass, targetClass, elementLocal, targetElementLocal);
+            return targetElementLocal;
+        }
+
+        /**
+         * 元素本身是可以展开拷贝的集合、Map、数组时返回对应的拷贝方式，泛型类型无法解析或者两边容器种类不同时返回null
+         */
+        private static CopyPlan.Strategy nestedContainer(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceType);
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            if (PrimitiveSequences.supported(sourceType, targetType)) {
+                return CopyPlan.Strategy.PRIMITIVE_SEQUENCE;
+            }
+            if (Collection.class.isAssignableFrom(sourceClass) && Collection.class.isAssignableFrom(targetClass)) {
+                return GenericTypes.argument(sourceType, Collection.class, 0) != null && GenericTypes.argument(targetType, Collection.class, 0) != null
+                        ? CopyPlan.Strategy.DEEP_COLLECTION : null;
+            }
+            if (Map.class.isAssignableFrom(sourceClass) && Map.class.isAssignableFrom(targetClass)) {
+                return GenericTypes.argument(sourceType, Map.class, 0) != null && GenericTypes.argument(targetType, Map.class, 0) != null
+                        ? CopyPlan.Strategy.DEEP_MAP : null;
+            }
+            if (sourceClass.isArray() && targetClass.isArray()) {
+                return CopyPlan.Strategy.DEEP_ARRAY;
+            }
+            return null;
+        }
+
+        /**
+         * MethodName: containerElement
+         * Description: 拷贝本身是集合、Map、数组的元素，读写通过invokeRead、invokeWrite改为访问本地变量，
+         * 元素作为属性参与deepCopyCollection、deepCopyMap、deepCopyArray、primitiveCopy的代码生成，源元素为null时目标元素为null
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:50
+         * Version: 1.0
+         */
+        private Local containerElement(CodeEmitter e, Local elementLocal, java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            Local targetElementLocal = e.make_local(Type.getType(targetClass));
+            e.aconst_null();
+            e.store_local(targetElementLocal);
+            MethodInfo read = parameterMethod(new Signature("element", Constants.TYPE_OBJECT, new Type[0]));
+            MethodInfo write = parameterMethod(new Signature("element", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT}));
+            parameterLocals.put(read, elementLocal);
+            parameterLocals.put(write, targetElementLocal);
+
+            String elementPath = path;
+            String parentPath = elementPath.endsWith(".") ? elementPath.substring(0, elementPath.length() - 1) : elementPath;
+            if (PrimitiveSequences.supported(sourceType, targetType)) {
+                path = parentPath + "[].";
+                primitiveCopy(e, elementLocal, elementLocal, read, write, sourceType, targetType);
+            } else if (targetClass.isArray()) {
+                path = parentPath + "[].";
+                deepCopyArray(e, elementLocal, elementLocal, read, write, sourceType, targetType);
+            } else if (Map.class.isAssignableFrom(targetClass)) {
+                path = parentPath;
+                deepCopyMap(e, elementLocal, elementLocal, read, write,
+                        GenericTypes.argument(sourceType, Map.class, 0), GenericTypes.argument(sourceType, Map.class, 1),
+                        GenericTypes.argument(targetType, Map.class, 0), GenericTypes.argument(targetType, Map.class, 1),
+                        Map.class, targetClass);
+            } else {
+                path = parentPath + "[].";
+                deepCopyCollection(e, elementLocal, elementLocal, read, write,
+                        GenericTypes.argument(sourceType, Collection.class, 0), GenericTypes.argument(targetType, Collection.class, 0),
+                        Collection.class, targetClass);
+            }
+            path = elementPath;
+            return targetElementLocal;
+        }
+
+        /**
+         * MethodName: primitiveCopy
+         * Description: 包装类型集合、基本类型数组、基本类型列表之间按基本类型拷贝，先得到基本类型数组再写成目标类型，
+         * 元素不经过装箱拷贝。源属性为null时跳过
+         * 生成代码：long[] values = source.getIds()(数组)、source.getIds().toLongArray()(基本类型列表)或者遍历集合拆箱；
+         * target.setIds(values)、target.setIds(LongArrayList.wrap(values))或者逐个Long.valueOf加入新集合。
+         * 源为数组、目标为基本类型列表时先复制数组，目标不与源共享存储
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 00:20
+         * Version: 1.0
+         */
+        private void primitiveCopy(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write,
+                                   java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceType);
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            Type primitiveType = Type.getType(PrimitiveSequences.primitiveType(sourceType));
+            Type arrayType = Type.getType("[" + primitiveType.getDescriptor());
+            Type boxedType = TypeUtils.getBoxedType(primitiveType);
+            Type sourceValueType = Type.getType(sourceClass);
+
+            // 生成代码：long[] sourceValue = source.getIds(); if (sourceValue != null) { ... }
+            Local sourceValueLocal = e.make_local(sourceValueType);
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.checkcast(sourceValueType);
+            e.store_local(sourceValueLocal);
+            Label endLabel = e.make_label();
+            e.load_local(sourceValueLocal);
+            e.ifnull(endLabel);
+
+            Local arrayLocal = e.make_local(arrayType);
+            if (sourceClass.isArray()) {
+                e.load_local(sourceValueLocal);
+                if (PrimitiveSequences.isList(targetClass)) {
+                    // 基本类型列表直接使用传入的数组作为存储，复制一份
+                    e.invoke_virtual(arrayType, new Signature("clone", Constants.TYPE_OBJECT, new Type[0]));
+                    e.checkcast(arrayType);
+                }
+                e.store_local(arrayLocal);
+            } else if (PrimitiveSequences.isList(sourceClass)) {
+                String name = primitiveType.getClassName();
+                e.load_local(sourceValueLocal);
+                e.invoke_virtual(sourceValueType, new Signature("to" + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "Array", arrayType, new Type[0]));
+                e.store_local(arrayLocal);
+            } else {
+                unboxCollection(e, sourceValueLocal, arrayLocal, primitiveType);
+            }
+
+            Local targetValueLocal = e.make_local(Type.getType(targetClass));
+            if (targetClass.isArray()) {
+                e.load_local(arrayLocal);
+            } else if (PrimitiveSequences.isList(targetClass)) {
+                Type listType = Type.getType(targetClass);
+                e.load_local(arrayLocal);
+                e.invoke_static(listType, new Signature("wrap", listType, new Type[]{arrayType}));
+            } else {
+                boxCollection(e, arrayLocal, primitiveType, boxedType, targetClass);
+            }
+            e.store_local(targetValueLocal);
+
+            e.load_local(targetLocal);
+            e.load_local(targetValueLocal);
+            invokeWrite(e, write);
+            e.mark(endLabel);
+        }
+
+        /**
+         * 生成代码：遍历包装类型集合拆箱存入新的基本类型数组，null元素按nullElements处理，SKIP跳过null元素后数组按实际数量截断
+         */
+        private void unboxCollection(CodeEmitter e, Local collectionLocal, Local arrayLocal, Type primitiveType) {
+            Type collectionType = Type.getType(Collection.class);
+            Type iteratorType = Type.getType(Iterator.class);
+            Type arrayType = arrayLocal.getType();
+
+            // 生成代码：int size = collection.size(); long[] array = new long[size]; int count = 0;
+            Local sizeLocal = e.make_local(Type.INT_TYPE);
+            e.load_local(collectionLocal);
+            e.checkcast(collectionType);
+            e.invoke_interface(collectionType, new Signature("size", Type.INT_TYPE, new Type[0]));
+            e.store_local(sizeLocal);
+            e.load_local(sizeLocal);
+            e.newarray(primitiveType);
+            e.store_local(arrayLocal);
+            Local countLocal = e.make_local(Type.INT_TYPE);
+            e.push(0);
+            e.store_local(countLocal);
+
+            Local iteratorLocal = e.make_local(iteratorType);
+            e.load_local(collectionLocal);
+            e.checkcast(collectionType);
+            e.invoke_interface(collectionType, new Signature("iterator", iteratorType, new Type[0]));
+            e.store_local(iteratorLocal);
+
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+            e.mark(loopStart);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("hasNext", Type.BOOLEAN_TYPE, new Type[0]));
+            e.if_jump(Opcodes.IFEQ, loopEnd);
+
+            Local elementLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("next", Constants.TYPE_OBJECT, new Type[0]));
+            e.store_local(elementLocal);
+
+            // null元素
+            Label notNullLabel = e.make_label();
+            e.load_local(elementLocal);
+            e.ifnonnull(notNullLabel);
+            if (nullElements == NullElementPolicy.FAIL) {
+                e.throw_exception(Type.getType(NullPointerException.class), path.substring(0, path.length() - 3) + "中包含null元素");
+            } else {
+                if (nullElements == NullElementPolicy.ZERO) {
+                    // 数组元素的初始值即为0
+                    e.iinc(countLocal, 1);
+                }
+                e.goTo(loopStart);
+            }
+            e.mark(notNullLabel);
+
+            // 生成代码：array[count++] = ((Number) element).longValue();
+            e.load_local(arrayLocal);
+            e.load_local(countLocal);
+            e.load_local(elementLocal);
+            e.unbox(primitiveType);
+            e.array_store(primitiveType);
+            e.iinc(countLocal, 1);
+            e.goTo(loopStart);
+            e.mark(loopEnd);
+
+            if (nullElements == NullElementPolicy.SKIP) {
+                // 生成代码：if (count != size) array = Arrays.copyOf(array, count);
+                Label sameLabel = e.make_label();
+                e.load_local(countLocal);
+                e.load_local(sizeLocal);
+                e.if_icmp(CodeEmitter.EQ, sameLabel);
+                e.load_local(arrayLocal);
+                e.load_local(countLocal);
+                e.invoke_static(Type.getType(Arrays.class), new Signature("copyOf", arrayType, new Type[]{arrayType, Type.INT_TYPE}));
+                e.store_local(arrayLocal);
+                e.mark(sameLabel);
+            }
+        }
+
+        /**
+         * 生成代码：Collection collection = new ArrayList(); for (int i = 0; i < array.length; i++) collection.add(Long.valueOf(array[i]));
+         * 结果留在栈顶
+         */
+        private void boxCollection(CodeEmitter e, Local arrayLocal, Type primitiveType, Type boxedType, Class<?> targetClass) {
+            Type collectionType = Type.getType(Collection.class);
+            Local collectionLocal = newContainer(e, targetClass, collectionImplClass(targetClass), arrayLocal);
+
+            Local indexLocal = e.make_local(Type.INT_TYPE);
+            e.push(0);
+            e.store_local(indexLocal);
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+            e.mark(loopStart);
+            e.load_local(indexLocal);
+            e.load_local(arrayLocal);
+            e.arraylength();
+            e.if_jump(Opcodes.IF_ICMPGE, loopEnd);
+
+            e.load_local(collectionLocal);
+            e.load_local(arrayLocal);
+            e.load_local(indexLocal);
+            e.array_load(primitiveType);
+            e.invoke_static(boxedType, new Signature("valueOf", boxedType, new Type[]{primitiveType}));
+            e.invoke_interface(collectionType, TypeUtils.parseSignature("boolean add(Object)"));
+            e.pop();
+            e.iinc(indexLocal, 1);
+            e.goTo(loopStart);
+            e.mark(loopEnd);
+            e.load_local(collectionLocal);
+            compact(e, targetClass);
+        }
+
+        /**
+         * MethodName: newContainer
+         * Description: 新建深拷贝的目标集合或者Map，返回保存它的本地变量。TRIMMED、COMPACT时按源容器(集合、Map或者数组)的元素数量预留容量，
+         * 生成代码：new ArrayList(source.size())、new HashMap(CompactCollections.capacity(source.size()))
+         *
+         * @param targetClass 目标属性声明的类型
+         * @param implClass   新建的实现类
+         * @param sizeLocal   提供元素数量的源容器
+         * @author lpzahd
+         * Create DateTime: 2026/10/20 01:00
+         * Version: 1.0
+         */
+        private Local newContainer(CodeEmitter e, Class<?> targetClass, Class<?> implClass, Local sizeLocal) {
+            Type implType = Type.getType(implClass);
+            Local containerLocal = e.make_local(implType);
+            e.new_instance(implType);
+            e.dup();
+            if (output(targetClass, collectionOutput) == CollectionOutput.MUTABLE) {
+                e.invoke_constructor(implType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
+            } else {
+                e.load_local(sizeLocal);
+                Type sizeType = sizeLocal.getType();
+                if (sizeType.getSort() == Type.ARRAY) {
+                    e.arraylength();
+                } else {
+                    e.invoke_interface(sizeType, new Signature("size", Type.INT_TYPE, new Type[0]));
+                }
+                if (implClass != ArrayList.class) {
+                    e.invoke_static(COMPACT_COLLECTIONS, COMPACT_CAPACITY);
+                }
+                e.invoke_constructor(implType, new Signature("<init>", Type.VOID_TYPE, new Type[]{Type.INT_TYPE}));
+            }
+            e.store_local(containerLocal);
+            return containerLocal;
+        }
+
+        /**
+         * 栈顶为拷贝完成的容器，COMPACT时转换为不可变容器
+         */
+        private void compact(CodeEmitter e, Class<?> targetClass) {
+            if (output(targetClass, collectionOutput) != CollectionOutput.COMPACT) {
+                return;
+            }
+            if (targetClass == Map.class) {
+                e.invoke_static(COMPACT_COLLECTIONS, COMPACT_MAP);
+            } else if (targetClass == Set.class) {
+                e.invoke_static(COMPACT_COLLECTIONS, COMPACT_SET);
+            } else {
+                e.invoke_static(COMPACT_COLLECTIONS, COMPACT_LIST);
+            }
+        }
+
+        /**
+         * 使用Converter时，类型不兼容并且不需要展开拷贝的元素(例如String到Long)经过Converter转换
+         */
+        private boolean convertedElement(Class<?> sourceClass, Class<?> targetClass) {
+            return useConverter && !targetClass.isAssignableFrom(sourceClass)
+                    && !polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables)
+                    && !deepCopied(sourceClass, targetClass, shareImmutables);
+        }
+
+        /**
+         * 生成代码：T target = (T) converter.convert(element, T.class, "ids[]")，基本类型装箱后转换，转换结果拆箱
+         */
+        private Local convertElement(CodeEmitter e, Local elementLocal, Class<?> sourceClass, Class<?> targetClass) {
+            Type targetType = Type.getType(targetClass);
+            Local targetElementLocal = e.make_local(targetType);
+            e.load_arg(3);
+            e.load_local(elementLocal);
+            e.box(Type.getType(sourceClass));
+            EmitUtils.load_class(e, targetType);
+            e.push(path.substring(elementBase, path.length() - 1));
+            e.invoke_interface(CONVERTER, CONVERT);
+            e.unbox_or_zero(targetType);
+            e.store_local(targetElementLocal);
+            return targetElementLocal;
+        }
+
+        /**
+         * 合并拷贝时可以在已有目标元素上拷贝的元素类型：按声明类型展开拷贝并且有无参构造的bean
+         */
+        private boolean reusable(Class<?> sourceClass, Class<?> targetClass) {
+            return !polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables) && deepCopied(sourceClass, targetClass, shareImmutables)
+                    && Creator.of(targetClass) == null;
+        }
+
+        /**
+         * 合并拷贝bean元素，existingLocal中已有的目标元素不为null时直接在其上拷贝，否则新建
+         */
+        private Local mergeElement(CodeEmitter e, Local elementLocal, Local existingLocal, Class<?> sourceClass, Class<?> targetClass) {
+            Type targetType = Type.getType(targetClass);
+            Local targetElementLocal = e.make_local(targetType);
+            e.load_local(existingLocal);
+            e.checkcast(targetType);
+            e.store_local(targetElementLocal);
+
+            Label reuseLabel = e.make_label();
+            e.load_local(targetElementLocal);
+            e.ifnonnull(reuseLabel);
+            e.new_instance(targetType);
+            e.dup();
+            e.invoke_constructor(targetType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
+            e.store_local(targetElementLocal);
+            e.mark(reuseLabel);
+
+            innerCopy(e, sourceClass, targetClass, elementLocal, targetElementLocal);
+            return targetElementLocal;
+        }
+
+        /**
+         * MethodName: reuseContainer
+         * Description: 生成代码：container = target.getX(); reused = container != null && Merges.isMutable(container);
+         * 不能复用时新建容器
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:10
+         * Version: 1.0
+         */
+        private void reuseContainer(CodeEmitter e, Local targetLocal, MethodInfo targetRead, Local containerLocal, Local reusedLocal, Type implType) {
+            Label createLabel = e.make_label();
+            Label endLabel = e.make_label();
+
+            e.load_local(targetLocal);
+            invokeRead(e, targetRead);
+            e.store_local(containerLocal);
+            e.load_local(containerLocal);
+            e.ifnull(createLabel);
+            e.load_local(containerLocal);
+            e.invoke_static(MERGES, IS_MUTABLE);
+            e.if_jump(Opcodes.IFEQ, createLabel);
+            e.push(true);
+            e.store_local(reusedLocal);
+            e.goTo(endLabel);
+
+            e.mark(createLabel);
+            e.new_instance(implType);
+            e.dup();
+            e.invoke_constructor(implType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
+            e.store_local(containerLocal);
+            e.push(false);
+            e.store_local(reusedLocal);
+
+            e.mark(endLabel);
+        }
+
+        /**
+         * 复用了目标对象上已有的容器时不需要再调用setter
+         */
+        private void writeIfCreated(CodeEmitter e, Local targetLocal, Local containerLocal, Local reusedLocal, MethodInfo write, Label endLabel) {
+            e.load_local(reusedLocal);
+            e.if_jump(Opcodes.IFNE, endLabel);
+            e.load_local(targetLocal);
+            e.load_local(containerLocal);
+            e.checkcast(write.getSignature().getArgumentTypes()[0]);
+            invokeWrite(e, write);
+        }
+
+        /**
+         * MethodName: mergeCollection
+         * Description: 合并拷贝集合属性，目标对象上已有的集合可变时原地修改：
+         * List按下标更新，bean元素在已有元素上拷贝，多余的元素从尾部截掉；其余集合清空后重新添加。
+         * 只有新建集合时才调用setter
+         *
+         * @param indexed 目标属性是List
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:10
+         * Version: 1.0
+         */
+        private void mergeCollection(
+                CodeEmitter e,
+                Local sourceLocal, Local targetLocal,
+                MethodInfo read, MethodInfo write, MethodInfo targetRead,
+                java.lang.reflect.Type sourceElementType, java.lang.reflect.Type targetElementType,
+                Class<?> collectionImplClass, boolean indexed
+        ) {
+            Class<?> sourceGenericClass = TypeRef.rawType(sourceElementType);
+            Class<?> targetGenericClass = TypeRef.rawType(targetElementType);
+            // collection接口的Type类型
+            Type collectionType = Type.getType(Collection.class);
+            // 目标集合的Type类型
+            Type containerType = indexed ? Type.getType(List.class) : collectionType;
+            // iterator接口的Type类型
+            Type iteratorType = Type.getType(Iterator.class);
+            // 源对象的Type类型
+            Type sourceGenericType = Type.getType(sourceGenericClass);
+
+            Local sourceCollectionLocal = e.make_local(collectionType); // 存储源集合属性
+            Local elementLocal = e.make_local(sourceGenericType); // 存储集合元素
+            Local collectionLocal = e.make_local(containerType); // 存储目标集合
+            Local reusedLocal = e.make_local(Type.BOOLEAN_TYPE); // 是否复用了目标集合
+
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+
+            // 生成代码：Collection sourceCollectionLocal = source.getCollectionProperty();
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.checkcast(collectionType);
+            e.store_local(sourceCollectionLocal);
+
+            // 在非null的情况下处理
+            e.load_local(sourceCollectionLocal);
+            Label notNullLabel = e.make_label();
+            e.ifnull(notNullLabel);
+
+            reuseContainer(e, targetLocal, targetRead, collectionLocal, reusedLocal, Type.getType(collectionImplClass));
+
+            Local indexLocal = null;
+            Local sizeLocal = null;
+            if (indexed) {
+                // 生成代码：int index = 0; int size = list.size();
+                indexLocal = e.make_local(Type.INT_TYPE);
+                e.push(0);
+                e.store_local(indexLocal);
+                sizeLocal = e.make_local(Type.INT_TYPE);
+                e.load_local(collectionLocal);
+                e.invoke_interface(containerType, TypeUtils.parseSignature("int size()"));
+                e.store_local(sizeLocal);
+            } else {
+                // 生成代码：collection.clear();
+                e.load_local(collectionLocal);
+                e.invoke_interface(collectionType, TypeUtils.parseSignature("void clear()"));
+            }
+
+            // 获取迭代器 iterator = sourceCollection.iterator()
+            e.load_local(sourceCollectionLocal);
+            e.invoke_interface(collectionType, new Signature("iterator", iteratorType, new Type[0]));
+            Local iteratorLocal = e.make_local(iteratorType);
+            e.store_local(iteratorLocal);
+
+            e.mark(loopStart);
+
+            e.load_local(iteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("hasNext", Type.BOOLEAN_TYPE, new Type[0]));
+            e.if_jump(Opcodes.IFEQ, loopEnd);
+
+            e.load_local(iteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("next", Type.getType(Object.class), new Type[0]));
+            e.checkcast(sourceGenericType);
+            e.store_local(elementLocal);
+
+            // 递归拷贝
+            recordElement(path, sourceElementType, targetElementType);
+            if (indexed) {
+                Label appendLabel = e.make_label();
+                Label nextLabel = e.make_label();
+                Local targetElementLocal;
+                if (reusable(sourceGenericClass, targetGenericClass)) {
+                    // 生成代码：Object existing = index < size ? list.get(index) : null;
+                    Local existingLocal = e.make_local(Constants.TYPE_OBJECT);
+                    e.aconst_null();
+                    e.store_local(existingLocal);
+                    Label absentLabel = e.make_label();
+                    e.load_local(indexLocal);
+                    e.load_local(sizeLocal);
+                    e.if_jump(Opcodes.IF_ICMPGE, absentLabel);
+                    e.load_local(collectionLocal);
+                    e.load_local(indexLocal);
+                    e.invoke_interface(containerType, TypeUtils.parseSignature("Object get(int)"));
+                    e.store_local(existingLocal);
+                    e.mark(absentLabel);
+                    targetElementLocal = mergeElement(e, elementLocal, existingLocal, sourceGenericClass, targetGenericClass);
+                } else {
+                    targetElementLocal = copyElement(e, elementLocal, sourceElementType, targetElementType);
+                }
+
+                // 生成代码：if (index < size) list.set(index, element); else list.add(element);
+                e.load_local(indexLocal);
+                e.load_local(sizeLocal);
+                e.if_jump(Opcodes.IF_ICMPGE, appendLabel);
+                e.load_local(collectionLocal);
+                e.load_local(indexLocal);
+                e.load_local(targetElementLocal);
+                e.invoke_interface(containerType, TypeUtils.parseSignature("Object set(int, Object)"));
+                e.pop();
+                e.goTo(nextLabel);
+                e.mark(appendLabel);
+                e.load_local(collectionLocal);
+                e.load_local(targetElementLocal);
+                e.invoke_interface(containerType, TypeUtils.parseSignature("boolean add(Object)"));
+                e.pop();
+                e.mark(nextLabel);
+                e.iinc(indexLocal, 1);
+            } else {
+                Local targetElementLocal = copyElement(e, elementLocal, sourceElementType, targetElementType);
+                e.load_local(collectionLocal);
+                e.load_local(targetElementLocal);
+                e.invoke_interface(collectionType, TypeUtils.parseSignature("boolean add(Object)"));
+                e.pop();
+            }
+
+            e.goTo(loopStart);
+
+            e.mark(loopEnd);
+
+            if (indexed) {
+                // 生成代码：if (index < size) list.subList(index, size).clear();
+                Label trimmedLabel = e.make_label();
+                e.load_local(indexLocal);
+                e.load_local(sizeLocal);
+                e.if_jump(Opcodes.IF_ICMPGE, trimmedLabel);
+                e.load_local(collectionLocal);
+                e.load_local(indexLocal);
+                e.load_local(sizeLocal);
+                e.invoke_interface(containerType, TypeUtils.parseSignature("java.util.List subList(int, int)"));
+                e.invoke_interface(containerType, TypeUtils.parseSignature("void clear()"));
+                e.mark(trimmedLabel);
+            }
+
+            writeIfCreated(e, targetLocal, collectionLocal, reusedLocal, write, notNullLabel);
+
+            e.mark(notNullLabel);
+        }
+
+        /**
+         * MethodName: mergeArray
+         * Description: 合并拷贝数组属性，目标对象上已有数组的长度与源数组相同时直接写入，bean元素在已有元素上拷贝。
+         * 只有新建数组时才调用setter
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:10
+         * Version: 1.0
+         */
+        private void mergeArray(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write, MethodInfo targetRead,
+                                java.lang.reflect.Type sourceArrayType, java.lang.reflect.Type targetArrayType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceArrayType);
+            Class<?> targetClass = TypeRef.rawType(targetArrayType);
+            java.lang.reflect.Type sourceElementType = GenericTypes.componentType(sourceArrayType);
+            java.lang.reflect.Type targetElementType = GenericTypes.componentType(targetArrayType);
+            // 源对象Type类型
+            Type sourceType = Type.getType(sourceClass);
+            // 目标对象Type类型
+            Type targetType = Type.getType(targetClass);
+            // 源对象数组Type类型
+            Type sourceComponentType = Type.getType(sourceClass.getComponentType());
+            // 目标对象数组Type类型
+            Type targetComponentType = Type.getType(targetClass.getComponentType());
+
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+
+            // 生成代码：String[] sourceArray = source.getArray();
+            Local sourceArrayLocal = e.make_local(sourceType);
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.checkcast(sourceType);
+            e.store_local(sourceArrayLocal);
+
+            // 在非null的情况下处理
+            e.load_local(sourceArrayLocal);
+            Label notNullLabel = e.make_label();
+            e.ifnull(notNullLabel);
+
+            // 生成代码：int sourceArrayLength = sourceArray.length;
+            e.load_local(sourceArrayLocal);
+            e.arraylength();
+            Local sourceArrayLength = e.make_local(Type.INT_TYPE);
+            e.store_local(sourceArrayLength);
+
+            // 生成代码：array = target.getArray(); reused = array != null && array.length == sourceArrayLength;
+            Local arrayLocal = e.make_local(targetType);
+            Local reusedLocal = e.make_local(Type.BOOLEAN_TYPE);
+            Label createLabel = e.make_label();
+            Label readyLabel = e.make_label();
+            e.load_local(targetLocal);
+            invokeRead(e, targetRead);
+            e.store_local(arrayLocal);
+            e.load_local(arrayLocal);
+            e.ifnull(createLabel);
+            e.load_local(arrayLocal);
+            e.arraylength();
+            e.load_local(sourceArrayLength);
+            e.if_jump(Opcodes.IF_ICMPNE, createLabel);
+            e.push(true);
+            e.store_local(reusedLocal);
+            e.goTo(readyLabel);
+            e.mark(createLabel);
+            e.load_local(sourceArrayLength);
+            e.newarray(targetComponentType);
+            e.store_local(arrayLocal);
+            e.push(false);
+            e.store_local(reusedLocal);
+            e.mark(readyLabel);
+
+            // 初始化循环变量
+            e.push(0);
+            Local indexLocal = e.make_local(Type.INT_TYPE);
+            e.store_local(indexLocal);
+
+            e.mark(loopStart);
+
+            e.load_local(indexLocal);
+            e.load_local(sourceArrayLength);
+            e.if_jump(Opcodes.IF_ICMPGE, loopEnd);
+
+            // 生成代码：element = sourceArray[i];
+            e.load_local(sourceArrayLocal);
+            e.load_local(indexLocal);
+            Local elementLocal = e.make_local(sourceComponentType);
+            e.array_load(sourceComponentType);
+            e.store_local(elementLocal);
+
+            // 递归拷贝
+            recordElement(path, sourceElementType, targetElementType);
+            Local targetElementLocal;
+            if (reusable(sourceClass.getComponentType(), targetClass.getComponentType())) {
+                // 生成代码：Object existing = array[i];
+                Local existingLocal = e.make_local(Constants.TYPE_OBJECT);
+                e.load_local(arrayLocal);
+                e.load_local(indexLocal);
+                e.array_load(targetComponentType);
+                e.store_local(existingLocal);
+                targetElementLocal = mergeElement(e, elementLocal, existingLocal, sourceClass.getComponentType(), targetClass.getComponentType());
+            } else {
+                targetElementLocal = copyElement(e, elementLocal, sourceElementType, targetElementType);
+            }
+
+            // 将拷贝后的元素存储到目标数组中
+            e.load_local(arrayLocal);
+            e.load_local(indexLocal);
+            e.load_local(targetElementLocal);
+            e.array_store(targetComponentType);
+
+            // 生成代码：i++
+            e.iinc(indexLocal, 1);
+            e.goTo(loopStart);
+
+            e.mark(loopEnd);
+
+            writeIfCreated(e, targetLocal, arrayLocal, reusedLocal, write, notNullLabel);
+
+            e.mark(notNullLabel);
+        }
+
+        /**
+         * MethodName: mergeMap
+         * Description: 合并拷贝Map属性，目标对象上已有的Map可变时原地修改：键按引用拷贝时，bean值在同一个键已有的值上拷贝，
+         * 最后移除源Map中不存在的键；键需要新建拷贝时无法对应已有的键，清空后重新添加。只有新建Map时才调用setter
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:10
+         * Version: 1.0
+         */
+        private void mergeMap(
+                CodeEmitter e,
+                Local sourceLocal, Local targetLocal,
+                MethodInfo read, MethodInfo write, MethodInfo targetRead,
+                java.lang.reflect.Type sourceKeyGenericType, java.lang.reflect.Type sourceValueGenericType,
+                java.lang.reflect.Type targetKeyGenericType, java.lang.reflect.Type targetValueGenericType,
+                Class<?> mapImplClass
+        ) {
+            Class<?> sourceKeyClass = TypeRef.rawType(sourceKeyGenericType);
+            Class<?> sourceValueClass = TypeRef.rawType(sourceValueGenericType);
+            Class<?> targetKeyClass = TypeRef.rawType(targetKeyGenericType);
+            Class<?> targetValueClass = TypeRef.rawType(targetValueGenericType);
+            // map接口的Type类型
+            Type mapType = Type.getType(Map.class);
+            // iterator的Type类型
+            Type iteratorType = Type.getType(Iterator.class);
+            // Map.Entry的Type类型
+            Type mapEntryType = Type.getType(Map.Entry.class);
+            // set的Type类型
+            Type setType = Type.getType(Set.class);
+            // object的Type类型
+            Type objectType = Type.getType(Object.class);
+            // 源对象key的Type类型
+            Type sourceKeyType = Type.getType(sourceKeyClass);
+            // 源对象value的Type类型
+            Type sourceValueType = Type.getType(sourceValueClass);
+
+            // 键按引用(或者按值新建的简单类型)拷贝时，拷贝后的键与源键equals
+            boolean keyByValue = !polymorphicSite(sourceKeyClass, targetKeyClass, polymorphic, subtypes, shareImmutables)
+                    && !deepCopied(sourceKeyClass, targetKeyClass, shareImmutables) && !convertedElement(sourceKeyClass, targetKeyClass);
+
+            Local sourceMapLocal = e.make_local(mapType); // 存储源 Map 属性
+            Local mapLocal = e.make_local(mapType); // 存储目标 Map
+            Local reusedLocal = e.make_local(Type.BOOLEAN_TYPE); // 是否复用了目标 Map
+            Local entryIteratorLocal = e.make_local(iteratorType); // 存储迭代器
+            Local entryLocal = e.make_local(mapEntryType); // 存储 Map.Entry
+
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+
+            // 生成代码：Map<K, V> sourceMapLocal = source.getMapProperty();
+            e.load_local(sourceLocal);
+            invokeRead(e, read);
+            e.checkcast(mapType);
+            e.store_local(sourceMapLocal);
+
+            // 在非null的情况下处理
+            e.load_local(sourceMapLocal);
+            Label notNullLabel = e.make_label();
+            e.ifnull(notNullLabel);
+
+            reuseContainer(e, targetLocal, targetRead, mapLocal, reusedLocal, Type.getType(mapImplClass));
+            if (!keyByValue) {
+                // 生成代码：map.clear();
+                e.load_local(mapLocal);
+                e.invoke_interface(mapType, TypeUtils.parseSignature("void clear()"));
+            }
+
+            // 获取 Map.Entry 集合的迭代器
+            e.load_local(sourceMapLocal);
+            e.invoke_interface(mapType, new Signature("entrySet", setType, new Type[0]));
+            e.invoke_interface(setType, new Signature("iterator", iteratorType, new Type[0]));
+            e.store_local(entryIteratorLocal);
+
+            e.mark(loopStart);
+
+            e.load_local(entryIteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("hasNext", Type.BOOLEAN_TYPE, new Type[0]));
+            e.if_jump(Opcodes.IFEQ, loopEnd);
+
+            e.load_local(entryIteratorLocal);
+            e.invoke_interface(iteratorType, new Signature("next", objectType, new Type[0]));
+            e.checkcast(mapEntryType);
+            e.store_local(entryLocal);
+
+            // 获取键和值
+            Local keyLocal = e.make_local(sourceKeyType);
+            e.load_local(entryLocal);
+            e.invoke_interface(mapEntryType, new Signature("getKey", objectType, new Type[0]));
+            e.checkcast(sourceKeyType);
+            e.store_local(keyLocal);
+
+            Local valueLocal = e.make_local(sourceValueType);
+            e.load_local(entryLocal);
+            e.invoke_interface(mapEntryType, new Signature("getValue", objectType, new Type[0]));
+            e.checkcast(sourceValueType);
+            e.store_local(valueLocal);
+
+            // 递归拷贝
+            String mapPath = path;
+            path = mapPath + "{key}.";
+            recordElement(path, sourceKeyGenericType, targetKeyGenericType);
+            Local targetKeyLocal = copyElement(e, keyLocal, sourceKeyGenericType, targetKeyGenericType);
+
+            path = mapPath + "{value}.";
+            recordElement(path, sourceValueGenericType, targetValueGenericType);
+            Local targetValueLocal;
+            if (keyByValue && reusable(sourceValueClass, targetValueClass)) {
+                // 生成代码：Object existing = map.get(key);
+                Local existingLocal = e.make_local(objectType);
+                e.load_local(mapLocal);
+                e.load_local(targetKeyLocal);
+                e.invoke_interface(mapType, TypeUtils.parseSignature("Object get(Object)"));
+                e.store_local(existingLocal);
+                targetValueLocal = mergeElement(e, valueLocal, existingLocal, sourceValueClass, targetValueClass);
+            } else {
+                targetValueLocal = copyElement(e, valueLocal, sourceValueGenericType, targetValueGenericType);
             }
-        }
+            path = mapPath;
 
+            // 在目标 Map 中添加键值对
+            e.load_local(mapLocal);
+            e.load_local(targetKeyLocal);
+            e.load_local(targetValueLocal);
+            e.invoke_interface(mapType, new Signature("put", objectType, new Type[]{objectType, objectType}));
+            e.pop();
 
-        private void filterInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, PropertyDescriptor getter, PropertyDescriptor setter, MethodInfo read, MethodInfo write) {
-            MethodInfo targetRead = ReflectUtils.getMethodInfo(setter.getReadMethod());
-            e.load_arg(2);
-            e.load_local(sourceLocal);
-            e.invoke(read);
-            e.box(read.getSignature().getReturnType());
-            e.push(setter.getName());
-            e.load_local(targetLocal);
-            e.invoke(targetRead);
-            e.box(targetRead.getSignature().getReturnType());
-            e.push(getter.getName());
-            e.invoke_interface(FILTER, FILTER_SIGN);
-            Label ifLabel = e.make_label();
-            e.if_jump(Opcodes.IFEQ, ifLabel);
-            convertInvoke(e, sourceLocal, targetLocal, read, write);
-            e.visitLabel(ifLabel);
-        }
-
-        private void writeInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write) {
-//            e.load_local(sourceLocal);
-//            e.invoke(read); // 将属性值加载到栈上
-//            e.load_local(targetLocal);
-//            e.swap();
-//            e.invoke(write); // 写入目标对象
+            e.goTo(loopStart);
 
-            Local tempLocal = e.make_local(read.getSignature().getReturnType());
-            e.load_local(sourceLocal);  // 将 sourceLocal 对应的值加载到栈上
-            e.invoke(read);              // 调用 read 方法，将属性值加载到栈上
-            e.store_local(tempLocal);    // 将属性值存储到临时变量中
-            e.load_local(targetLocal);  // 将 targetLocal 对应的值加载到栈上
-            e.load_local(tempLocal);     // 将临时变量中的值加载到栈上
-            e.invoke(write);             // 调用 write 方法，将属性值写入目标对象
+            e.mark(loopEnd);
 
-            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+            if (keyByValue) {
+                // 生成代码：if (reused) map.keySet().retainAll(sourceMap.keySet());
+                Label retainedLabel = e.make_label();
+                e.load_local(reusedLocal);
+                e.if_jump(Opcodes.IFEQ, retainedLabel);
+                e.load_local(mapLocal);
+                e.invoke_interface(mapType, new Signature("keySet", setType, new Type[0]));
+                e.load_local(sourceMapLocal);
+                e.invoke_interface(mapType, new Signature("keySet", setType, new Type[0]));
+                e.invoke_interface(setType, TypeUtils.parseSignature("boolean retainAll(java.util.Collection)"));
                 e.pop();
+                e.mark(retainedLabel);
             }
-        }
 
-        private void convertInvoke(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write) {
-            Type setterType = write.getSignature().getArgumentTypes()[0];
-            e.load_local(targetLocal);
-            e.load_arg(3);
-            e.load_local(sourceLocal);
-            e.invoke(read);
-            e.box(read.getSignature().getReturnType());
-            EmitUtils.load_class(e, setterType);
-            e.push(write.getSignature().getName());
-            e.invoke_interface(CONVERTER, CONVERT);
-            e.unbox_or_zero(setterType);
-            e.invoke(write);
-            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
-                e.pop();
-            }
+            writeIfCreated(e, targetLocal, mapLocal, reusedLocal, write, notNullLabel);
+
+            e.mark(notNullLabel);
         }
 
-        // 获取集合属性的泛型类型
-        private Class<?> getCollectionGenericType(java.lang.reflect.Type type) {
-            if (type instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) type;
-                java.lang.reflect.Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-                if (actualTypeArguments.length > 0) {
-                    java.lang.reflect.Type genericType = actualTypeArguments[0];
-                    if (genericType instanceof Class) {
-                        return (Class<?>) genericType;
-                    }
-                }
+        /**
+         * 合并拷贝时读取目标属性当前值的getter，未开启合并、没有getter或者getter与setter类型不同时返回null
+         */
+        private MethodInfo mergeRead(PropertyDescriptor setter) {
+            Method readMethod = setter.getReadMethod();
+            if (!merge || readMethod == null || readMethod.getReturnType() != setter.getWriteMethod().getParameterTypes()[0]) {
+                return null;
             }
-            return null;
+            return methodInfo(readMethod);
         }
 
-        // 获取Map属性的泛型类型
-        private MapTypeInformation getMapGenericType(java.lang.reflect.Type type) {
-            if (type instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) type;
-                java.lang.reflect.Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-                if (actualTypeArguments.length > 1) {
-                    java.lang.reflect.Type genericKeyType = actualTypeArguments[0];
-                    java.lang.reflect.Type genericValueType = actualTypeArguments[1];
-                    if (genericKeyType instanceof Class && genericValueType instanceof Class) {
-                        return new MapTypeInformation((Class<?>) genericKeyType, (Class<?>) genericValueType);
-                    }
-                }
+        /**
+         * MethodName: mergeWrite
+         * Description: 将valueLocal写入目标属性，currentRead不为null时先比较目标属性的当前值，
+         * 基本类型按值比较，引用类型使用Objects.equals，相等时不调用setter
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:10
+         * Version: 1.0
+         */
+        private void mergeWrite(CodeEmitter e, Local targetLocal, Local valueLocal, MethodInfo write, MethodInfo currentRead) {
+            Label unchangedLabel = null;
+            if (currentRead != null) {
+                Type type = currentRead.getSignature().getReturnType();
+                unchangedLabel = e.make_label();
+                e.load_local(targetLocal);
+                invokeRead(e, currentRead);
+                e.load_local(valueLocal);
+                ifEqual(e, type, unchangedLabel);
+            }
+            e.load_local(targetLocal);
+            e.load_local(valueLocal);
+            invokeWrite(e, write);
+            if (unchangedLabel != null) {
+                e.mark(unchangedLabel);
             }
-            return null;
         }
 
+
         // 生成集合属性的深拷贝代码
         private void deepCopyCollection(
                 CodeEmitter e,
                 Local sourceLocal, Local targetLocal,
                 MethodInfo read, MethodInfo write,
-                Class<?> sourceGenericClass, Class<?> targetGenericClass,
-                Class<?> collectionClass, Class<?> collectionImplClass
+                java.lang.reflect.Type sourceElementType, java.lang.reflect.Type targetElementType,
+                Class<?> collectionClass, Class<?> targetCollectionClass
         ) {
+            Class<?> sourceGenericClass = TypeRef.rawType(sourceElementType);
+            Class<?> targetGenericClass = TypeRef.rawType(targetElementType);
             // collection接口的Type类型
             Type collectionType = Type.getType(collectionClass);
-            // collection类的Type类型
-            Type collectionImplType = Type.getType(collectionImplClass);
             // iterator接口的Type类型
             Type iteratorType = Type.getType(Iterator.class);
             // 源对象的Type类型
@@ -474,7 +2405,7 @@ public abstract class Copier {
 
             // 生成代码：List<T> sourceCollectionLocal = source.getCollectionProperty();
             e.load_local(sourceLocal);
-            e.invoke(read);
+            invokeRead(e, read);
             e.checkcast(collectionType);
             e.store_local(sourceCollectionLocal);
 
@@ -484,11 +2415,7 @@ public abstract class Copier {
             e.ifnull(notNullLabel);
 
             // 创建一个新的Collection
-            Local newCollectionLocal = e.make_local(collectionImplType);
-            e.new_instance(collectionImplType);
-            e.dup();
-            e.invoke_constructor(collectionImplType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-            e.store_local(newCollectionLocal);
+            Local newCollectionLocal = newContainer(e, targetCollectionClass, collectionImplClass(targetCollectionClass), sourceCollectionLocal);
 
             // 获取迭代器 iterator = sourceCollection.iterator()
             e.load_local(sourceCollectionLocal);
@@ -511,17 +2438,8 @@ public abstract class Copier {
             e.store_local(elementLocal);
 
             // 递归拷贝
-            Local targetElementLocal;
-            if (!guessBean(targetGenericClass)) {
-                targetElementLocal = createAndStoreLocalVariable(e, elementLocal, targetGenericClass);
-            } else {
-                targetElementLocal = e.make_local(targetGenericType);
-                e.new_instance(targetGenericType);
-                e.dup();
-                e.invoke_constructor(targetGenericType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-                e.store_local(targetElementLocal);
-                innerCopy(e, sourceGenericClass, targetGenericClass, elementLocal, targetElementLocal);
-            }
+            recordElement(path, sourceElementType, targetElementType);
+            Local targetElementLocal = copyElement(e, elementLocal, sourceElementType, targetElementType);
 
             // newCollection.add()
             e.load_local(newCollectionLocal);
@@ -543,17 +2461,19 @@ public abstract class Copier {
 
             e.load_local(targetLocal);
             e.load_local(newCollectionLocal);
-            e.invoke(write);
-
-            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
-                e.pop();
-            }
+            compact(e, targetCollectionClass);
+            invokeWrite(e, write);
 
             e.mark(notNullLabel);
         }
 
         // 处理数组属性的深拷贝逻辑
-        private void deepCopyArray(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write, Class<?> sourceClass, Class<?> targetClass) {
+        private void deepCopyArray(CodeEmitter e, Local sourceLocal, Local targetLocal, MethodInfo read, MethodInfo write,
+                                   java.lang.reflect.Type sourceArrayType, java.lang.reflect.Type targetArrayType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceArrayType);
+            Class<?> targetClass = TypeRef.rawType(targetArrayType);
+            java.lang.reflect.Type sourceElementType = GenericTypes.componentType(sourceArrayType);
+            java.lang.reflect.Type targetElementType = GenericTypes.componentType(targetArrayType);
             // 源对象Type类型
             Type sourceType = Type.getType(sourceClass);
             // 目标对象Type类型
@@ -569,7 +2489,7 @@ public abstract class Copier {
             // 生成代码：String[] sourceArray = source.getArray();
             Local sourceArrayLocal = e.make_local(sourceType);
             e.load_local(sourceLocal);
-            e.invoke(read);
+            invokeRead(e, read);
             e.checkcast(Type.getType(sourceClass));
             e.store_local(sourceArrayLocal);
 
@@ -611,17 +2531,8 @@ public abstract class Copier {
             e.store_local(elementLocal);
 
             // 递归拷贝
-            Local targetElementLocal;
-            if (!guessBean(targetClass.getComponentType())) {
-                targetElementLocal = createAndStoreLocalVariable(e, elementLocal, targetClass.getComponentType());
-            } else {
-                targetElementLocal = e.make_local(targetComponentType);
-                e.new_instance(targetComponentType);
-                e.dup();
-                e.invoke_constructor(targetComponentType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-                e.store_local(targetElementLocal);
-                innerCopy(e, sourceClass.getComponentType(), targetClass.getComponentType(), elementLocal, targetElementLocal);
-            }
+            recordElement(path, sourceElementType, targetElementType);
+            Local targetElementLocal = copyElement(e, elementLocal, sourceElementType, targetElementType);
 
 //            // 将拷贝后的元素存储到目标数组中
 //            e.load_local(newArrayLocal);
@@ -651,11 +2562,7 @@ public abstract class Copier {
 
             e.load_local(targetLocal);
             e.load_local(newArrayLocal);
-            e.invoke(write);
-
-            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
-                e.pop();
-            }
+            invokeWrite(e, write);
 
             e.mark(notNullLabel);
         }
@@ -665,14 +2572,16 @@ public abstract class Copier {
                 CodeEmitter e,
                 Local sourceLocal, Local targetLocal,
                 MethodInfo read, MethodInfo write,
-                Class<?> sourceKeyClass, Class<?> sourceValueClass,
-                Class<?> targetKeyClass, Class<?> targetValueClass,
-                Class<?> mapClass, Class<?> mapImplClass
+                java.lang.reflect.Type sourceKeyGenericType, java.lang.reflect.Type sourceValueGenericType,
+                java.lang.reflect.Type targetKeyGenericType, java.lang.reflect.Type targetValueGenericType,
+                Class<?> mapClass, Class<?> targetMapClass
         ) {
+            Class<?> sourceKeyClass = TypeRef.rawType(sourceKeyGenericType);
+            Class<?> sourceValueClass = TypeRef.rawType(sourceValueGenericType);
+            Class<?> targetKeyClass = TypeRef.rawType(targetKeyGenericType);
+            Class<?> targetValueClass = TypeRef.rawType(targetValueGenericType);
             // map接口的Type类型
             Type mapType = Type.getType(mapClass);
-            // map类的Type类型
-            Type mapImplType = Type.getType(mapImplClass);
             // iterator的Type类型
             Type iteratorType = Type.getType(Iterator.class);
             // Map.Entry的Type类型
@@ -701,7 +2610,7 @@ public abstract class Copier {
 
             // 生成代码：Map<K, V> sourceMapLocal = source.getMapProperty();
             e.load_local(sourceLocal);
-            e.invoke(read);
+            invokeRead(e, read);
             e.checkcast(mapType);
             e.store_local(sourceMapLocal);
 
@@ -711,11 +2620,7 @@ public abstract class Copier {
             e.ifnull(notNullLabel);
 
             // 创建一个新的Map
-            Local newMapLocal = e.make_local(mapImplType);
-            e.new_instance(mapImplType);
-            e.dup();
-            e.invoke_constructor(mapImplType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-            e.store_local(newMapLocal);
+            Local newMapLocal = newContainer(e, targetMapClass, mapImplClass(targetMapClass), sourceMapLocal);
 
             // 获取 Map.Entry 集合
             e.load_local(sourceMapLocal);
@@ -756,30 +2661,16 @@ public abstract class Copier {
             e.store_local(targetValueTypeLocal);
 
             // 递归拷贝
-            Local targetElementKeyLocal;
-            if (!guessBean(targetKeyClass)) {
-                targetElementKeyLocal = createAndStoreLocalVariable(e, targetKeyTypeLocal, targetKeyClass);
-            } else {
-                targetElementKeyLocal = e.make_local(targetKeyType);
-                e.new_instance(targetKeyType);
-                e.dup();
-                e.invoke_constructor(targetKeyType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-                e.store_local(targetElementKeyLocal);
-                innerCopy(e, sourceKeyClass, targetKeyClass, targetKeyTypeLocal, targetElementKeyLocal);
-            }
+            String mapPath = path;
+            path = mapPath + "{key}.";
+            recordElement(path, sourceKeyGenericType, targetKeyGenericType);
+            Local targetElementKeyLocal = copyElement(e, targetKeyTypeLocal, sourceKeyGenericType, targetKeyGenericType);
 
             // 递归拷贝
-            Local targetElementValueLocal;
-            if (!guessBean(targetValueClass)) {
-                targetElementValueLocal = createAndStoreLocalVariable(e, targetValueTypeLocal, targetValueClass);
-            } else {
-                targetElementValueLocal = e.make_local(targetValueType);
-                e.new_instance(targetValueType);
-                e.dup();
-                e.invoke_constructor(targetValueType, new Signature("<init>", Type.VOID_TYPE, new Type[0]));
-                e.store_local(targetElementValueLocal);
-                innerCopy(e, sourceValueClass, targetValueClass, targetValueTypeLocal, targetElementValueLocal);
-            }
+            path = mapPath + "{value}.";
+            recordElement(path, sourceValueGenericType, targetValueGenericType);
+            Local targetElementValueLocal = copyElement(e, targetValueTypeLocal, sourceValueGenericType, targetValueGenericType);
+            path = mapPath;
 
             // 在目标 Map 中添加键值对
             e.load_local(newMapLocal);
@@ -802,24 +2693,325 @@ public abstract class Copier {
 
             e.load_local(targetLocal);
             e.load_local(newMapLocal);
-            e.invoke(write);
-            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
-                e.pop();
-            }
+            compact(e, targetMapClass);
+            invokeWrite(e, write);
 
             e.mark(notNullLabel);
         }
 
 
+        private void record(String name, PropertyDescriptor getter, PropertyDescriptor setter, CopyPlan.Strategy strategy) {
+            record(name, getter, setter, strategy, false);
+        }
+
+        private void record(String name, PropertyDescriptor getter, PropertyDescriptor setter, CopyPlan.Strategy strategy, boolean boxed) {
+            record(name, getter.getName(), getter.getPropertyType(), setter.getPropertyType(), strategy, boxed);
+        }
+
+        private void record(String name, String sourceName, Class<?> sourceType, Class<?> targetType, CopyPlan.Strategy strategy, boolean boxed) {
+            planProperties.add(new CopyPlan.Property(path + name, sourceName, sourceType, targetType, strategy, boxed));
+        }
+
+        /**
+         * 记录集合、Map、数组元素的拷贝方式，elementPath以"."结尾
+         */
+        private void recordElement(String elementPath, java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            Class<?> sourceClass = TypeRef.rawType(sourceType);
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            CopyPlan.Strategy strategy;
+            if (nestedContainer(sourceType, targetType) != null) {
+                // 嵌套容器本身按容器种类记录，其中的元素在展开拷贝时记录
+                strategy = nestedContainer(sourceType, targetType);
+            } else if (convertedElement(sourceClass, targetClass)) {
+                strategy = CopyPlan.Strategy.CONVERT;
+            } else if (polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables)) {
+                strategy = CopyPlan.Strategy.POLYMORPHIC;
+            } else if (deepCopied(sourceClass, targetClass, shareImmutables)) {
+                strategy = CopyPlan.Strategy.NESTED_BEAN;
+            } else if (Date.class.isAssignableFrom(targetClass)) {
+                strategy = CopyPlan.Strategy.ELEMENT_DATE;
+            } else {
+                strategy = CopyPlan.Strategy.ELEMENT_REFERENCE;
+            }
+            planProperties.add(new CopyPlan.Property(elementPath.substring(0, elementPath.length() - 1), null, sourceClass, targetClass, strategy, false));
+        }
+
         private void innerCopy(CodeEmitter e, Class<?> source, Class<?> target, Local sourceLocal, Local targetLocal) {
-            PropertyDescriptor[] getters = getBeanGetters(source);
+            Map<String, PropertyDescriptor> sourceGetPropertyNames = selector.selectGetterNames(source);
             PropertyDescriptor[] setters = getBeanSetters(target);
-            Map<String, PropertyDescriptor> sourceGetPropertyNames = new HashMap<>(getters.length);
-            for (PropertyDescriptor getter : getters) {
-                sourceGetPropertyNames.put(getter.getName(), getter);
+
+            Class<?> parentVia = enterVia(target);
+            visitInnerProperties(e, source, target, sourceGetPropertyNames, setters, sourceLocal, targetLocal);
+            viaLevel = parentVia;
+        }
+
+        /**
+         * 进入嵌套的目标类型，切换到对应的中间类型，返回之前的中间类型
+         */
+        private Class<?> enterVia(Class<?> targetClass) {
+            Class<?> parentVia = viaLevel;
+            viaLevel = viaLevel == null ? null : viaChildren.get(targetClass);
+            return parentVia;
+        }
+
+        /**
+         * 中间类型上可读并且可以通过setter或者构造参数写入的属性，不存在时返回null
+         */
+        private PropertyDescriptor viaProperty(Class<?> viaClass, String name) {
+            PropertyDescriptor getter = selector.selectGetterNames(viaClass).get(name);
+            if (getter == null || getter.getWriteMethod() != null) {
+                return getter;
+            }
+            Creator creator = Creator.of(viaClass);
+            if (creator != null) {
+                for (Creator.Parameter parameter : creator.parameters()) {
+                    if (parameter.getName().equals(name)) {
+                        return getter;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 目标属性的类型以及集合、Map、数组元素的类型到中间属性对应类型的映射
+         */
+        private static Map<Class<?>, Class<?>> viaChildren(Class<?> viaOwner, PropertyDescriptor viaProperty, Class<?> targetOwner, PropertyDescriptor targetProperty) {
+            Map<Class<?>, Class<?>> children = new HashMap<>(4);
+            Class<?> viaClass = viaProperty.getPropertyType();
+            Class<?> targetClass = targetProperty.getPropertyType();
+            children.put(targetClass, viaClass);
+            java.lang.reflect.Type viaType = GenericTypes.resolve(viaProperty.getReadMethod().getGenericReturnType(), viaOwner);
+            java.lang.reflect.Type targetType = GenericTypes.resolve(genericType(targetProperty), targetOwner);
+            if (Collection.class.isAssignableFrom(viaClass) && Collection.class.isAssignableFrom(targetClass)) {
+                java.lang.reflect.Type viaElement = GenericTypes.argument(viaType, Collection.class, 0);
+                java.lang.reflect.Type targetElement = GenericTypes.argument(targetType, Collection.class, 0);
+                if (viaElement != null && targetElement != null) {
+                    children.put(TypeRef.rawType(targetElement), TypeRef.rawType(viaElement));
+                }
+            } else if (Map.class.isAssignableFrom(viaClass) && Map.class.isAssignableFrom(targetClass)) {
+                java.lang.reflect.Type viaKey = GenericTypes.argument(viaType, Map.class, 0);
+                java.lang.reflect.Type viaValue = GenericTypes.argument(viaType, Map.class, 1);
+                java.lang.reflect.Type targetKey = GenericTypes.argument(targetType, Map.class, 0);
+                java.lang.reflect.Type targetValue = GenericTypes.argument(targetType, Map.class, 1);
+                if (viaKey != null && viaValue != null && targetKey != null && targetValue != null) {
+                    children.put(TypeRef.rawType(targetKey), TypeRef.rawType(viaKey));
+                    children.put(TypeRef.rawType(targetValue), TypeRef.rawType(viaValue));
+                }
+            } else if (viaClass.isArray() && targetClass.isArray()) {
+                children.put(targetClass.getComponentType(), viaClass.getComponentType());
+            }
+            return children;
+        }
+
+        /**
+         * MethodName: generateCopyNew
+         * Description: 生成copyNew方法，有无参构造时生成代码：T target = new T(); copy(source, target, filter, converter); return target;
+         * 通过构造方法或者builder创建时调用静态方法CGLIB$construct，参数位置与copy方法一致
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 21:30
+         * Version: 1.0
+         */
+        private void generateCopyNew(ClassEmitter ce, Type sourceType, Type targetType) {
+            Creator creator = Creator.of(target);
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC, COPY_NEW, null);
+            if (creator != null) {
+                e.load_arg(0);
+                e.aconst_null();
+                e.load_arg(1);
+                e.load_arg(2);
+                e.invoke_static_this(CONSTRUCT);
+                e.return_value();
+                e.end_method();
+
+                e = ce.begin_method(Constants.ACC_PRIVATE | Constants.ACC_STATIC, CONSTRUCT, null);
+                Local sourceLocal = e.make_local(sourceType);
+                e.load_arg(0);
+                e.checkcast(sourceType);
+                e.store_local(sourceLocal);
+                path = "";
+                e.load_local(construct(e, source, target, sourceLocal));
+            } else {
+                Local targetLocal = e.make_local(targetType);
+                newInstance(e, target);
+                e.store_local(targetLocal);
+                e.load_this();
+                e.load_arg(0);
+                e.load_local(targetLocal);
+                e.load_arg(1);
+                e.load_arg(2);
+                e.invoke_virtual_this(COPY);
+                e.load_local(targetLocal);
+            }
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * 通过无参构造创建对象放到栈顶，生成类不一定能访问非public的构造方法，这类构造方法通过反射调用
+         */
+        private void newInstance(CodeEmitter e, Class<?> targetClass) {
+            Type targetType = Type.getType(targetClass);
+            if (Modifier.isPublic(targetClass.getModifiers()) && isPublicNoArgConstructor(targetClass)) {
+                e.new_instance(targetType);
+                e.dup();
+                e.invoke_constructor(targetType);
+            } else {
+                EmitUtils.load_class(e, targetType);
+                e.invoke_static(REFLECT_UTILS, REFLECT_NEW_INSTANCE);
+                e.checkcast(targetType);
+            }
+        }
+
+        /**
+         * MethodName: construct
+         * Description: 通过构造方法或者builder创建目标对象，返回保存目标对象的本地变量。
+         * 生成代码：T1 p1 = 0/null; ... 按属性的拷贝方式写入p1...pn; T target = new T(p1, ..., pn)或者T.builder().p1(p1)...build();
+         * 构造参数作为目标属性参与visitInnerProperties，读写通过invokeRead、invokeWrite改为访问参数的本地变量，
+         * 目标对象还不存在，以源对象作为占位对象
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 21:30
+         * Version: 1.0
+         */
+        private Local construct(CodeEmitter e, Class<?> sourceClass, Class<?> targetClass, Local sourceLocal) {
+            Creator creator = Creator.of(targetClass);
+            Creator.Parameter[] parameters = creator.parameters();
+            Local[] parameterValues = new Local[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                String name = parameters[i].getName();
+                Type type = Type.getType(parameters[i].getPropertyType());
+                parameterValues[i] = e.make_local(type);
+                e.zero_or_null(type);
+                e.store_local(parameterValues[i]);
+                MethodInfo read = parameterMethod(new Signature(name, type, new Type[0]));
+                MethodInfo write = parameterMethod(new Signature(name, Type.VOID_TYPE, new Type[]{type}));
+                parameterMethods.put(parameters[i], new MethodInfo[]{read, write});
+                parameterLocals.put(read, parameterValues[i]);
+                parameterLocals.put(write, parameterValues[i]);
+            }
+
+            visitInnerProperties(e, sourceClass, targetClass, selector.selectGetterNames(sourceClass), parameters, sourceLocal, sourceLocal);
+
+            Type targetType = Type.getType(targetClass);
+            Local targetLocal = e.make_local(targetType);
+            if (creator.getConstructor() != null) {
+                e.new_instance(targetType);
+                e.dup();
+                for (Local parameterValue : parameterValues) {
+                    e.load_local(parameterValue);
+                }
+                e.invoke_constructor(targetType, ReflectUtils.getSignature(creator.getConstructor()));
+            } else {
+                e.invoke(ReflectUtils.getMethodInfo(creator.getBuilder()));
+                for (int i = 0; i < parameterValues.length; i++) {
+                    e.load_local(parameterValues[i]);
+                    e.invoke(ReflectUtils.getMethodInfo(creator.getBuilderMethod(i)));
+                }
+                e.invoke(ReflectUtils.getMethodInfo(creator.getBuild()));
+            }
+            e.store_local(targetLocal);
+            return targetLocal;
+        }
+
+        /**
+         * 构造参数的读写方法，只有签名，由invokeRead、invokeWrite替换为本地变量的读写
+         */
+        private static MethodInfo parameterMethod(Signature signature) {
+            return new MethodInfo() {
+                @Override
+                public ClassInfo getClassInfo() {
+                    return null;
+                }
+
+                @Override
+                public int getModifiers() {
+                    return Constants.ACC_PUBLIC;
+                }
+
+                @Override
+                public Signature getSignature() {
+                    return signature;
+                }
+
+                @Override
+                public Type[] getExceptionTypes() {
+                    return null;
+                }
+            };
+        }
+
+        /**
+         * 源属性的读取方法，一次拷贝到多个目标时顶层源属性读取已经保存的本地变量
+         */
+        private MethodInfo sourceRead(Local sourceLocal, PropertyDescriptor getter) {
+            if (sourceLocal == sharedSource) {
+                MethodInfo shared = sharedReads.get(getter.getReadMethod());
+                if (shared != null) {
+                    return shared;
+                }
+            }
+            return methodInfo(getter.getReadMethod());
+        }
+
+        private MethodInfo writeInfo(PropertyDescriptor setter) {
+            MethodInfo[] methods = parameterMethods.get(setter);
+            return methods != null ? methods[1] : methodInfo(setter.getWriteMethod());
+        }
+
+        private MethodInfo readInfo(PropertyDescriptor setter) {
+            MethodInfo[] methods = parameterMethods.get(setter);
+            return methods != null ? methods[0] : methodInfo(setter.getReadMethod());
+        }
+
+        /**
+         * 目标属性的泛型类型，构造参数取参数的泛型类型
+         */
+        static java.lang.reflect.Type genericType(PropertyDescriptor setter) {
+            if (setter instanceof Creator.Parameter) {
+                return ((Creator.Parameter) setter).getGenericType();
+            }
+            return PropertyIndex.genericType(setter);
+        }
+
+        /**
+         * 源属性的泛型类型，取getter返回类型(只读属性没有setter)，并按源对象类型解析继承来的类型变量
+         */
+        static java.lang.reflect.Type sourceGenericType(PropertyDescriptor getter, Class<?> sourceClass) {
+            return GenericTypes.resolve(getter.getReadMethod().getGenericReturnType(), sourceClass);
+        }
+
+        /**
+         * MethodName: checkCreatable
+         * Description: 目标类型需要能通过无参构造、全参构造或者builder创建，否则在生成拷贝器时抛出IllegalArgumentException，
+         * 而不是每次copyNew时才失败
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 21:30
+         * Version: 1.0
+         */
+        static void checkCreatable(Class<?> targetClass) {
+            if (Creator.of(targetClass) == null && !(isConcreteClass(targetClass) && hasNoArgConstructor(targetClass))) {
+                throw new IllegalArgumentException(targetClass.getName() + "没有无参构造、全参构造或者builder，不能作为拷贝目标");
+            }
+        }
+
+        static boolean hasNoArgConstructor(Class<?> clz) {
+            try {
+                clz.getDeclaredConstructor();
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
             }
+        }
 
-            visitInnerProperties(e, sourceGetPropertyNames, setters, sourceLocal, targetLocal);
+        static boolean isPublicNoArgConstructor(Class<?> clz) {
+            try {
+                return Modifier.isPublic(clz.getDeclaredConstructor().getModifiers());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
         }
 
         /**
@@ -865,6 +3057,7 @@ public abstract class Copier {
 
         @Override
         protected Object firstInstance(Class type) {
+            initialize(MethodHandles.publicLookup(), type);
             return ReflectUtils.newInstance(type);
         }
 
@@ -873,14 +3066,14 @@ public abstract class Copier {
             return instance;
         }
 
-        private boolean compatible(PropertyDescriptor getter, PropertyDescriptor setter) {
+        static boolean compatible(PropertyDescriptor getter, PropertyDescriptor setter) {
             return setter.getPropertyType().isAssignableFrom(getter.getPropertyType());
         }
 
         /**
          * 猜测是不是bean
          */
-        private boolean guessBean(Class<?> clz) {
+        static boolean guessBean(Class<?> clz) {
             if (clz.isPrimitive()) {
                 return false;
             }
@@ -914,6 +3107,55 @@ public abstract class Copier {
             return Object.class != clz;
         }
 
+        /**
+         * 是否需要新建目标bean并展开拷贝，shareImmutables时不可变的源对象直接共享引用
+         */
+        static boolean deepCopied(Class<?> sourceClass, Class<?> targetClass, boolean shareImmutables) {
+            if (!guessBean(targetClass)) {
+                return false;
+            }
+            return !shareImmutables || !targetClass.isAssignableFrom(sourceClass) || !Immutables.isImmutable(sourceClass);
+        }
+
+        /**
+         * 是否按运行时类型分派：开启polymorphic时，声明类型不是final(或者注册了子类型映射)的bean以及Object
+         */
+        static boolean polymorphicSite(Class<?> sourceClass, Class<?> targetClass, boolean polymorphic, Map<Class<?>, Class<?>> subtypes, boolean shareImmutables) {
+            if (!polymorphic || sourceClass.isPrimitive() || sourceClass.isArray()) {
+                return false;
+            }
+            if (targetClass != Object.class && !deepCopied(sourceClass, targetClass, shareImmutables)) {
+                return false;
+            }
+            return !Modifier.isFinal(sourceClass.getModifiers()) || subtypes.containsKey(sourceClass);
+        }
+
+        /**
+         * MethodName: ifEqual
+         * Description: 栈顶为两个type类型的值，相等时跳转到label。基本类型按值比较，float、double与equals一致，
+         * 区分0.0与-0.0且NaN与自身相等，数组使用Arrays.equals，其余引用类型使用Objects.equals
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:40
+         * Version: 1.0
+         */
+        static void ifEqual(CodeEmitter e, Type type, Label label) {
+            if (type == Type.FLOAT_TYPE || type == Type.DOUBLE_TYPE) {
+                Type boxedType = type == Type.FLOAT_TYPE ? Type.getType(Float.class) : Type.getType(Double.class);
+                e.invoke_static(boxedType, new Signature("compare", Type.INT_TYPE, new Type[]{type, type}));
+                e.if_jump(Opcodes.IFEQ, label);
+            } else if (TypeUtils.isPrimitive(type)) {
+                e.if_cmp(type, CodeEmitter.EQ, label);
+            } else if (TypeUtils.isArray(type)) {
+                Type arrayType = TypeUtils.isPrimitive(type.getElementType()) && type.getDimensions() == 1 ? type : Constants.TYPE_OBJECT_ARRAY;
+                e.invoke_static(Type.getType(Arrays.class), new Signature("equals", Type.BOOLEAN_TYPE, new Type[]{arrayType, arrayType}));
+                e.if_jump(Opcodes.IFNE, label);
+            } else {
+                e.invoke_static(OBJECTS, OBJECTS_EQUALS);
+                e.if_jump(Opcodes.IFNE, label);
+            }
+        }
+
         /**
          * 判断类是不是一个的实现类
          */
@@ -926,6 +3168,53 @@ public abstract class Copier {
             return !Modifier.isAbstract(clazz.getModifiers());
         }
 
+        /**
+         * 目标集合、Map属性实际使用的输出形式：声明为具体类时按具体类新建，COMPACT只对List、Set、Collection、Map生效，其余接口按TRIMMED
+         */
+        static CollectionOutput output(Class<?> targetClass, CollectionOutput policy) {
+            if (policy == CollectionOutput.MUTABLE || !targetClass.isInterface()) {
+                return CollectionOutput.MUTABLE;
+            }
+            if (policy == CollectionOutput.COMPACT
+                    && (targetClass == List.class || targetClass == Set.class || targetClass == Collection.class || targetClass == Map.class)) {
+                return CollectionOutput.COMPACT;
+            }
+            return CollectionOutput.TRIMMED;
+        }
+
+        /**
+         * 目标集合属性需要实例化的实现类
+         */
+        static Class<?> collectionImplClass(Class<?> targetPropertyClass) {
+            if (isConcreteClass(targetPropertyClass)) {
+                // 该类是具体实现类
+                return targetPropertyClass;
+            }
+            if (List.class.isAssignableFrom(targetPropertyClass)) {
+                return ArrayList.class;
+            } else if (Set.class.isAssignableFrom(targetPropertyClass)) {
+                return HashSet.class;
+            }
+            // 类型不明确，暂时用ArrayList.class;
+            return ArrayList.class;
+        }
+
+        /**
+         * 目标Map属性需要实例化的实现类
+         */
+        static Class<?> mapImplClass(Class<?> targetPropertyClass) {
+            if (isConcreteClass(targetPropertyClass)) {
+                // 该类是具体实现类
+                return targetPropertyClass;
+            }
+            if (Map.class.isAssignableFrom(targetPropertyClass)) {
+//                return TreeMap.class;
+                return HashMap.class;
+            }
+            // 类型不明确，暂时用HashSet.class;
+            return HashSet.class;
+        }
+
 
     }
 
@@ -939,23 +3228,24 @@ public abstract class Copier {
          * @param targetClassName 目标类名
          * @param useFilter       使用Filter
          * @param useConvert      使用Convert
+         * @param fieldAccess     直接访问字段
+         * @param shareImmutables 共享不可变对象
+         * @param polymorphic     按运行时类型拷贝
+         * @param subtypes        子类型映射
+         * @param merge           合并拷贝
+         * @param via             融合拷贝的中间类名与映射
+         * @param nullElements    null元素的处理方式
+         * @param output          深拷贝新建的集合、Map的形式
+         * @param intern          驻留池名称与驻留的值类型
+         * @param mapper          属性名映射
+         * @param selector        属性选择器
          * @author lpzahd
          * Create DateTime: 2023/8/30 9:55
          * Version: 1.0.0
          */
-        Object newInstance(String sourceClassName, String targetClassName, boolean useFilter, boolean useConvert);
-
-    }
-
-    @Data
-    @AllArgsConstructor
-    public static class MapTypeInformation {
-
-        // 保存Map键的Class类型
-        private Class<?> keyType;
-
-        // 保存Map值的Class类型
-        private Class<?> valueType;
+        Object newInstance(String sourceClassName, String targetClassName, boolean useFilter, boolean useConvert, boolean fieldAccess, boolean shareImmutables,
+                           boolean polymorphic, Object subtypes, boolean merge, Object via, Object nullElements,
+                           Object output, Object intern, Object mapper, Object selector);
 
     }
 
@@ -0,0 +1,28 @@
+package com.lpzahd.cglib;
+
+import com.lpzahd.cglib.engine.CglibCopierEngine;
+import com.lpzahd.cglib.engine.HiddenClassCopierEngine;
+
+/**
+ * Class Name: CopierEngine
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 接口定义了拷贝类的生成与加载方式
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 11:05
+ * Version: 1.0
+ */
+public interface CopierEngine {
+
+    CopierEngine CGLIB_ENGINE = new CglibCopierEngine();
+
+    CopierEngine HIDDEN_CLASS_ENGINE = new HiddenClassCopierEngine();
+
+    /**
+     * 根据生成器的配置生成并加载拷贝类，返回拷贝实例。
+     *
+     * @param generator 已经设置好源类型、目标类型等配置的生成器。
+     * @return 拷贝实例。
+     */
+    Copier create(Copier.Generator generator);
+
+}
@@ -0,0 +1,294 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.CodeGenerationException;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class Name: CopyPlan
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 拷贝计划，记录Copier.Generator为每个目标属性选择的拷贝方式以及生成的字节码大小
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 15:20
+ * Version: 1.0
+ */
+public class CopyPlan {
+
+    /**
+     * HotSpot默认的-XX:FreqInlineSize，超过该字节数的热点方法不会被内联到调用方
+     */
+    public static final int FREQ_INLINE_SIZE = 325;
+
+    /**
+     * HotSpot默认的HugeMethodLimit，超过该字节数的方法在默认的-XX:+DontCompileHugeMethods下不会被JIT编译
+     */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    private static final String COPY_METHOD = "copy";
+
+    public enum Strategy {
+        /**
+         * 直接调用setter赋值
+         */
+        DIRECT,
+        /**
+         * 经过Filter判断后直接赋值
+         */
+        FILTER,
+        /**
+         * 经过Converter转换后赋值，即convertInvoke
+         */
+        CONVERT,
+        /**
+         * 经过Filter判断，再经过Converter转换后赋值，即filterInvoke
+         */
+        FILTER_CONVERT,
+        /**
+         * 新建目标bean并展开拷贝其属性
+         */
+        NESTED_BEAN,
+        /**
+         * 按运行时类型分派到对应的子拷贝器，见PolymorphicCopier
+         */
+        POLYMORPHIC,
+        /**
+         * 遍历集合逐个拷贝元素
+         */
+        DEEP_COLLECTION,
+        /**
+         * 遍历Map逐个拷贝键值
+         */
+        DEEP_MAP,
+        /**
+         * 遍历数组逐个拷贝元素
+         */
+        DEEP_ARRAY,
+        /**
+         * 包装类型集合、基本类型数组、基本类型列表之间按基本类型拷贝，元素不逐个装箱，见NullElementPolicy
+         */
+        PRIMITIVE_SEQUENCE,
+        /**
+         * 集合、Map、数组的元素直接引用
+         */
+        ELEMENT_REFERENCE,
+        /**
+         * 集合、Map、数组的Date元素通过new Date(getTime())拷贝
+         */
+        ELEMENT_DATE,
+        /**
+         * 类型不兼容且没有使用Converter，跳过
+         */
+        SKIPPED_INCOMPATIBLE,
+        /**
+         * 源对象没有对应的getter，跳过
+         */
+        SKIPPED_NO_SOURCE
+    }
+
+    public static class Property {
+
+        private final String path;
+        private final String sourceProperty;
+        private final Class<?> sourceType;
+        private final Class<?> targetType;
+        private final Strategy strategy;
+        private final boolean boxed;
+
+        Property(String path, String sourceProperty, Class<?> sourceType, Class<?> targetType, Strategy strategy, boolean boxed) {
+            this.path = path;
+            this.sourceProperty = sourceProperty;
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.strategy = strategy;
+            this.boxed = boxed;
+        }
+
+        /**
+         * 目标属性路径，嵌套bean以"."分隔，集合与数组元素为"[]"，Map的键值为"{key}"、"{value}"
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public String getSourceProperty() {
+            return sourceProperty;
+        }
+
+        public Class<?> getSourceType() {
+            return sourceType;
+        }
+
+        public Class<?> getTargetType() {
+            return targetType;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * 生成的代码是否需要对基本类型装箱或拆箱
+         */
+        public boolean isBoxed() {
+            return boxed;
+        }
+
+        public boolean isSkipped() {
+            return strategy == Strategy.SKIPPED_INCOMPATIBLE || strategy == Strategy.SKIPPED_NO_SOURCE;
+        }
+
+        @Override
+        public String toString() {
+            return path + " <- " + (sourceProperty == null ? "?" : sourceProperty) + " : " + strategy + (boxed ? " (boxed)" : "");
+        }
+    }
+
+    private final Class<?> source;
+    private final Class<?> target;
+    private final String className;
+    private final List<Property> properties;
+    private final byte[] bytecode;
+    private final int copyMethodSize;
+
+    CopyPlan(Class<?> source, Class<?> target, String className, List<Property> properties, byte[] bytecode) {
+        this.source = source;
+        this.target = target;
+        this.className = className;
+        this.properties = Collections.unmodifiableList(properties);
+        this.bytecode = bytecode;
+        this.copyMethodSize = codeLength(bytecode, COPY_METHOD);
+    }
+
+    public Class<?> getSource() {
+        return source;
+    }
+
+    public Class<?> getTarget() {
+        return target;
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    public List<Property> getProperties(Strategy strategy) {
+        return properties.stream().filter(p -> p.strategy == strategy).collect(Collectors.toList());
+    }
+
+    public List<Property> getSkippedProperties() {
+        return properties.stream().filter(Property::isSkipped).collect(Collectors.toList());
+    }
+
+    /**
+     * 生成的copy方法的字节码长度
+     */
+    public int getCopyMethodSize() {
+        return copyMethodSize;
+    }
+
+    public int getClassSize() {
+        return bytecode.length;
+    }
+
+    /**
+     * copy方法是否超过FreqInlineSize，热点调用处无法内联
+     */
+    public boolean exceedsInlineLimit() {
+        return copyMethodSize > FREQ_INLINE_SIZE;
+    }
+
+    /**
+     * copy方法是否超过HugeMethodLimit，默认配置下不会被JIT编译
+     */
+    public boolean exceedsHugeMethodLimit() {
+        return copyMethodSize > HUGE_METHOD_LIMIT;
+    }
+
+    /**
+     * MethodName: dump
+     * Description: 将生成的类写入目录，可以使用javap查看
+     *
+     * @param directory 输出目录
+     * @return 写入的class文件
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 15:40
+     * Version: 1.0
+     */
+    public Path dump(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return Files.write(directory.resolve(className + ".class"), bytecode);
+        } catch (IOException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(source.getName()).append(" -> ").append(target.getName())
+                .append(", copy method ").append(copyMethodSize).append(" bytes");
+        if (exceedsHugeMethodLimit()) {
+            builder.append(" (exceeds HugeMethodLimit ").append(HUGE_METHOD_LIMIT).append(")");
+        } else if (exceedsInlineLimit()) {
+            builder.append(" (exceeds FreqInlineSize ").append(FREQ_INLINE_SIZE).append(")");
+        }
+        for (Property property : properties) {
+            builder.append(System.lineSeparator()).append("  ").append(property);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 从class文件中读取指定方法Code属性的code_length
+     */
+    private static int codeLength(byte[] bytecode, String methodName) {
+        ClassReader reader = new ClassReader(bytecode);
+        char[] buffer = new char[reader.getMaxStringLength()];
+        // access_flags, this_class, super_class
+        int offset = reader.header + 6;
+        // interfaces
+        offset += 2 + 2 * reader.readUnsignedShort(offset);
+        // fields
+        int fieldsCount = reader.readUnsignedShort(offset);
+        offset += 2;
+        for (int i = 0; i < fieldsCount; i++) {
+            offset = skipMember(reader, offset);
+        }
+        // methods
+        int methodsCount = reader.readUnsignedShort(offset);
+        offset += 2;
+        for (int i = 0; i < methodsCount; i++) {
+            String name = reader.readUTF8(offset + 2, buffer);
+            if (methodName.equals(name)) {
+                int attributesCount = reader.readUnsignedShort(offset + 6);
+                int attributeOffset = offset + 8;
+                for (int j = 0; j < attributesCount; j++) {
+                    if ("Code".equals(reader.readUTF8(attributeOffset, buffer))) {
+                        // attribute_name_index, attribute_length, max_stack, max_locals
+                        return reader.readInt(attributeOffset + 10);
+                    }
+                    attributeOffset += 6 + reader.readInt(attributeOffset + 2);
+                }
+            }
+            offset = skipMember(reader, offset);
+        }
+        return -1;
+    }
+
+    private static int skipMember(ClassReader reader, int offset) {
+        int attributesCount = reader.readUnsignedShort(offset + 6);
+        offset += 8;
+        for (int i = 0; i < attributesCount; i++) {
+            offset += 6 + reader.readInt(offset + 2);
+        }
+        return offset;
+    }
+}
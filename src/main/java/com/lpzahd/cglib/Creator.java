@@ -0,0 +1,326 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.CodeGenerationException;
+
+import java.beans.ConstructorProperties;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * Class Name: Creator
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 没有public无参构造的目标类型的创建方式，依次查找：record的标准构造、标注@ConstructorProperties的public构造、
+ * 参数可以与实例字段一一对应的public全参构造(Lombok的@Value/@AllArgsConstructor，见{@link #parameterNames})、Lombok的@Builder，
+ * 都找不到时不支持该类型。
+ * 拷贝时先把所有源属性值读入参数，再调用一次构造方法或者builder
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 21:30
+ * Version: 1.0
+ */
+final class Creator {
+
+    private static final ClassValue<Optional<Creator>> CREATORS = new ClassValue<Optional<Creator>>() {
+        @Override
+        protected Optional<Creator> computeValue(Class<?> type) {
+            return Optional.ofNullable(find(type));
+        }
+    };
+
+    private final Constructor<?> constructor;
+    private final Method builder;
+    private final Method[] builderMethods;
+    private final Method build;
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final java.lang.reflect.Type[] genericTypes;
+
+    private Creator(Constructor<?> constructor, String[] names) {
+        this.constructor = constructor;
+        this.builder = null;
+        this.builderMethods = null;
+        this.build = null;
+        this.names = names;
+        this.types = constructor.getParameterTypes();
+        this.genericTypes = constructor.getGenericParameterTypes();
+    }
+
+    private Creator(Method builder, Method[] builderMethods, Method build) {
+        this.constructor = null;
+        this.builder = builder;
+        this.builderMethods = builderMethods;
+        this.build = build;
+        this.names = new String[builderMethods.length];
+        this.types = new Class<?>[builderMethods.length];
+        this.genericTypes = new java.lang.reflect.Type[builderMethods.length];
+        for (int i = 0; i < builderMethods.length; i++) {
+            names[i] = builderMethods[i].getName();
+            types[i] = builderMethods[i].getParameterTypes()[0];
+            genericTypes[i] = builderMethods[i].getGenericParameterTypes()[0];
+        }
+    }
+
+    /**
+     * MethodName: of
+     * Description: 目标类型有public无参构造或者找不到其他创建方式时返回null，仍然使用无参构造加setter
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:30
+     * Version: 1.0
+     */
+    static Creator of(Class<?> type) {
+        return CREATORS.get(type).orElse(null);
+    }
+
+    /**
+     * 构造方法，使用builder时为null
+     */
+    Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * 目标类型上的静态builder()方法，使用构造方法时为null
+     */
+    Method getBuilder() {
+        return builder;
+    }
+
+    Method getBuilderMethod(int index) {
+        return builderMethods[index];
+    }
+
+    Method getBuild() {
+        return build;
+    }
+
+    /**
+     * MethodName: parameters
+     * Description: 每个参数对应一个属性描述，只有属性名、类型与泛型类型，没有读写方法；每次调用返回新的实例
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:30
+     * Version: 1.0
+     */
+    Parameter[] parameters() {
+        Parameter[] parameters = new Parameter[names.length];
+        try {
+            for (int i = 0; i < names.length; i++) {
+                parameters[i] = new Parameter(names[i], i, types[i], genericTypes[i]);
+            }
+        } catch (IntrospectionException e) {
+            throw new CodeGenerationException(e);
+        }
+        return parameters;
+    }
+
+    /**
+     * 参数的默认值，基本类型为0，其余为null
+     */
+    Object[] defaults() {
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isPrimitive()) {
+                args[i] = Array.get(Array.newInstance(types[i], 1), 0);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * MethodName: newInstance
+     * Description: 反射调用构造方法或者builder，供反射拷贝使用
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:30
+     * Version: 1.0
+     */
+    Object newInstance(Object[] args) {
+        try {
+            if (constructor != null) {
+                return constructor.newInstance(args);
+            }
+            Object target = builder.invoke(null);
+            for (int i = 0; i < args.length; i++) {
+                target = builderMethods[i].invoke(target, args[i]);
+            }
+            return build.invoke(target);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CodeGenerationException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    private static Creator find(Class<?> type) {
+        if (!Copier.Generator.isConcreteClass(type) || !Modifier.isPublic(type.getModifiers())) {
+            return null;
+        }
+        Constructor<?>[] constructors = type.getConstructors();
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.getParameterCount() == 0) {
+                return null;
+            }
+        }
+
+        Creator record = findRecord(type);
+        if (record != null) {
+            return record;
+        }
+
+        for (Constructor<?> constructor : constructors) {
+            ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+            if (properties != null && properties.value().length == constructor.getParameterCount()) {
+                return new Creator(constructor, properties.value());
+            }
+        }
+
+        Map<String, Class<?>> fields = new LinkedHashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.put(field.getName(), field.getType());
+            }
+        }
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.getParameterCount() == fields.size()) {
+                String[] names = parameterNames(constructor, fields);
+                if (names != null) {
+                    return new Creator(constructor, names);
+                }
+            }
+        }
+
+        return findBuilder(type);
+    }
+
+    /**
+     * record的标准构造，参数名取记录组件名。按反射调用Class.getRecordComponents以兼容不支持record的jdk
+     */
+    private static Creator findRecord(Class<?> type) {
+        Object[] components;
+        try {
+            if (!(Boolean) Class.class.getMethod("isRecord").invoke(type)) {
+                return null;
+            }
+            components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+            String[] names = new String[components.length];
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                names[i] = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+                types[i] = (Class<?>) components[i].getClass().getMethod("getType").invoke(components[i]);
+            }
+            return new Creator(type.getConstructor(types), names);
+        } catch (NoSuchMethodException e) {
+            // jdk不支持record，或者标准构造不是public
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    /**
+     * MethodName: parameterNames
+     * Description: 全参构造的参数对应的字段名。编译时保留了参数名(-parameters)时按参数名匹配同名同类型的字段；
+     * 否则只有每个参数的类型各不相同时才按类型匹配字段，因为getDeclaredFields的顺序没有保证，相同类型的参数无法区分。
+     * 无法确定时返回null
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:30
+     * Version: 1.0
+     */
+    private static String[] parameterNames(Constructor<?> constructor, Map<String, Class<?>> fields) {
+        java.lang.reflect.Parameter[] parameters = constructor.getParameters();
+        String[] names = new String[parameters.length];
+        if (parameters.length > 0 && parameters[0].isNamePresent()) {
+            for (int i = 0; i < parameters.length; i++) {
+                if (fields.get(parameters[i].getName()) != parameters[i].getType()) {
+                    return null;
+                }
+                names[i] = parameters[i].getName();
+            }
+            return names;
+        }
+        Map<Class<?>, String> byType = new HashMap<>();
+        for (Map.Entry<String, Class<?>> field : fields.entrySet()) {
+            if (byType.put(field.getValue(), field.getKey()) != null) {
+                return null;
+            }
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = byType.remove(parameters[i].getType());
+            if (names[i] == null) {
+                return null;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Lombok @Builder：静态builder()返回的类型有build()方法返回目标类型，属性方法与builder的字段同名
+     */
+    private static Creator findBuilder(Class<?> type) {
+        Method builder;
+        Method build;
+        try {
+            builder = type.getMethod("builder");
+            build = builder.getReturnType().getMethod("build");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        Class<?> builderType = builder.getReturnType();
+        if (!Modifier.isStatic(builder.getModifiers()) || !Modifier.isPublic(builderType.getModifiers()) || build.getReturnType() != type) {
+            return null;
+        }
+        List<Method> methods = new ArrayList<>();
+        for (Field field : builderType.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            for (Method method : builderType.getMethods()) {
+                if (method.getName().equals(field.getName()) && method.getParameterCount() == 1
+                        && method.getReturnType() == builderType && !Modifier.isStatic(method.getModifiers())) {
+                    methods.add(method);
+                    break;
+                }
+            }
+        }
+        return new Creator(builder, methods.toArray(new Method[0]), build);
+    }
+
+    /**
+     * 构造参数或者builder方法对应的目标属性
+     */
+    static final class Parameter extends PropertyDescriptor {
+
+        private final int index;
+        private final Class<?> type;
+        private final java.lang.reflect.Type genericType;
+
+        private Parameter(String name, int index, Class<?> type, java.lang.reflect.Type genericType) throws IntrospectionException {
+            super(name, null, null);
+            this.index = index;
+            this.type = type;
+            this.genericType = genericType;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        java.lang.reflect.Type getGenericType() {
+            return genericType;
+        }
+
+        @Override
+        public synchronized Class<?> getPropertyType() {
+            return type;
+        }
+    }
+}
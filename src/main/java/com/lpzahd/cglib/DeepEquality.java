@@ -0,0 +1,446 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: DeepEquality
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 按拷贝器遍历的属性图比较和计算哈希：嵌套bean逐个getter比较，List、数组按顺序，Set不考虑顺序，
+ * Map的键使用equals查找、值深度比较，jdk类型以及枚举使用equals。每个bean类型生成一个类，属性读取与比较不经过反射和装箱。
+ * 不处理循环引用
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 20:00
+ * Version: 1.0
+ */
+public abstract class DeepEquality {
+
+    private static final DeepEqualityKey KEY_FACTORY = (DeepEqualityKey) KeyFactory.create(DeepEqualityKey.class);
+
+    private static final Type DEEP_EQUALITY = TypeUtils.parseType(DeepEquality.class.getName());
+    private static final Signature EQUALS_BEAN = TypeUtils.parseSignature("boolean equalsBean(Object, Object)");
+    private static final Signature HASH_BEAN = TypeUtils.parseSignature("int hashBean(Object)");
+    private static final Signature NESTED_EQUALS = TypeUtils.parseSignature("boolean nestedEquals(Object, Object)");
+    private static final Signature NESTED_HASH = TypeUtils.parseSignature("int nestedHash(Object)");
+    private static final Type OBJECTS = Type.getType(Objects.class);
+    private static final Type ARRAYS = Type.getType(Arrays.class);
+
+    /**
+     * 每个BeanPropertySelector对应的生成类实例
+     */
+    private static final Map<BeanPropertySelector, ClassValue<DeepEquality>> INSTANCES = new ConcurrentHashMap<>();
+
+    private BeanPropertySelector selector;
+
+    /**
+     * MethodName: deepEquals
+     * Description: 深度比较两个对象
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:00
+     * Version: 1.0
+     */
+    public static boolean deepEquals(Object a, Object b, BeanPropertySelector selector) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a instanceof Set || b instanceof Set) {
+            return a instanceof Set && b instanceof Set && setEquals((Set<?>) a, (Set<?>) b, selector);
+        }
+        if (a instanceof Map && b instanceof Map) {
+            return mapEquals((Map<?, ?>) a, (Map<?, ?>) b, selector);
+        }
+        if (a instanceof Collection && b instanceof Collection) {
+            return iterableEquals((Collection<?>) a, (Collection<?>) b, selector);
+        }
+        Class<?> type = a.getClass();
+        if (type != b.getClass()) {
+            return false;
+        }
+        if (type.isArray()) {
+            return arrayEquals(a, b, selector);
+        }
+        if (walked(type)) {
+            return of(type, selector).equalsBean(a, b);
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * MethodName: deepHash
+     * Description: 与deepEquals一致的哈希，List与List.hashCode的算法相同，Set为元素哈希之和，Map为键的hashCode与值的深度哈希异或之和
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:00
+     * Version: 1.0
+     */
+    public static int deepHash(Object x, BeanPropertySelector selector) {
+        if (x == null) {
+            return 0;
+        }
+        if (x instanceof Set) {
+            int h = 0;
+            for (Object element : (Set<?>) x) {
+                h += deepHash(element, selector);
+            }
+            return h;
+        }
+        if (x instanceof Collection) {
+            int h = 1;
+            for (Object element : (Collection<?>) x) {
+                h = 31 * h + deepHash(element, selector);
+            }
+            return h;
+        }
+        if (x instanceof Map) {
+            int h = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) x).entrySet()) {
+                h += Objects.hashCode(entry.getKey()) ^ deepHash(entry.getValue(), selector);
+            }
+            return h;
+        }
+        Class<?> type = x.getClass();
+        if (type.isArray()) {
+            if (type.getComponentType().isPrimitive()) {
+                // 按基本类型数组的Arrays.hashCode计算
+                return Arrays.deepHashCode(new Object[]{x});
+            }
+            int h = 1;
+            for (Object element : (Object[]) x) {
+                h = 31 * h + deepHash(element, selector);
+            }
+            return h;
+        }
+        if (walked(type)) {
+            return of(type, selector).hashBean(x);
+        }
+        return x.hashCode();
+    }
+
+    /**
+     * 需要按属性展开的类型：非jdk、非枚举的bean
+     */
+    static boolean walked(Class<?> type) {
+        return type.getClassLoader() != null && !type.isEnum() && Copier.Generator.guessBean(type);
+    }
+
+    private static DeepEquality of(Class<?> type, BeanPropertySelector selector) {
+        return INSTANCES.computeIfAbsent(selector, s -> new ClassValue<DeepEquality>() {
+            @Override
+            protected DeepEquality computeValue(Class<?> type) {
+                return create(type, s);
+            }
+        }).get(type);
+    }
+
+    public static DeepEquality create(Class<?> type, BeanPropertySelector selector) {
+        Generator gen = new Generator();
+        gen.setType(type);
+        gen.setSelector(selector);
+        return gen.create();
+    }
+
+    private static boolean iterableEquals(Collection<?> a, Collection<?> b, BeanPropertySelector selector) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        Iterator<?> left = a.iterator();
+        Iterator<?> right = b.iterator();
+        while (left.hasNext() && right.hasNext()) {
+            if (!deepEquals(left.next(), right.next(), selector)) {
+                return false;
+            }
+        }
+        return !left.hasNext() && !right.hasNext();
+    }
+
+    /**
+     * 按深度哈希分组后逐个匹配，元素只按equals比较时无法使用b.contains
+     */
+    private static boolean setEquals(Set<?> a, Set<?> b, BeanPropertySelector selector) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        Map<Integer, List<Object>> buckets = new HashMap<>();
+        for (Object element : b) {
+            buckets.computeIfAbsent(deepHash(element, selector), h -> new ArrayList<>(1)).add(element);
+        }
+        for (Object element : a) {
+            List<Object> bucket = buckets.get(deepHash(element, selector));
+            if (bucket == null || !removeMatch(bucket, element, selector)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean removeMatch(List<Object> bucket, Object element, BeanPropertySelector selector) {
+        for (Iterator<Object> iterator = bucket.iterator(); iterator.hasNext(); ) {
+            if (deepEquals(element, iterator.next(), selector)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mapEquals(Map<?, ?> a, Map<?, ?> b, BeanPropertySelector selector) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : a.entrySet()) {
+            Object value = b.get(entry.getKey());
+            if (value == null && !b.containsKey(entry.getKey())) {
+                return false;
+            }
+            if (!deepEquals(entry.getValue(), value, selector)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean arrayEquals(Object a, Object b, BeanPropertySelector selector) {
+        if (a.getClass().getComponentType().isPrimitive()) {
+            return Objects.deepEquals(a, b);
+        }
+        Object[] left = (Object[]) a;
+        Object[] right = (Object[]) b;
+        if (left.length != right.length) {
+            return false;
+        }
+        for (int i = 0; i < left.length; i++) {
+            if (!deepEquals(left[i], right[i], selector)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 生成的代码在声明类型不能直接比较的属性上调用，按运行时类型继续比较
+     */
+    protected final boolean nestedEquals(Object a, Object b) {
+        return deepEquals(a, b, selector);
+    }
+
+    protected final int nestedHash(Object x) {
+        return deepHash(x, selector);
+    }
+
+    /**
+     * 生成的比较方法，a、b都不为null且类型相同
+     */
+    protected abstract boolean equalsBean(Object a, Object b);
+
+    /**
+     * 生成的哈希方法，x不为null
+     */
+    protected abstract int hashBean(Object x);
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<DeepEquality> {
+
+        private static final Source SOURCE = new Source(DeepEquality.class.getName());
+
+        private Class<?> type;
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setType(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                setNamePrefix(type.getName());
+            }
+            this.type = type;
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return type.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(type);
+        }
+
+        public DeepEquality create() {
+            return (DeepEquality) super.create(KEY_FACTORY.newInstance(type.getName(), selector));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            Type beanType = Type.getType(type);
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), DEEP_EQUALITY, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            PropertyDescriptor[] getters = selector.selectGetters(type);
+
+            // equalsBean
+            CodeEmitter e = ce.begin_method(Constants.ACC_PROTECTED, EQUALS_BEAN, null);
+            Local leftLocal = e.make_local(beanType);
+            e.load_arg(0);
+            e.checkcast(beanType);
+            e.store_local(leftLocal);
+            Local rightLocal = e.make_local(beanType);
+            e.load_arg(1);
+            e.checkcast(beanType);
+            e.store_local(rightLocal);
+            Label notEqualLabel = e.make_label();
+            for (PropertyDescriptor getter : getters) {
+                MethodInfo read = ReflectUtils.getMethodInfo(getter.getReadMethod());
+                Type propertyType = read.getSignature().getReturnType();
+                Label equalLabel = e.make_label();
+                if (direct(getter.getPropertyType())) {
+                    e.load_local(leftLocal);
+                    e.invoke(read);
+                    e.load_local(rightLocal);
+                    e.invoke(read);
+                    Copier.Generator.ifEqual(e, propertyType, equalLabel);
+                } else {
+                    e.load_this();
+                    e.load_local(leftLocal);
+                    e.invoke(read);
+                    e.load_local(rightLocal);
+                    e.invoke(read);
+                    e.invoke_virtual_this(NESTED_EQUALS);
+                    e.if_jump(Opcodes.IFNE, equalLabel);
+                }
+                e.goTo(notEqualLabel);
+                e.mark(equalLabel);
+            }
+            e.push(true);
+            e.return_value();
+            e.mark(notEqualLabel);
+            e.push(false);
+            e.return_value();
+            e.end_method();
+
+            // hashBean
+            e = ce.begin_method(Constants.ACC_PROTECTED, HASH_BEAN, null);
+            Local beanLocal = e.make_local(beanType);
+            e.load_arg(0);
+            e.checkcast(beanType);
+            e.store_local(beanLocal);
+            Local hashLocal = e.make_local(Type.INT_TYPE);
+            e.push(1);
+            e.store_local(hashLocal);
+            for (PropertyDescriptor getter : getters) {
+                MethodInfo read = ReflectUtils.getMethodInfo(getter.getReadMethod());
+                // hash = 31 * hash + hash(value)
+                e.push(31);
+                e.load_local(hashLocal);
+                e.math(CodeEmitter.MUL, Type.INT_TYPE);
+                if (direct(getter.getPropertyType())) {
+                    e.load_local(beanLocal);
+                    e.invoke(read);
+                    hash(e, read.getSignature().getReturnType());
+                } else {
+                    e.load_this();
+                    e.load_local(beanLocal);
+                    e.invoke(read);
+                    e.invoke_virtual_this(NESTED_HASH);
+                }
+                e.math(CodeEmitter.ADD, Type.INT_TYPE);
+                e.store_local(hashLocal);
+            }
+            e.load_local(hashLocal);
+            e.return_value();
+            e.end_method();
+
+            ce.end_class();
+        }
+
+        /**
+         * 声明类型就能确定比较方式的属性：基本类型、一维基本类型数组以及final的jdk类型和枚举，
+         * 其余属性按运行时类型交给nestedEquals/nestedHash
+         */
+        private static boolean direct(Class<?> propertyType) {
+            if (propertyType.isPrimitive()) {
+                return true;
+            }
+            if (propertyType.isArray()) {
+                return propertyType.getComponentType().isPrimitive();
+            }
+            return Modifier.isFinal(propertyType.getModifiers()) && !walked(propertyType)
+                    && !Collection.class.isAssignableFrom(propertyType) && !Map.class.isAssignableFrom(propertyType);
+        }
+
+        /**
+         * 栈顶为type类型的值，替换为它的哈希值，与ifEqual的比较方式一致
+         */
+        private static void hash(CodeEmitter e, Type type) {
+            switch (type.getSort()) {
+                case Type.INT:
+                case Type.SHORT:
+                case Type.BYTE:
+                case Type.CHAR:
+                    break;
+                case Type.BOOLEAN:
+                case Type.LONG:
+                case Type.FLOAT:
+                case Type.DOUBLE:
+                    e.invoke_static(TypeUtils.getBoxedType(type), new Signature("hashCode", Type.INT_TYPE, new Type[]{type}));
+                    break;
+                case Type.ARRAY:
+                    e.invoke_static(ARRAYS, new Signature("hashCode", Type.INT_TYPE, new Type[]{type}));
+                    break;
+                default:
+                    e.invoke_static(OBJECTS, TypeUtils.parseSignature("int hashCode(Object)"));
+            }
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            DeepEquality instance = (DeepEquality) ReflectUtils.newInstance(type);
+            instance.selector = selector;
+            return instance;
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface DeepEqualityKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param className 比较的类名
+         * @param selector  属性选择策略
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 20:00
+         * Version: 1.0
+         */
+        Object newInstance(String className, Object selector);
+
+    }
+}
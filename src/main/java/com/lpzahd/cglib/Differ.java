@@ -0,0 +1,314 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+
+/**
+ * Class Name: Differ
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 比较源对象与目标对象的属性，返回发生变化的属性下标，可以在同一次遍历中只写入变化的属性。
+ * 属性与Copier使用相同的getter/setter选择，只比较目标可读可写且类型兼容的属性，
+ * 基本类型按值比较，引用类型使用equals，嵌套对象与集合不展开
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 19:40
+ * Version: 1.0
+ */
+public abstract class Differ {
+
+    private static final DifferKey KEY_FACTORY = (DifferKey) KeyFactory.create(DifferKey.class);
+
+    private static final Type DIFFER = TypeUtils.parseType(Differ.class.getName());
+    private static final Signature DIFF = new Signature("diff", Type.LONG_TYPE, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT, Type.getType(long[].class), Type.BOOLEAN_TYPE});
+    private static final Signature GET_PROPERTIES = new Signature("getProperties", Constants.TYPE_STRING_ARRAY, new Type[0]);
+
+    public static Differ create(Class<?> source, Class<?> target) {
+        return create(source, target, Collections.emptyMap(), null);
+    }
+
+    public static Differ create(Class<?> source, Class<?> target, Map<String, String> mapper, BeanPropertySelector selector) {
+        Generator gen = new Generator();
+        gen.setSource(source);
+        gen.setTarget(target);
+        gen.setSelector(selector);
+        if (mapper != null && !mapper.isEmpty()) {
+            gen.setMapper(Collections.unmodifiableMap(new HashMap<>(mapper)));
+        }
+        return gen.create();
+    }
+
+    /**
+     * MethodName: diff
+     * Description: 比较前64个属性，第i个属性变化时返回值的第i位为1，属性超过64个时使用{@link #diffAll}
+     *
+     * @param apply 是否将变化的属性写入目标对象
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 19:40
+     * Version: 1.0
+     */
+    public long diff(Object source, Object target, boolean apply) {
+        if (getPropertyCount() > Long.SIZE) {
+            throw new IllegalStateException("属性超过" + Long.SIZE + "个，请使用diffAll");
+        }
+        return diff(source, target, null, apply);
+    }
+
+    /**
+     * MethodName: diffAll
+     * Description: 比较全部属性，返回变化的属性下标
+     *
+     * @param apply 是否将变化的属性写入目标对象
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 19:40
+     * Version: 1.0
+     */
+    public BitSet diffAll(Object source, Object target, boolean apply) {
+        long[] words = new long[Math.max(1, (getPropertyCount() + Long.SIZE - 1) / Long.SIZE)];
+        words[0] = diff(source, target, words, apply);
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * MethodName: names
+     * Description: 将变化的属性下标转换为目标属性名
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 19:40
+     * Version: 1.0
+     */
+    public List<String> names(BitSet changed) {
+        String[] properties = getProperties();
+        List<String> names = new ArrayList<>(changed.cardinality());
+        for (int i = changed.nextSetBit(0); i >= 0 && i < properties.length; i = changed.nextSetBit(i + 1)) {
+            names.add(properties[i]);
+        }
+        return names;
+    }
+
+    public List<String> names(long changed) {
+        return names(BitSet.valueOf(new long[]{changed}));
+    }
+
+    public int getPropertyCount() {
+        return getProperties().length;
+    }
+
+    /**
+     * 按下标排列的目标属性名，每次调用返回新的数组
+     */
+    public abstract String[] getProperties();
+
+    /**
+     * 生成的比较方法，前64个属性记录在返回值中，其余属性记录在overflow[i / 64]中，overflow[0]不使用
+     */
+    protected abstract long diff(Object source, Object target, long[] overflow, boolean apply);
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<Differ> {
+
+        private static final Source SOURCE = new Source(Differ.class.getName());
+
+        private Class<?> source;
+        private Class<?> target;
+        private Map<String, String> mapper = Collections.emptyMap();
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        public void setSource(Class<?> source) {
+            if (!Modifier.isPublic(source.getModifiers())) {
+                setNamePrefix(source.getName());
+            }
+            this.source = source;
+        }
+
+        public void setTarget(Class<?> target) {
+            if (!Modifier.isPublic(target.getModifiers())) {
+                setNamePrefix(target.getName());
+            }
+            this.target = target;
+        }
+
+        public void setMapper(Map<String, String> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return source.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(source);
+        }
+
+        public Differ create() {
+            return (Differ) super.create(KEY_FACTORY.newInstance(source.getName(), target.getName(), mapper, selector));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            Type sourceType = Type.getType(source);
+            Type targetType = Type.getType(target);
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), DIFFER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+
+            List<PropertyDescriptor[]> properties = properties();
+
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC, GET_PROPERTIES, null);
+            String[] names = new String[properties.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = properties.get(i)[1].getName();
+            }
+            EmitUtils.push_array(e, names);
+            e.return_value();
+            e.end_method();
+
+            e = ce.begin_method(Constants.ACC_PROTECTED, DIFF, null);
+            Local sourceLocal = e.make_local(sourceType);
+            e.load_arg(0);
+            e.checkcast(sourceType);
+            e.store_local(sourceLocal);
+            Local targetLocal = e.make_local(targetType);
+            e.load_arg(1);
+            e.checkcast(targetType);
+            e.store_local(targetLocal);
+            Local changedLocal = e.make_local(Type.LONG_TYPE);
+            e.push(0L);
+            e.store_local(changedLocal);
+
+            for (int i = 0; i < properties.size(); i++) {
+                visitProperty(e, i, properties.get(i)[0], properties.get(i)[1], sourceLocal, targetLocal, changedLocal);
+            }
+
+            e.load_local(changedLocal);
+            e.return_value();
+            e.end_method();
+            ce.end_class();
+        }
+
+        /**
+         * 参与比较的属性，元素为{getter, setter}：源属性可读，目标属性可读可写，getter与setter类型相同并且源属性类型兼容
+         */
+        private List<PropertyDescriptor[]> properties() {
+            Map<String, PropertyDescriptor> getters = selector.selectGetterNames(source);
+            List<PropertyDescriptor[]> properties = new ArrayList<>();
+            for (PropertyDescriptor setter : selector.selectSetters(target)) {
+                PropertyDescriptor getter = getters.get(mapper.isEmpty() ? setter.getName() : mapper.get(setter.getName()));
+                Method targetRead = setter.getReadMethod();
+                if (getter == null || targetRead == null || targetRead.getReturnType() != setter.getPropertyType()
+                        || !Copier.Generator.compatible(getter, setter)) {
+                    continue;
+                }
+                properties.add(new PropertyDescriptor[]{getter, setter});
+            }
+            return properties;
+        }
+
+        /**
+         * MethodName: visitProperty
+         * Description: 生成代码：value = source.getX(); if (!equals(value, target.getX())) { changed |= 1L << index; if (apply) target.setX(value); }
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:40
+         * Version: 1.0
+         */
+        private void visitProperty(CodeEmitter e, int index, PropertyDescriptor getter, PropertyDescriptor setter, Local sourceLocal, Local targetLocal, Local changedLocal) {
+            MethodInfo read = ReflectUtils.getMethodInfo(getter.getReadMethod());
+            MethodInfo targetRead = ReflectUtils.getMethodInfo(setter.getReadMethod());
+            MethodInfo write = ReflectUtils.getMethodInfo(setter.getWriteMethod());
+            Type valueType = read.getSignature().getReturnType();
+            Label unchangedLabel = e.make_label();
+
+            // 按目标属性类型比较，源属性类型可以是它的子类型
+            Local valueLocal = e.make_local(valueType);
+            e.load_local(sourceLocal);
+            e.invoke(read);
+            e.store_local(valueLocal);
+
+            e.load_local(valueLocal);
+            e.load_local(targetLocal);
+            e.invoke(targetRead);
+            Copier.Generator.ifEqual(e, targetRead.getSignature().getReturnType(), unchangedLabel);
+
+            long bit = 1L << (index % Long.SIZE);
+            if (index < Long.SIZE) {
+                e.load_local(changedLocal);
+                e.push(bit);
+                e.math(CodeEmitter.OR, Type.LONG_TYPE);
+                e.store_local(changedLocal);
+            } else {
+                // overflow[index / 64] |= bit
+                e.load_arg(2);
+                e.push(index / Long.SIZE);
+                e.dup2();
+                e.array_load(Type.LONG_TYPE);
+                e.push(bit);
+                e.math(CodeEmitter.OR, Type.LONG_TYPE);
+                e.array_store(Type.LONG_TYPE);
+            }
+
+            e.load_arg(3);
+            e.if_jump(Opcodes.IFEQ, unchangedLabel);
+            e.load_local(targetLocal);
+            e.load_local(valueLocal);
+            e.invoke(write);
+            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                // 链式setter
+                e.pop();
+            }
+
+            e.mark(unchangedLabel);
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            return ReflectUtils.newInstance(type);
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface DifferKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param sourceClassName 源类名
+         * @param targetClassName 目标类名
+         * @param mapper          目标属性名到源属性名的映射
+         * @param selector        属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 19:40
+         * Version: 1.0
+         */
+        Object newInstance(String sourceClassName, String targetClassName, Object mapper, Object selector);
+
+    }
+}
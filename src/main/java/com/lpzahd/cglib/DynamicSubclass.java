@@ -0,0 +1,150 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.beans.BeanGenerator;
+import net.sf.cglib.beans.BulkBean;
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.TypeUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: DynamicSubclass
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: Cglib.addProperties使用的动态子类，按(父类, 属性名与类型)缓存生成的子类、父类到子类的拷贝器以及新增属性的批量setter，
+ * 每次调用只需要创建子类实例并直接调用setter
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 20:40
+ * Version: 1.0
+ */
+final class DynamicSubclass {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * 键为父类与属性名、属性类型交替排列的列表
+     */
+    private static final Map<List<Object>, DynamicSubclass> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 每个父类最近使用的子类，属性签名不变时不需要构造缓存键
+     */
+    private static final ClassValue<DynamicSubclass[]> LAST = new ClassValue<DynamicSubclass[]>() {
+        @Override
+        protected DynamicSubclass[] computeValue(Class<?> type) {
+            return new DynamicSubclass[1];
+        }
+    };
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final MethodHandle constructor;
+    private final Copier copier;
+    private final BulkBean setter;
+
+    private DynamicSubclass(Class<?> superClass, String[] names, Class<?>[] types) {
+        BeanGenerator generator = new BeanGenerator();
+        generator.setSuperclass(superClass);
+        String[] getterNames = new String[names.length];
+        String[] setterNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            generator.addProperty(names[i], types[i]);
+            // 与BeanGenerator生成的访问器同名
+            getterNames[i] = "get" + TypeUtils.upperFirst(names[i]);
+            setterNames[i] = "set" + TypeUtils.upperFirst(names[i]);
+        }
+        Class<?> childClass = (Class<?>) generator.createClass();
+        this.names = names;
+        this.types = types;
+        this.constructor = constructor(childClass);
+        this.copier = Cglib.builder(superClass, childClass).build();
+        this.setter = BulkBean.create(childClass, getterNames, setterNames, types);
+    }
+
+    /**
+     * MethodName: of
+     * Description: 获取缓存的动态子类，同一个父类连续使用相同的属性签名时直接命中
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:40
+     * Version: 1.0
+     */
+    static DynamicSubclass of(Class<?> superClass, Cglib.Property<?>[] properties) {
+        DynamicSubclass[] last = LAST.get(superClass);
+        DynamicSubclass subclass = last[0];
+        if (subclass != null && subclass.matches(properties)) {
+            return subclass;
+        }
+        Object[] key = new Object[properties.length * 2 + 1];
+        key[0] = superClass;
+        for (int i = 0; i < properties.length; i++) {
+            key[i * 2 + 1] = properties[i].getName();
+            key[i * 2 + 2] = properties[i].getType();
+        }
+        subclass = CACHE.computeIfAbsent(Arrays.asList(key), k -> {
+            String[] names = new String[properties.length];
+            Class<?>[] types = new Class<?>[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                names[i] = properties[i].getName();
+                types[i] = properties[i].getType();
+            }
+            return new DynamicSubclass(superClass, names, types);
+        });
+        last[0] = subclass;
+        return subclass;
+    }
+
+    /**
+     * MethodName: create
+     * Description: 创建子类实例，拷贝源对象的属性并写入新增属性的值
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:40
+     * Version: 1.0
+     */
+    Object create(Object source, Cglib.Property<?>[] properties) {
+        Object child;
+        try {
+            child = (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodeGenerationException(e);
+        }
+        copier.copy(source, child, null, null);
+        Object[] values = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            values[i] = properties[i].getValue();
+        }
+        setter.setPropertyValues(child, values);
+        return child;
+    }
+
+    private boolean matches(Cglib.Property<?>[] properties) {
+        if (properties.length != names.length) {
+            return false;
+        }
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].getType() != types[i] || !properties[i].getName().equals(names[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MethodHandle constructor(Class<?> clz) {
+        try {
+            Constructor<?> constructor = clz.getDeclaredConstructor();
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+
+/**
+ * Class Name: FanOutCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 一个源对象在一次遍历中拷贝到多个目标对象，源对象本身的每个属性只读取一次再写入所有目标。
+ * 属性的拷贝方式与{@link Copier}一致，嵌套对象、集合、Map、数组只共享顶层的读取，其内部属性与元素仍然为每个目标分别读取并新建拷贝
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 22:10
+ * Version: 1.0
+ */
+public abstract class FanOutCopier {
+
+    private static final FanOutCopierKey KEY_FACTORY = (FanOutCopierKey) KeyFactory.create(FanOutCopierKey.class);
+
+    private static final Type FAN_OUT_COPIER = TypeUtils.parseType(FanOutCopier.class.getName());
+    private static final Signature COPY_ALL = new Signature("copyAll", Type.VOID_TYPE, new Type[]{Constants.TYPE_OBJECT, Constants.TYPE_OBJECT_ARRAY,
+            TypeUtils.parseType(Filter.class.getName()), TypeUtils.parseType(Converter.class.getName())});
+
+    private Class<?>[] targets;
+
+    /**
+     * MethodName: create
+     * Description: 按生成器中的源类型与配置创建，生成器的目标类型被targets替代
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:10
+     * Version: 1.0
+     */
+    static FanOutCopier create(Copier.Generator generator, Class<?>... targets) {
+        Generator gen = new Generator();
+        gen.setCopier(generator);
+        gen.setTargets(targets);
+        return gen.create();
+    }
+
+    /**
+     * MethodName: copy
+     * Description: 拷贝到已有的目标对象，targets与目标类型一一对应，为null的元素新建后写回数组
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:10
+     * Version: 1.0
+     */
+    public Object[] copy(Object source, Object[] targets, Filter<?, ?> filter, Converter converter) {
+        if (targets.length != this.targets.length) {
+            throw new IllegalArgumentException("目标对象数量" + targets.length + "与目标类型数量" + this.targets.length + "不一致");
+        }
+        copyAll(source, targets, filter, converter);
+        return targets;
+    }
+
+    /**
+     * MethodName: copyNew
+     * Description: 新建所有目标对象并拷贝，返回的数组与目标类型一一对应
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 22:10
+     * Version: 1.0
+     */
+    public Object[] copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        Object[] targets = new Object[this.targets.length];
+        copyAll(source, targets, filter, converter);
+        return targets;
+    }
+
+    /**
+     * 目标类型，每次调用返回新的数组
+     */
+    public Class<?>[] getTargets() {
+        return targets.clone();
+    }
+
+    /**
+     * 生成的拷贝方法，见{@link Copier.Generator#generateFanOut}
+     */
+    protected abstract void copyAll(Object source, Object[] targets, Filter<?, ?> filter, Converter converter);
+
+    /**
+     * 内部字节码代码生成，属性的代码生成委托给Copier.Generator
+     */
+    public static class Generator extends AbstractClassGenerator<FanOutCopier> {
+
+        private static final Source SOURCE = new Source(FanOutCopier.class.getName());
+
+        private Copier.Generator copier;
+        private Class<?>[] targets;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        void setCopier(Copier.Generator copier) {
+            if (!Modifier.isPublic(copier.getSource().getModifiers())) {
+                setNamePrefix(copier.getSource().getName());
+            }
+            this.copier = copier;
+        }
+
+        void setTargets(Class<?>[] targets) {
+            for (Class<?> target : targets) {
+                if (!Modifier.isPublic(target.getModifiers())) {
+                    setNamePrefix(target.getName());
+                }
+            }
+            this.targets = targets;
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return copier.getSource().getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(copier.getSource());
+        }
+
+        public FanOutCopier create() {
+            String[] targetNames = new String[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                targetNames[i] = targets[i].getName();
+            }
+            Object key = KEY_FACTORY.newInstance(copier.getSource().getName(), Arrays.asList(targetNames), copier.isUseFilter(), copier.isUseConverter(),
+                    copier.getMapper(), copier.isFieldAccess(), copier.isShareImmutables(), copier.isPolymorphic(), copier.getSubtypes(), copier.isMerge(),
+                    copier.getNullElements(), copier.getCollectionOutput(), copier.internKey(), copier.getSelector());
+            return (FanOutCopier) super.create(key);
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), FAN_OUT_COPIER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            copier.generateFanOut(ce, COPY_ALL, targets);
+            ce.end_class();
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            this.copier.initialize(MethodHandles.publicLookup(), type);
+            FanOutCopier copier = (FanOutCopier) ReflectUtils.newInstance(type);
+            copier.targets = targets.clone();
+            return copier;
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface FanOutCopierKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param sourceClassName  源类名
+         * @param targetClassNames 目标类名列表
+         * @param useFilter        使用过滤器
+         * @param useConvert       使用转换器
+         * @param mapper           目标属性名到源属性名的映射
+         * @param fieldAccess      平凡访问器改为字段访问
+         * @param shareImmutables  共享不可变对象
+         * @param polymorphic      按运行时类型拷贝
+         * @param subtypes         源子类型到目标子类型的映射
+         * @param merge            合并拷贝
+         * @param nullElements     null元素的处理方式
+         * @param output           深拷贝新建的集合、Map的形式
+         * @param intern           驻留池名称与驻留的值类型
+         * @param selector         属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 22:10
+         * Version: 1.0
+         */
+        Object newInstance(String sourceClassName, Object targetClassNames, boolean useFilter, boolean useConvert, Object mapper, boolean fieldAccess,
+                           boolean shareImmutables, boolean polymorphic, Object subtypes, boolean merge, Object nullElements,
+                           Object output, Object intern, Object selector);
+
+    }
+}
@@ -0,0 +1,285 @@
+package com.lpzahd.cglib;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class Name: FieldAccess
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 平凡访问器分析，getter只是return this.field、setter只是this.field = value时，
+ * 生成的拷贝类可以直接读写字段，不必再调用访问器
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 16:10
+ * Version: 1.0
+ */
+final class FieldAccess {
+
+    /**
+     * 每个类中平凡访问器(方法名+描述符)对应的字段
+     */
+    private static final ClassValue<Map<String, Field>> TRIVIAL_ACCESSORS = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            return analyze(type);
+        }
+    };
+
+    private final Field field;
+    private final boolean direct;
+
+    private FieldAccess(Field field, boolean direct) {
+        this.field = field;
+        this.direct = direct;
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * 字段和声明类都是public，生成的类可以直接使用getfield/putfield，否则需要通过VarHandle访问
+     */
+    boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * MethodName: resolve
+     * Description: 判断访问器是否可以替换为字段访问，不能替换时返回null，调用方继续调用访问器
+     *
+     * @param accessor getter或者setter
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 16:15
+     * Version: 1.0
+     */
+    static FieldAccess resolve(Method accessor) {
+        Field field = TRIVIAL_ACCESSORS.get(accessor.getDeclaringClass()).get(accessor.getName() + Type.getMethodDescriptor(accessor));
+        if (field == null) {
+            return null;
+        }
+        if (Modifier.isPublic(field.getModifiers()) && Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+            return new FieldAccess(field, true);
+        }
+        try {
+            // 模块没有开放给调用方时无法获取VarHandle，继续使用访问器
+            MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+            return new FieldAccess(field, false);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Field> analyze(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return Collections.emptyMap();
+        }
+        try (InputStream in = loader.getResourceAsStream(Type.getInternalName(type) + ".class")) {
+            if (in == null) {
+                // 运行时生成的类读取不到class文件
+                return Collections.emptyMap();
+            }
+            ClassReader reader = new ClassReader(in);
+            Map<String, Field> accessors = new HashMap<>();
+            reader.accept(new ClassVisitor(Opcodes.ASM7) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    if ((access & (Opcodes.ACC_STATIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+                        return null;
+                    }
+                    return new AccessorVisitor(type, name, descriptor, accessors);
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return accessors;
+        } catch (IOException | RuntimeException e) {
+            // asm版本低于class文件版本时抛出IllegalArgumentException，全部退回访问器
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 记录方法体的指令，只接受以下形式：
+     * getter: aload_0, getfield, xreturn
+     * setter: aload_0, xload_1, putfield, return 或者 aload_0, xload_1, putfield, aload_0, areturn
+     */
+    private static class AccessorVisitor extends MethodVisitor {
+
+        private final Class<?> type;
+        private final String name;
+        private final String descriptor;
+        private final Map<String, Field> accessors;
+
+        private final List<int[]> instructions = new ArrayList<>();
+        private String fieldOwner;
+        private String fieldName;
+        private String fieldDescriptor;
+        private boolean trivial = true;
+
+        AccessorVisitor(Class<?> type, String name, String descriptor, Map<String, Field> accessors) {
+            super(Opcodes.ASM7);
+            this.type = type;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.accessors = accessors;
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            instructions.add(new int[]{opcode, -1});
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            instructions.add(new int[]{opcode, var});
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            if (fieldName != null) {
+                trivial = false;
+            }
+            fieldOwner = owner;
+            fieldName = name;
+            fieldDescriptor = descriptor;
+            instructions.add(new int[]{opcode, -1});
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            trivial = false;
+        }
+
+        @Override
+        public void visitEnd() {
+            if (trivial && fieldName != null && (isGetter() || isSetter())) {
+                Field field = findField();
+                if (field != null) {
+                    accessors.put(name + descriptor, field);
+                }
+            }
+        }
+
+        private boolean isGetter() {
+            Type returnType = Type.getReturnType(descriptor);
+            return Type.getArgumentTypes(descriptor).length == 0
+                    && returnType != Type.VOID_TYPE
+                    && returnType.getDescriptor().equals(fieldDescriptor)
+                    && instructions.size() == 3
+                    && is(0, Opcodes.ALOAD, 0)
+                    && is(1, Opcodes.GETFIELD, -1)
+                    && is(2, returnType.getOpcode(Opcodes.IRETURN), -1);
+        }
+
+        private boolean isSetter() {
+            Type[] argumentTypes = Type.getArgumentTypes(descriptor);
+            if (argumentTypes.length != 1 || !argumentTypes[0].getDescriptor().equals(fieldDescriptor)) {
+                return false;
+            }
+            boolean assign = instructions.size() >= 3
+                    && is(0, Opcodes.ALOAD, 0)
+                    && is(1, argumentTypes[0].getOpcode(Opcodes.ILOAD), 1)
+                    && is(2, Opcodes.PUTFIELD, -1);
+            if (!assign) {
+                return false;
+            }
+            if (Type.getReturnType(descriptor) == Type.VOID_TYPE) {
+                return instructions.size() == 4 && is(3, Opcodes.RETURN, -1);
+            }
+            // 链式setter返回this
+            return instructions.size() == 5 && is(3, Opcodes.ALOAD, 0) && is(4, Opcodes.ARETURN, -1);
+        }
+
+        private boolean is(int index, int opcode, int var) {
+            int[] instruction = instructions.get(index);
+            return instruction[0] == opcode && instruction[1] == var;
+        }
+
+        /**
+         * 从字段引用的owner开始向父类查找实际声明的字段
+         */
+        private Field findField() {
+            Class<?> owner = type;
+            while (owner != null && !Type.getInternalName(owner).equals(fieldOwner)) {
+                owner = owner.getSuperclass();
+            }
+            for (Class<?> c = owner; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getName().equals(fieldName)) {
+                        boolean matched = !Modifier.isStatic(field.getModifiers())
+                                && Type.getDescriptor(field.getType()).equals(fieldDescriptor);
+                        return matched ? field : null;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.lpzahd.cglib;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Class Name: GenericTypes
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 代码生成使用的泛型解析：按bean类的泛型父类链替换继承来的类型变量，逐层解析集合、Map、数组的元素类型。
+ * 通配符取上界，无法确定的类型变量取第一个上界，解析结果中不再包含类型变量与通配符
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 23:50
+ * Version: 1.0
+ */
+final class GenericTypes {
+
+    private GenericTypes() {
+    }
+
+    /**
+     * MethodName: resolve
+     * Description: 解析context(或者其父类、接口)中声明的类型，例如Base&lt;T&gt;中的List&lt;T&gt;在Sub extends Base&lt;Item&gt;中解析为List&lt;Item&gt;
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 23:50
+     * Version: 1.0
+     */
+    static Type resolve(Type type, Class<?> context) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        bind(context, bindings);
+        return substitute(type, bindings);
+    }
+
+    /**
+     * MethodName: argument
+     * Description: type作为generic的子类型时generic的第index个类型参数，例如ArrayList&lt;Item&gt;、class Items extends ArrayList&lt;Item&gt;
+     * 作为Collection的类型参数都是Item。type不是generic的子类型或者按原始类型使用时返回null
+     *
+     * @param type 已经解析过的类型，见{@link #resolve}
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 23:50
+     * Version: 1.0
+     */
+    static Type argument(Type type, Class<?> generic, int index) {
+        if (type instanceof Class && ((Class<?>) type).getTypeParameters().length > 0) {
+            return null;
+        }
+        if (!generic.isAssignableFrom(TypeRef.rawType(type))) {
+            return null;
+        }
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        bind(type, bindings);
+        return bindings.get(generic.getTypeParameters()[index]);
+    }
+
+    /**
+     * 数组的元素类型，不是数组时返回null
+     */
+    static Type componentType(Type type) {
+        if (type instanceof GenericArrayType) {
+            return ((GenericArrayType) type).getGenericComponentType();
+        }
+        if (type instanceof Class) {
+            return ((Class<?>) type).getComponentType();
+        }
+        return null;
+    }
+
+    /**
+     * 以raw为原始类型、arguments为类型参数的泛型类型
+     */
+    static ParameterizedType parameterized(Class<?> raw, Type... arguments) {
+        return new Parameterized(raw, arguments);
+    }
+
+    /**
+     * 记录type及其所有父类、接口的类型变量对应的实际类型，子类先于父类记录，父类的类型参数使用子类已经记录的类型替换
+     */
+    private static void bind(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> raw = TypeRef.rawType(type);
+        if (type instanceof ParameterizedType) {
+            TypeVariable<?>[] variables = raw.getTypeParameters();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < variables.length && i < arguments.length; i++) {
+                bindings.putIfAbsent(variables[i], substitute(arguments[i], bindings));
+            }
+        }
+        if (raw.getGenericSuperclass() != null) {
+            bind(raw.getGenericSuperclass(), bindings);
+        }
+        for (Type superInterface : raw.getGenericInterfaces()) {
+            bind(superInterface, bindings);
+        }
+    }
+
+    private static Type substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            // 无法确定的类型变量取擦除后的上界，上界可能引用自身(T extends Comparable<T>)，不再展开
+            return bound != null ? bound : TypeRef.rawType(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof WildcardType) {
+            return substitute(((WildcardType) type).getUpperBounds()[0], bindings);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = substitute(((GenericArrayType) type).getGenericComponentType(), bindings);
+            if (component instanceof Class) {
+                return Array.newInstance((Class<?>) component, 0).getClass();
+            }
+            return new GenericArray(component);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] arguments = parameterizedType.getActualTypeArguments().clone();
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = substitute(arguments[i], bindings);
+            }
+            return new Parameterized((Class<?>) parameterizedType.getRawType(), arguments);
+        }
+        return type;
+    }
+
+    private static final class Parameterized implements ParameterizedType {
+
+        private final Class<?> raw;
+        private final Type[] arguments;
+
+        private Parameterized(Class<?> raw, Type[] arguments) {
+            this.raw = raw;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return raw.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) o;
+            return raw.equals(that.getRawType()) && Arrays.equals(arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ raw.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(raw.getName()).append('<');
+            for (int i = 0; i < arguments.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(arguments[i].getTypeName());
+            }
+            return sb.append('>').toString();
+        }
+    }
+
+    private static final class GenericArray implements GenericArrayType {
+
+        private final Type component;
+
+        private GenericArray(Type component) {
+            this.component = component;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return component;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenericArrayType && Objects.equals(component, ((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return component.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return component.getTypeName() + "[]";
+        }
+    }
+}
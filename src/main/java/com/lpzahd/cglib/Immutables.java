@@ -0,0 +1,98 @@
+package com.lpzahd.cglib;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Class Name: Immutables
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 不可变类型判断，深拷贝时不可变的对象可以直接共享引用
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 17:05
+ * Version: 1.0
+ */
+@UtilityClass
+public class Immutables {
+
+    private static final Set<Class<?>> JDK_IMMUTABLES = new HashSet<>(Arrays.asList(
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            String.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class, Locale.class, Currency.class,
+            Pattern.class, URI.class, OptionalInt.class, OptionalLong.class, OptionalDouble.class
+    ));
+
+    private static final Set<Class<?>> REGISTERED = ConcurrentHashMap.newKeySet();
+
+    private static final ClassValue<Boolean> ANALYZED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return analyze(type, new HashSet<>());
+        }
+    };
+
+    /**
+     * MethodName: register
+     * Description: 注册不可变类型，需要在生成拷贝器之前注册，已经分析过的类型不会重新分析
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 17:10
+     * Version: 1.0
+     */
+    public static void register(Class<?>... types) {
+        REGISTERED.addAll(Arrays.asList(types));
+    }
+
+    /**
+     * MethodName: isImmutable
+     * Description: 判断类型的实例是否不可变：基本类型、已知的jdk值类型、枚举、注册的类型，
+     * 以及所有实例字段都是final且字段类型也不可变的final类(包括record)
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 17:10
+     * Version: 1.0
+     */
+    public static boolean isImmutable(Class<?> type) {
+        if (known(type)) {
+            return true;
+        }
+        return ANALYZED.get(type);
+    }
+
+    private static boolean known(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || JDK_IMMUTABLES.contains(type) || REGISTERED.contains(type)
+                || (type.getPackage() != null && "java.time".equals(type.getPackage().getName()));
+    }
+
+    /**
+     * visiting中的类型按不可变处理，自引用的类型由其余字段决定
+     */
+    private static boolean analyze(Class<?> type, Set<Class<?>> visiting) {
+        if (known(type) || visiting.contains(type)) {
+            return true;
+        }
+        // 非final类的子类可以增加可变状态，jdk内部类的字段不作为判断依据
+        if (type.isArray() || type.isInterface() || !Modifier.isFinal(type.getModifiers()) || type.getClassLoader() == null) {
+            return false;
+        }
+        visiting.add(type);
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!Modifier.isFinal(field.getModifiers()) || !analyze(field.getType(), visiting)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.lpzahd.cglib;
+
+import com.lpzahd.cglib.metrics.CopierMetricsRegistry;
+import com.lpzahd.cglib.metrics.InterningPoolMXBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class Name: InterningPool
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 拷贝时驻留String以及注册的不可变值类型，相等的值共享同一个实例，减少长期缓存的拷贝结果中重复的对象。
+ * 池按名称全局共享，生成的拷贝器通过名称取得池。槽位数量固定，值按hash放入对应槽位，槽位被其他值占用时直接替换，
+ * 读写不加锁，内存占用不超过槽位数量个值；替换只会降低命中率，不影响拷贝结果
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 01:40
+ * Version: 1.0
+ */
+public final class InterningPool implements InterningPoolMXBean {
+
+    /**
+     * 默认槽位数量
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+    private static final Map<String, InterningPool> POOLS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final AtomicReferenceArray<Object> table;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private InterningPool(String name, int capacity) {
+        this.name = name;
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * MethodName: named
+     * Description: 取得名称对应的驻留池，不存在时以默认槽位数量创建
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:40
+     * Version: 1.0
+     */
+    public static InterningPool named(String name) {
+        return POOLS.computeIfAbsent(name, key -> register(new InterningPool(key, DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * MethodName: named
+     * Description: 取得名称对应的驻留池，不存在时以capacity向上取整到2的幂作为槽位数量创建，已存在的池槽位数量不同时抛出IllegalArgumentException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:40
+     * Version: 1.0
+     */
+    public static InterningPool named(String name, int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("驻留池的槽位数量必须在1到" + MAXIMUM_CAPACITY + "之间");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        InterningPool pool = POOLS.computeIfAbsent(name, key -> register(new InterningPool(key, size)));
+        if (pool.getCapacity() != size) {
+            throw new IllegalArgumentException("驻留池" + name + "已经以" + pool.getCapacity() + "个槽位创建");
+        }
+        return pool;
+    }
+
+    private static InterningPool register(InterningPool pool) {
+        CopierMetricsRegistry.register(pool);
+        return pool;
+    }
+
+    /**
+     * MethodName: intern
+     * Description: 返回池中与value相等(类型相同并且equals)的实例，没有时把value放入池中并返回value，null原样返回
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 01:40
+     * Version: 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        int h = value.hashCode();
+        int index = (h ^ (h >>> 16)) & mask;
+        Object existing = table.get(index);
+        if (existing != null && existing.getClass() == value.getClass() && existing.equals(value)) {
+            hits.increment();
+            return (T) existing;
+        }
+        table.lazySet(index, value);
+        misses.increment();
+        return value;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getCapacity() {
+        return table.length();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
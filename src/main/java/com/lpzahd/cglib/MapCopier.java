@@ -0,0 +1,324 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: MapCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: bean与Map&lt;String, Object&gt;之间的拷贝。toMap按属性个数预设HashMap容量，
+ * fromMap遍历Map按属性名的哈希switch分派到setter，值类型与属性类型不一致时使用SmartConvert转换
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 20:20
+ * Version: 1.0
+ */
+public abstract class MapCopier {
+
+    private static final MapCopierKey KEY_FACTORY = (MapCopierKey) KeyFactory.create(MapCopierKey.class);
+
+    private static final Type MAP_COPIER = TypeUtils.parseType(MapCopier.class.getName());
+    private static final Type MAP = Type.getType(Map.class);
+    private static final Type HASH_MAP = Type.getType(HashMap.class);
+    private static final Type ITERATOR = Type.getType(Iterator.class);
+    private static final Type MAP_ENTRY = Type.getType(Map.Entry.class);
+    private static final Signature TO_MAP = TypeUtils.parseSignature("java.util.Map toMap(Object)");
+    private static final Signature FROM_MAP = TypeUtils.parseSignature("void fromMap(java.util.Map, Object)");
+    private static final Signature CONVERT = TypeUtils.parseSignature("Object convert(Object, Class, String)");
+
+    private static final Converter SMART_CONVERTER = new SmartConvert();
+
+    /**
+     * 每个BeanPropertySelector对应的生成类实例
+     */
+    private static final Map<BeanPropertySelector, ClassValue<MapCopier>> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * MethodName: of
+     * Description: 获取缓存的MapCopier
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 20:20
+     * Version: 1.0
+     */
+    public static MapCopier of(Class<?> type, BeanPropertySelector selector) {
+        return INSTANCES.computeIfAbsent(selector, s -> new ClassValue<MapCopier>() {
+            @Override
+            protected MapCopier computeValue(Class<?> type) {
+                return create(type, s);
+            }
+        }).get(type);
+    }
+
+    public static MapCopier create(Class<?> type, BeanPropertySelector selector) {
+        Generator gen = new Generator();
+        gen.setType(type);
+        gen.setSelector(selector);
+        return gen.create();
+    }
+
+    /**
+     * 所有getter属性放入新的HashMap，基本类型装箱
+     */
+    public abstract Map<String, Object> toMap(Object bean);
+
+    /**
+     * Map中与setter属性同名的值写入bean，其余键忽略；值为null或者无法转换时基本类型属性保持不变
+     */
+    public abstract void fromMap(Map<String, ?> map, Object bean);
+
+    /**
+     * 生成的代码在值类型与属性类型不一致时调用
+     */
+    protected static Object convert(Object value, Class<?> type, String property) {
+        return SMART_CONVERTER.convert(value, type, property);
+    }
+
+    /**
+     * 内部字节码代码生成
+     */
+    public static class Generator extends AbstractClassGenerator<MapCopier> {
+
+        private static final Source SOURCE = new Source(MapCopier.class.getName());
+
+        private Class<?> type;
+
+        private BeanPropertySelector selector = BeanPropertySelector.STANDARD_SELECTOR;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        public void setType(Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                setNamePrefix(type.getName());
+            }
+            this.type = type;
+        }
+
+        public void setSelector(BeanPropertySelector selector) {
+            if (selector != null) {
+                this.selector = selector;
+            }
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return type.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(type);
+        }
+
+        public MapCopier create() {
+            return (MapCopier) super.create(KEY_FACTORY.newInstance(type.getName(), selector));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), MAP_COPIER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            generateToMap(ce, selector.selectGetters(type));
+            generateFromMap(ce, selector.selectSetters(type));
+            ce.end_class();
+        }
+
+        /**
+         * 生成代码：Map map = new HashMap(n / 0.75 + 1); map.put("name", bean.getName()); ... return map;
+         */
+        private void generateToMap(ClassEmitter ce, PropertyDescriptor[] getters) {
+            Type beanType = Type.getType(type);
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC, TO_MAP, null);
+            Local beanLocal = e.make_local(beanType);
+            e.load_arg(0);
+            e.checkcast(beanType);
+            e.store_local(beanLocal);
+
+            Local mapLocal = e.make_local(MAP);
+            e.new_instance(HASH_MAP);
+            e.dup();
+            e.push((int) (getters.length / 0.75f) + 1);
+            e.invoke_constructor(HASH_MAP, TypeUtils.parseConstructor("int"));
+            e.store_local(mapLocal);
+
+            for (PropertyDescriptor getter : getters) {
+                MethodInfo read = ReflectUtils.getMethodInfo(getter.getReadMethod());
+                e.load_local(mapLocal);
+                e.push(getter.getName());
+                e.load_local(beanLocal);
+                e.invoke(read);
+                e.box(read.getSignature().getReturnType());
+                e.invoke_interface(MAP, TypeUtils.parseSignature("Object put(Object, Object)"));
+                e.pop();
+            }
+
+            e.load_local(mapLocal);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * 生成代码：遍历map.entrySet()，switch (entry.getKey()) { case "name": bean.setName(convert(entry.getValue())); }
+         */
+        private void generateFromMap(ClassEmitter ce, PropertyDescriptor[] setters) {
+            Type beanType = Type.getType(type);
+            CodeEmitter e = ce.begin_method(Constants.ACC_PUBLIC, FROM_MAP, null);
+            Local beanLocal = e.make_local(beanType);
+            e.load_arg(1);
+            e.checkcast(beanType);
+            e.store_local(beanLocal);
+
+            Map<String, PropertyDescriptor> setterNames = new HashMap<>(setters.length);
+            for (PropertyDescriptor setter : setters) {
+                setterNames.put(setter.getName(), setter);
+            }
+            if (setterNames.isEmpty()) {
+                e.return_value();
+                e.end_method();
+                return;
+            }
+
+            Local iteratorLocal = e.make_local(ITERATOR);
+            e.load_arg(0);
+            e.invoke_interface(MAP, TypeUtils.parseSignature("java.util.Set entrySet()"));
+            e.invoke_interface(Type.getType(Set.class), new Signature("iterator", ITERATOR, new Type[0]));
+            e.store_local(iteratorLocal);
+
+            Local entryLocal = e.make_local(MAP_ENTRY);
+            Local valueLocal = e.make_local(Constants.TYPE_OBJECT);
+            Label loopStart = e.make_label();
+            Label loopEnd = e.make_label();
+
+            e.mark(loopStart);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(ITERATOR, TypeUtils.parseSignature("boolean hasNext()"));
+            e.if_jump(Opcodes.IFEQ, loopEnd);
+            e.load_local(iteratorLocal);
+            e.invoke_interface(ITERATOR, TypeUtils.parseSignature("Object next()"));
+            e.checkcast(MAP_ENTRY);
+            e.store_local(entryLocal);
+
+            e.load_local(entryLocal);
+            e.invoke_interface(MAP_ENTRY, TypeUtils.parseSignature("Object getValue()"));
+            e.store_local(valueLocal);
+
+            // null键没有对应的属性
+            Local keyLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.load_local(entryLocal);
+            e.invoke_interface(MAP_ENTRY, TypeUtils.parseSignature("Object getKey()"));
+            e.store_local(keyLocal);
+            e.load_local(keyLocal);
+            e.ifnull(loopStart);
+
+            e.load_local(keyLocal);
+            EmitUtils.string_switch(e, setterNames.keySet().toArray(new String[0]), Constants.SWITCH_STYLE_HASH, new ObjectSwitchCallback() {
+                @Override
+                public void processCase(Object key, Label end) {
+                    write(e, setterNames.get((String) key), beanLocal, valueLocal);
+                    e.goTo(end);
+                }
+
+                @Override
+                public void processDefault() {
+                    // 没有对应setter的键忽略
+                }
+            });
+            e.goTo(loopStart);
+
+            e.mark(loopEnd);
+            e.return_value();
+            e.end_method();
+        }
+
+        /**
+         * MethodName: write
+         * Description: 生成代码：if (value instanceof Type) bean.setX((Type) value);
+         * else { converted = convert(value, Type.class, "x"); if (converted != null || !primitive) bean.setX((Type) converted); }
+         *
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 20:20
+         * Version: 1.0
+         */
+        private void write(CodeEmitter e, PropertyDescriptor setter, Local beanLocal, Local valueLocal) {
+            MethodInfo write = ReflectUtils.getMethodInfo(setter.getWriteMethod());
+            Type propertyType = write.getSignature().getArgumentTypes()[0];
+            boolean primitive = TypeUtils.isPrimitive(propertyType);
+            Type valueType = primitive ? TypeUtils.getBoxedType(propertyType) : propertyType;
+            Label convertLabel = e.make_label();
+            Label endLabel = e.make_label();
+
+            e.load_local(valueLocal);
+            e.instance_of(valueType);
+            e.if_jump(Opcodes.IFEQ, convertLabel);
+            e.load_local(beanLocal);
+            e.load_local(valueLocal);
+            e.unbox(propertyType);
+            invokeWrite(e, write);
+            e.goTo(endLabel);
+
+            e.mark(convertLabel);
+            Local convertedLocal = e.make_local(Constants.TYPE_OBJECT);
+            e.load_local(valueLocal);
+            EmitUtils.load_class(e, propertyType);
+            e.push(setter.getName());
+            e.invoke_static(MAP_COPIER, CONVERT);
+            e.store_local(convertedLocal);
+            if (primitive) {
+                e.load_local(convertedLocal);
+                e.ifnull(endLabel);
+            }
+            e.load_local(beanLocal);
+            e.load_local(convertedLocal);
+            e.unbox(propertyType);
+            invokeWrite(e, write);
+
+            e.mark(endLabel);
+        }
+
+        private static void invokeWrite(CodeEmitter e, MethodInfo write) {
+            e.invoke(write);
+            if (write.getSignature().getReturnType() != Type.VOID_TYPE) {
+                // 链式setter
+                e.pop();
+            }
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            return ReflectUtils.newInstance(type);
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface MapCopierKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param className bean类名
+         * @param selector  属性选择策略
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 20:20
+         * Version: 1.0
+         */
+        Object newInstance(String className, Object selector);
+
+    }
+}
@@ -0,0 +1,53 @@
+package com.lpzahd.cglib;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Class Name: Merges
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 合并拷贝时由生成的代码调用，判断目标对象上已有的集合、Map是否可以原地修改
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 19:00
+ * Version: 1.0
+ */
+@UtilityClass
+public class Merges {
+
+    private static final String[] IMMUTABLE_PREFIXES = {
+            "java.util.ImmutableCollections$",
+            "java.util.Collections$Unmodifiable",
+            "java.util.Collections$Empty",
+            "java.util.Collections$Singleton",
+            "java.util.Arrays$ArrayList"
+    };
+
+    private static final ClassValue<Boolean> MUTABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (type.getClassLoader() != null) {
+                // 非jdk的容器无法判断，按可变处理
+                return true;
+            }
+            String name = type.getName();
+            for (String prefix : IMMUTABLE_PREFIXES) {
+                if (name.startsWith(prefix)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    /**
+     * MethodName: isMutable
+     * Description: 容器是否支持clear、add、put、remove，jdk中的不可变容器以及Arrays.asList返回false
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 19:00
+     * Version: 1.0
+     */
+    public static boolean isMutable(Object container) {
+        return MUTABLE.get(container.getClass());
+    }
+}
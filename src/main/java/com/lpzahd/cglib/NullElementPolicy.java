@@ -0,0 +1,25 @@
+package com.lpzahd.cglib;
+
+/**
+ * Class Name: NullElementPolicy
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 包装类型的集合拷贝到基本类型的数组或者列表时，对集合中null元素的处理方式
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 00:20
+ * Version: 1.0
+ */
+public enum NullElementPolicy {
+    /**
+     * 抛出NullPointerException，默认
+     */
+    FAIL,
+    /**
+     * 写入0(false)
+     */
+    ZERO,
+    /**
+     * 跳过null元素，目标数组的长度为非null元素的数量
+     */
+    SKIP
+}
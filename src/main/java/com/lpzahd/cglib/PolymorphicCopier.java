@@ -0,0 +1,161 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.Converter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+/**
+ * Class Name: PolymorphicCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 按运行时类型拷贝嵌套对象，声明类型不能确定实际类型时由生成的代码调用。
+ * 前两个出现的类型保存在内联缓存中，之后的类型通过ClassValue查找，每个类型对应一个子拷贝器。
+ * 子拷贝器沿用所在拷贝器的全部配置(filter、converter、mapper、selector、engine、fieldAccess、merge、nullElements、collectionOutput、驻留池等)
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 18:00
+ * Version: 1.0
+ */
+public final class PolymorphicCopier {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<?> targetClass;
+    private final Copier.Generator template;
+    private final Map<Class<?>, Class<?>> subtypes;
+    private final boolean shareImmutables;
+
+    /**
+     * 内联缓存，Entry不可变，并发下最多重复查找一次ClassValue
+     */
+    private Entry first;
+    private Entry second;
+
+    private final ClassValue<Entry> entries = new ClassValue<Entry>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return entry(type);
+        }
+    };
+
+    private PolymorphicCopier(Class<?> targetClass, Copier.Generator template) {
+        this.targetClass = targetClass;
+        this.template = template;
+        this.subtypes = template.getSubtypes();
+        this.shareImmutables = template.isShareImmutables();
+    }
+
+    /**
+     * MethodName: create
+     * Description: 由生成类的CGLIB$initPolymorphic方法调用，子拷贝器按template的配置生成，template只被返回的实例引用
+     *
+     * @param targetClass 目标属性声明的类型
+     * @param template    所在拷贝器的配置
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 18:05
+     * Version: 1.0
+     */
+    public static PolymorphicCopier create(Class<?> targetClass, Copier.Generator template) {
+        return new PolymorphicCopier(targetClass, template);
+    }
+
+    public Object copy(Object value, Filter<?, ?> filter, Converter converter) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> type = value.getClass();
+        Entry entry = first;
+        if (entry == null || entry.sourceClass != type) {
+            entry = second;
+            if (entry == null || entry.sourceClass != type) {
+                entry = miss(type);
+            }
+        }
+        return entry.copy(value, filter, converter);
+    }
+
+    private Entry miss(Class<?> type) {
+        Entry entry = entries.get(type);
+        if (first == null) {
+            first = entry;
+        } else if (second == null) {
+            second = entry;
+        }
+        return entry;
+    }
+
+    private Entry entry(Class<?> type) {
+        Class<?> target = targetOf(type);
+        if (target == null) {
+            return new Entry(type, null, null);
+        }
+        Copier.Generator generator = template.derive(type, target);
+        return new Entry(type, constructor(target), generator.getEngine().create(generator));
+    }
+
+    /**
+     * 运行时类型对应的目标类型，返回null时直接引用源对象
+     */
+    private Class<?> targetOf(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            Class<?> mapped = subtypes.get(c);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        if (!Copier.Generator.guessBean(type)) {
+            return null;
+        }
+        if (targetClass.isAssignableFrom(type)) {
+            // 目标与源在同一继承体系中，保留运行时类型
+            return shareImmutables && Immutables.isImmutable(type) ? null : type;
+        }
+        if (!Copier.Generator.isConcreteClass(targetClass)) {
+            throw new IllegalArgumentException("没有为" + type.getName() + "注册目标类型，且" + targetClass.getName() + "无法实例化");
+        }
+        return targetClass;
+    }
+
+    private static MethodHandle constructor(Class<?> clz) {
+        try {
+            Constructor<?> constructor = clz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Class<?> sourceClass;
+        private final MethodHandle constructor;
+        private final Copier copier;
+
+        private Entry(Class<?> sourceClass, MethodHandle constructor, Copier copier) {
+            this.sourceClass = sourceClass;
+            this.constructor = constructor;
+            this.copier = copier;
+        }
+
+        private Object copy(Object value, Filter<?, ?> filter, Converter converter) {
+            if (copier == null) {
+                return value;
+            }
+            Object target;
+            try {
+                target = (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new CodeGenerationException(e);
+            }
+            copier.copy(value, target, filter, converter);
+            return target;
+        }
+    }
+}
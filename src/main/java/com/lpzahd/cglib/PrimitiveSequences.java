@@ -0,0 +1,117 @@
+package com.lpzahd.cglib;
+
+import com.lpzahd.cglib.primitive.DoubleArrayList;
+import com.lpzahd.cglib.primitive.IntArrayList;
+import com.lpzahd.cglib.primitive.LongArrayList;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class Name: PrimitiveSequences
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 包装类型集合、基本类型数组以及{@link IntArrayList}等基本类型列表之间按基本类型拷贝的类型判断，
+ * 以及反射拷贝使用的列表与数组的转换
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 00:20
+ * Version: 1.0
+ */
+final class PrimitiveSequences {
+
+    private static final Map<Class<?>, Class<?>> UNBOXED = new HashMap<>(16);
+
+    /**
+     * 基本类型列表到元素基本类型的映射，只匹配列表类本身
+     */
+    private static final Map<Class<?>, Class<?>> LISTS = new HashMap<>(4);
+
+    static {
+        UNBOXED.put(Boolean.class, boolean.class);
+        UNBOXED.put(Character.class, char.class);
+        UNBOXED.put(Byte.class, byte.class);
+        UNBOXED.put(Short.class, short.class);
+        UNBOXED.put(Integer.class, int.class);
+        UNBOXED.put(Long.class, long.class);
+        UNBOXED.put(Float.class, float.class);
+        UNBOXED.put(Double.class, double.class);
+        LISTS.put(IntArrayList.class, int.class);
+        LISTS.put(LongArrayList.class, long.class);
+        LISTS.put(DoubleArrayList.class, double.class);
+    }
+
+    private PrimitiveSequences() {
+    }
+
+    /**
+     * 基本类型数组、基本类型列表以及包装类型集合的元素基本类型，其余类型返回null
+     */
+    static Class<?> primitiveType(java.lang.reflect.Type type) {
+        Class<?> raw = TypeRef.rawType(type);
+        if (raw.isArray()) {
+            return raw.getComponentType().isPrimitive() ? raw.getComponentType() : null;
+        }
+        Class<?> listPrimitive = LISTS.get(raw);
+        if (listPrimitive != null) {
+            return listPrimitive;
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            java.lang.reflect.Type element = GenericTypes.argument(type, Collection.class, 0);
+            return element == null ? null : UNBOXED.get(TypeRef.rawType(element));
+        }
+        return null;
+    }
+
+    /**
+     * MethodName: supported
+     * Description: 是否按基本类型拷贝：两边元素的基本类型相同，并且至少一边是基本类型数组或者基本类型列表。
+     * 两边都是数组时仍然逐个元素拷贝
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 00:20
+     * Version: 1.0
+     */
+    static boolean supported(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+        Class<?> primitive = primitiveType(sourceType);
+        if (primitive == null || primitive != primitiveType(targetType)) {
+            return false;
+        }
+        Class<?> sourceClass = TypeRef.rawType(sourceType);
+        Class<?> targetClass = TypeRef.rawType(targetType);
+        if (sourceClass.isArray() && targetClass.isArray()) {
+            return false;
+        }
+        return sourceClass.isArray() || targetClass.isArray() || isList(sourceClass) || isList(targetClass);
+    }
+
+    static boolean isList(Class<?> type) {
+        return LISTS.containsKey(type);
+    }
+
+    /**
+     * 基本类型列表中的元素复制到新的数组
+     */
+    static Object toArray(Object list) {
+        if (list instanceof IntArrayList) {
+            return ((IntArrayList) list).toIntArray();
+        }
+        if (list instanceof LongArrayList) {
+            return ((LongArrayList) list).toLongArray();
+        }
+        return ((DoubleArrayList) list).toDoubleArray();
+    }
+
+    /**
+     * 以数组作为存储的基本类型列表
+     */
+    static Object wrap(Object array) {
+        if (array instanceof int[]) {
+            return IntArrayList.wrap((int[]) array);
+        }
+        if (array instanceof long[]) {
+            return LongArrayList.wrap((long[]) array);
+        }
+        return DoubleArrayList.wrap((double[]) array);
+    }
+}
@@ -0,0 +1,276 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.CodeGenerationException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Class Name: PropertyIndex
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 类的属性索引，遍历一次继承体系(父类与接口)收集getter、setter以及链式setter，按属性名排序，
+ * 通过ClassValue缓存，由属性选择器与拷贝类生成共享。返回的数组为副本，Map不能修改
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 21:00
+ * Version: 1.0
+ */
+public final class PropertyIndex {
+
+    private static final String GET_PREFIX = "get";
+    private static final String IS_PREFIX = "is";
+    private static final String SET_PREFIX = "set";
+
+    private static final PropertyDescriptor[] NONE = new PropertyDescriptor[0];
+
+    private static final ClassValue<PropertyIndex> INDEXES = new ClassValue<PropertyIndex>() {
+        @Override
+        protected PropertyIndex computeValue(Class<?> type) {
+            return new PropertyIndex(type);
+        }
+    };
+
+    private final String[] names;
+    private final Map<String, Integer> indexes;
+    private final java.lang.reflect.Type[] genericTypes;
+
+    /**
+     * 标准JavaBean：public getter与返回void的public setter
+     */
+    private final PropertyDescriptor[] getters;
+    private final PropertyDescriptor[] setters;
+    private final Map<String, PropertyDescriptor> getterNames;
+
+    /**
+     * 非标准JavaBean：setter可以返回声明类本身(链式setter)，并且不限制访问级别
+     */
+    private final PropertyDescriptor[] chainedGetters;
+    private final PropertyDescriptor[] chainedSetters;
+    private final Map<String, PropertyDescriptor> chainedGetterNames;
+
+    private PropertyIndex(Class<?> type) {
+        Map<String, Method> reads = new TreeMap<>();
+        Map<String, List<Method>> writes = new HashMap<>();
+        Map<String, Method> chainedWrites = new HashMap<>();
+        for (Class<?> clz : hierarchy(type)) {
+            for (Method method : clz.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                String name = method.getName();
+                boolean isPublic = Modifier.isPublic(method.getModifiers());
+                if (method.getParameterCount() == 0) {
+                    String property = readProperty(method);
+                    if (isPublic && property != null) {
+                        reads.putIfAbsent(property, method);
+                    }
+                } else if (method.getParameterCount() == 1 && name.length() > SET_PREFIX.length() && name.startsWith(SET_PREFIX)) {
+                    String property = Introspector.decapitalize(name.substring(SET_PREFIX.length()));
+                    Class<?> returnType = method.getReturnType();
+                    if (isPublic && returnType == void.class) {
+                        writes.computeIfAbsent(property, k -> new ArrayList<>(1)).add(method);
+                    }
+                    if (returnType == void.class || returnType == clz) {
+                        chainedWrites.putIfAbsent(property, method);
+                    }
+                }
+            }
+        }
+
+        Set<String> properties = new TreeSet<>(reads.keySet());
+        properties.addAll(chainedWrites.keySet());
+        names = properties.toArray(new String[0]);
+        indexes = new HashMap<>(names.length * 2);
+        genericTypes = new java.lang.reflect.Type[names.length];
+        List<PropertyDescriptor> getterList = new ArrayList<>();
+        List<PropertyDescriptor> setterList = new ArrayList<>();
+        List<PropertyDescriptor> chainedGetterList = new ArrayList<>();
+        List<PropertyDescriptor> chainedSetterList = new ArrayList<>();
+        Map<String, PropertyDescriptor> getterMap = new HashMap<>(names.length * 2);
+        Map<String, PropertyDescriptor> chainedGetterMap = new HashMap<>(names.length * 2);
+        try {
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                indexes.put(name, i);
+                Method read = reads.get(name);
+                Method write = write(read, writes.get(name));
+                Method chainedWrite = chainedWrites.get(name);
+                if (chainedWrite != null && read != null && chainedWrite.getParameterTypes()[0] != read.getReturnType()) {
+                    chainedWrite = write;
+                }
+                if (chainedWrite == null) {
+                    chainedWrite = write;
+                }
+                genericTypes[i] = write != null ? write.getGenericParameterTypes()[0]
+                        : chainedWrite != null ? chainedWrite.getGenericParameterTypes()[0] : read.getGenericReturnType();
+
+                if (read != null || write != null) {
+                    PropertyDescriptor descriptor = new PropertyDescriptor(name, read, write);
+                    if (read != null) {
+                        getterList.add(descriptor);
+                        getterMap.put(name, descriptor);
+                    }
+                    if (write != null) {
+                        setterList.add(descriptor);
+                    }
+                }
+                if (read != null || chainedWrite != null) {
+                    PropertyDescriptor descriptor = new PropertyDescriptor(name, read, null);
+                    descriptor.setWriteMethod(chainedWrite);
+                    if (read != null) {
+                        chainedGetterList.add(descriptor);
+                        chainedGetterMap.put(name, descriptor);
+                    }
+                    if (chainedWrite != null) {
+                        chainedSetterList.add(descriptor);
+                    }
+                }
+            }
+        } catch (IntrospectionException e) {
+            throw new CodeGenerationException(e);
+        }
+        getters = getterList.toArray(NONE);
+        setters = setterList.toArray(NONE);
+        chainedGetters = chainedGetterList.toArray(NONE);
+        chainedSetters = chainedSetterList.toArray(NONE);
+        getterNames = Collections.unmodifiableMap(getterMap);
+        chainedGetterNames = Collections.unmodifiableMap(chainedGetterMap);
+    }
+
+    /**
+     * MethodName: of
+     * Description: 获取类的属性索引
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:00
+     * Version: 1.0
+     */
+    public static PropertyIndex of(Class<?> type) {
+        return INDEXES.get(type);
+    }
+
+    /**
+     * MethodName: genericType
+     * Description: 属性的泛型类型，优先取setter参数类型，没有setter时取getter返回类型
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 21:00
+     * Version: 1.0
+     */
+    public static java.lang.reflect.Type genericType(PropertyDescriptor descriptor) {
+        Method method = descriptor.getWriteMethod() != null ? descriptor.getWriteMethod() : descriptor.getReadMethod();
+        PropertyIndex index = of(method.getDeclaringClass());
+        int i = index.indexOf(descriptor.getName());
+        if (i >= 0) {
+            return index.genericTypes[i];
+        }
+        return method == descriptor.getWriteMethod() ? method.getGenericParameterTypes()[0] : method.getGenericReturnType();
+    }
+
+    public PropertyDescriptor[] getGetters() {
+        return getters.clone();
+    }
+
+    public PropertyDescriptor[] getSetters() {
+        return setters.clone();
+    }
+
+    public Map<String, PropertyDescriptor> getGetterNames() {
+        return getterNames;
+    }
+
+    public PropertyDescriptor[] getChainedGetters() {
+        return chainedGetters.clone();
+    }
+
+    public PropertyDescriptor[] getChainedSetters() {
+        return chainedSetters.clone();
+    }
+
+    public Map<String, PropertyDescriptor> getChainedGetterNames() {
+        return chainedGetterNames;
+    }
+
+    /**
+     * 属性名按字典序排列的下标，不存在时返回-1
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public java.lang.reflect.Type getGenericType(int index) {
+        return genericTypes[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * 类本身、父类(不包括Object)以及所有接口，子类型在前
+     */
+    private static List<Class<?>> hierarchy(Class<?> type) {
+        List<Class<?>> classes = new ArrayList<>();
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> clz = type; clz != null && clz != Object.class; clz = clz.getSuperclass()) {
+            if (clz.isInterface()) {
+                interfaces.add(clz);
+            } else {
+                classes.add(clz);
+            }
+            Collections.addAll(interfaces, clz.getInterfaces());
+        }
+        List<Class<?>> pending = new ArrayList<>(interfaces);
+        for (int i = 0; i < pending.size(); i++) {
+            for (Class<?> parent : pending.get(i).getInterfaces()) {
+                if (interfaces.add(parent)) {
+                    pending.add(parent);
+                }
+            }
+        }
+        classes.addAll(interfaces);
+        return classes;
+    }
+
+    /**
+     * getX()或者boolean isX()对应的属性名，其他方法返回null
+     */
+    private static String readProperty(Method method) {
+        String name = method.getName();
+        Class<?> returnType = method.getReturnType();
+        if (name.length() > GET_PREFIX.length() && name.startsWith(GET_PREFIX) && returnType != void.class) {
+            return Introspector.decapitalize(name.substring(GET_PREFIX.length()));
+        }
+        if (name.length() > IS_PREFIX.length() && name.startsWith(IS_PREFIX) && returnType == boolean.class) {
+            return Introspector.decapitalize(name.substring(IS_PREFIX.length()));
+        }
+        return null;
+    }
+
+    /**
+     * 同名setter有多个重载时取参数类型与getter返回类型相同的一个，没有getter时取子类中最先声明的一个
+     */
+    private static Method write(Method read, List<Method> candidates) {
+        if (candidates == null) {
+            return null;
+        }
+        if (read == null) {
+            return candidates.get(0);
+        }
+        for (Method candidate : candidates) {
+            if (candidate.getParameterTypes()[0] == read.getReturnType()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,771 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.Converter;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: ReflectCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 基于MethodHandle的拷贝实现，拷贝语义与{@link Copier.Generator}生成的字节码保持一致，
+ * 不生成任何类，适用于调用次数很少的类型组合
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 10:12
+ * Version: 1.0
+ */
+public class ReflectCopier extends Copier {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Context context;
+    private final Class<?> source;
+    private final Class<?> target;
+    private final Plan plan;
+
+    /**
+     * copyNew使用，第一次调用时创建
+     */
+    private volatile ElementCopier creator;
+
+    private ReflectCopier(Context context, Class<?> source, Class<?> target) {
+        Copier.Generator.checkCreatable(target);
+        this.context = context;
+        this.source = source;
+        this.target = target;
+        this.plan = context.plan(source, target);
+    }
+
+    public static ReflectCopier create(Class<?> source, Class<?> target, boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector) {
+        Context context = new Context(useFilter, useConverter, mapper, selector, false, false, Collections.emptyMap(), NullElementPolicy.FAIL,
+                CollectionOutput.MUTABLE, null, Collections.emptySet(), Copier.generator(source, target, useFilter, useConverter, mapper == null ? Collections.emptyMap() : mapper, selector));
+        return new ReflectCopier(context, source, target);
+    }
+
+    /**
+     * 使用generator中的配置创建，与generator生成的字节码拷贝器语义一致
+     */
+    public static ReflectCopier create(Copier.Generator generator) {
+        Context context = new Context(generator.isUseFilter(), generator.isUseConverter(), generator.getMapper(),
+                generator.getSelector(), generator.isShareImmutables(), generator.isPolymorphic(), generator.getSubtypes(),
+                generator.getNullElements(), generator.getCollectionOutput(),
+                generator.getInternPool() == null ? null : InterningPool.named(generator.getInternPool()), generator.getInternTypes(), generator);
+        return new ReflectCopier(context, generator.getSource(), generator.getTarget());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+        try {
+            plan.copy(source, target, (Filter<Object, Object>) filter, converter);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        ElementCopier creator = this.creator;
+        if (creator == null) {
+            creator = this.creator = context.bean(this.source, target);
+        }
+        try {
+            return creator.copy(source, (Filter<Object, Object>) filter, converter);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    /**
+     * 构建拷贝计划时共享的配置，同时缓存嵌套bean的拷贝计划
+     */
+    private static class Context {
+
+        private final boolean useFilter;
+        private final boolean useConverter;
+        private final Map<String, String> mapper;
+        private final BeanPropertySelector selector;
+        private final boolean shareImmutables;
+        private final boolean polymorphic;
+        private final Map<Class<?>, Class<?>> subtypes;
+        private final NullElementPolicy nullElements;
+        private final CollectionOutput collectionOutput;
+        private final InterningPool pool;
+        private final Set<Class<?>> internTypes;
+
+        /**
+         * 按运行时类型拷贝时子拷贝器沿用的配置
+         */
+        private final Copier.Generator template;
+
+        private final Map<List<Class<?>>, Plan> plans = new ConcurrentHashMap<>();
+
+        private Context(boolean useFilter, boolean useConverter, Map<String, String> mapper, BeanPropertySelector selector, boolean shareImmutables,
+                        boolean polymorphic, Map<Class<?>, Class<?>> subtypes, NullElementPolicy nullElements,
+                        CollectionOutput collectionOutput, InterningPool pool, Set<Class<?>> internTypes, Copier.Generator template) {
+            this.useFilter = useFilter;
+            this.useConverter = useConverter;
+            this.mapper = mapper == null ? Collections.emptyMap() : new HashMap<>(mapper);
+            this.selector = selector == null ? BeanPropertySelector.STANDARD_SELECTOR : selector;
+            this.shareImmutables = shareImmutables;
+            this.polymorphic = polymorphic;
+            this.subtypes = subtypes;
+            this.nullElements = nullElements;
+            this.collectionOutput = collectionOutput;
+            this.pool = pool;
+            this.internTypes = internTypes;
+            this.template = template;
+        }
+
+        private Plan plan(Class<?> source, Class<?> target) {
+            return plans.computeIfAbsent(Arrays.asList(source, target), key -> new Plan(properties(source, target, selector.selectSetters(target))));
+        }
+
+        /**
+         * 构造参数的拷贝计划，参数值写入Object[]
+         */
+        private Plan parameterPlan(Class<?> source, Creator creator, Class<?> target) {
+            return plans.computeIfAbsent(Arrays.asList(source, target, Creator.class), key -> new Plan(properties(source, target, creator.parameters())));
+        }
+
+        /**
+         * 对应生成类中新建目标bean：没有无参构造时通过构造方法或者builder创建
+         */
+        private ElementCopier bean(Class<?> sourceClass, Class<?> targetClass) {
+            Creator creator = Creator.of(targetClass);
+            return creator == null ? new BeanElementCopier(this, sourceClass, targetClass) : new ConstructedElementCopier(this, sourceClass, targetClass, creator);
+        }
+
+        private PropertyCopier[] properties(Class<?> source, Class<?> target, PropertyDescriptor[] setters) {
+            Map<String, PropertyDescriptor> sourceGetPropertyNames = selector.selectGetterNames(source);
+
+            List<PropertyCopier> properties = new ArrayList<>(setters.length);
+            for (PropertyDescriptor targetSetProperty : setters) {
+                PropertyDescriptor sourceGetProperty = mapper.isEmpty() ? sourceGetPropertyNames.get(targetSetProperty.getName()) : sourceGetPropertyNames.get(mapper.get(targetSetProperty.getName()));
+                if (sourceGetProperty != null) {
+                    PropertyCopier property = property(source, sourceGetProperty, target, targetSetProperty);
+                    if (property != null) {
+                        properties.add(property);
+                    }
+                }
+            }
+            return properties.toArray(new PropertyCopier[0]);
+        }
+
+        private PropertyCopier property(Class<?> source, PropertyDescriptor getter, Class<?> target, PropertyDescriptor setter) {
+            Class<?> sourcePropertyClass = getter.getPropertyType();
+            Class<?> targetPropertyClass = setter.getPropertyType();
+            java.lang.reflect.Type sourcePropertyType = Copier.Generator.sourceGenericType(getter, source);
+            java.lang.reflect.Type targetPropertyType = GenericTypes.resolve(Copier.Generator.genericType(setter), target);
+            MethodHandle read = getter(getter.getReadMethod());
+            MethodHandle write = writer(setter);
+
+            if (PrimitiveSequences.supported(sourcePropertyType, targetPropertyType)) {
+                return new ContainerCopier(read, write, container(sourcePropertyType, targetPropertyType, setter.getName()));
+            } else if (Collection.class.isAssignableFrom(targetPropertyClass) && Collection.class.isAssignableFrom(sourcePropertyClass)) {
+                ElementCopier element = container(sourcePropertyType, targetPropertyType, setter.getName());
+                if (element != null) {
+                    return new ContainerCopier(read, write, element);
+                }
+            } else if (Map.class.isAssignableFrom(targetPropertyClass) && Map.class.isAssignableFrom(sourcePropertyClass)) {
+                ElementCopier element = container(sourcePropertyType, targetPropertyType, setter.getName());
+                if (element != null) {
+                    return new ContainerCopier(read, write, element);
+                }
+            } else if (targetPropertyClass.isArray() && sourcePropertyClass.isArray()) {
+                return new ContainerCopier(read, write, container(sourcePropertyType, targetPropertyType, setter.getName()));
+            } else if (Copier.Generator.polymorphicSite(sourcePropertyClass, targetPropertyClass, polymorphic, subtypes, shareImmutables)) {
+                return new BeanCopier(read, write, polymorphic(targetPropertyClass));
+            } else if (Copier.Generator.deepCopied(sourcePropertyClass, targetPropertyClass, shareImmutables)) {
+                return new BeanCopier(read, write, bean(sourcePropertyClass, targetPropertyClass));
+            }
+            return value(getter, setter, read, write);
+        }
+
+        /**
+         * 对应{@link Copier.Generator}中的copyValue
+         */
+        private PropertyCopier value(PropertyDescriptor getter, PropertyDescriptor setter, MethodHandle read, MethodHandle write) {
+            boolean compatible = Copier.Generator.compatible(getter, setter);
+            if (!useConverter && !compatible) {
+                return null;
+            }
+            MethodHandle targetRead = useFilter ? reader(setter) : null;
+            String writeName = setter instanceof Creator.Parameter ? setter.getName() : setter.getWriteMethod().getName();
+            return new ValueCopier(read, write, targetRead, getter.getName(), setter.getName(),
+                    useFilter, useConverter, setter.getPropertyType(), writeName, interned(setter.getPropertyType()) ? pool : null);
+        }
+
+        /**
+         * 对应{@link Copier.Generator}中的interned
+         */
+        private boolean interned(Class<?> type) {
+            return pool != null && internTypes.contains(type);
+        }
+
+        /**
+         * 对应{@link Copier.Generator}中的internElement
+         */
+        private ElementCopier interned(ElementCopier element, Class<?> targetClass) {
+            if (!interned(targetClass)) {
+                return element;
+            }
+            return (value, filter, converter) -> pool.intern(element.copy(value, filter, converter));
+        }
+
+        /**
+         * 对应{@link Copier.Generator}中的deepCopyCollection、deepCopyMap、deepCopyArray、primitiveCopy，按泛型类型逐层拷贝集合、Map、数组，
+         * 泛型类型无法解析或者两边容器种类不同时返回null
+         *
+         * @param path 容器相对所属bean的路径，作为元素转换的上下文
+         */
+        private ElementCopier container(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType, String path) {
+            Class<?> sourceClass = TypeRef.rawType(sourceType);
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            if (PrimitiveSequences.supported(sourceType, targetType)) {
+                boolean boxed = !targetClass.isArray() && !PrimitiveSequences.isList(targetClass);
+                return new PrimitiveElementCopier(PrimitiveSequences.primitiveType(targetType), targetClass,
+                        boxed ? factory(targetClass, Copier.Generator.collectionImplClass(targetClass)) : null, nullElements, path);
+            }
+            if (Collection.class.isAssignableFrom(sourceClass) && Collection.class.isAssignableFrom(targetClass)) {
+                java.lang.reflect.Type sourceElement = GenericTypes.argument(sourceType, Collection.class, 0);
+                java.lang.reflect.Type targetElement = GenericTypes.argument(targetType, Collection.class, 0);
+                if (sourceElement == null || targetElement == null) {
+                    return null;
+                }
+                return new CollectionElementCopier(factory(targetClass, Copier.Generator.collectionImplClass(targetClass)), element(sourceElement, targetElement, path + "[]"));
+            }
+            if (Map.class.isAssignableFrom(sourceClass) && Map.class.isAssignableFrom(targetClass)) {
+                java.lang.reflect.Type sourceKey = GenericTypes.argument(sourceType, Map.class, 0);
+                java.lang.reflect.Type sourceValue = GenericTypes.argument(sourceType, Map.class, 1);
+                java.lang.reflect.Type targetKey = GenericTypes.argument(targetType, Map.class, 0);
+                java.lang.reflect.Type targetValue = GenericTypes.argument(targetType, Map.class, 1);
+                if (sourceKey == null || sourceValue == null || targetKey == null || targetValue == null) {
+                    return null;
+                }
+                return new MapElementCopier(factory(targetClass, Copier.Generator.mapImplClass(targetClass)),
+                        element(sourceKey, targetKey, path + "{key}"), element(sourceValue, targetValue, path + "{value}"));
+            }
+            if (sourceClass.isArray() && targetClass.isArray()) {
+                return new ArrayElementCopier(targetClass.getComponentType(),
+                        element(GenericTypes.componentType(sourceType), GenericTypes.componentType(targetType), path + "[]"));
+            }
+            return null;
+        }
+
+        private ContainerFactory factory(Class<?> targetClass, Class<?> implClass) {
+            return new ContainerFactory(constructor(implClass), implClass, Copier.Generator.output(targetClass, collectionOutput));
+        }
+
+        private ElementCopier element(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType, String path) {
+            ElementCopier container = container(sourceType, targetType, path);
+            if (container != null) {
+                return container;
+            }
+            Class<?> sourceClass = TypeRef.rawType(sourceType);
+            Class<?> targetClass = TypeRef.rawType(targetType);
+            if (useConverter && !targetClass.isAssignableFrom(sourceClass)
+                    && !Copier.Generator.polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables)
+                    && !Copier.Generator.deepCopied(sourceClass, targetClass, shareImmutables)) {
+                return interned(new ConvertedElementCopier(targetClass, path), targetClass);
+            }
+            if (Copier.Generator.polymorphicSite(sourceClass, targetClass, polymorphic, subtypes, shareImmutables)) {
+                return polymorphic(targetClass);
+            }
+            if (Copier.Generator.deepCopied(sourceClass, targetClass, shareImmutables)) {
+                return bean(sourceClass, targetClass);
+            }
+            if (Date.class.isAssignableFrom(targetClass)) {
+                return new DateElementCopier(targetClass);
+            }
+            return interned(ElementCopier.IDENTITY, targetClass);
+        }
+
+        /**
+         * 对应生成类中的PolymorphicCopier静态字段
+         */
+        private ElementCopier polymorphic(Class<?> targetClass) {
+            PolymorphicCopier copier = PolymorphicCopier.create(targetClass, template);
+            return copier::copy;
+        }
+    }
+
+    /**
+     * 一组源类型与目标类型之间的拷贝计划
+     */
+    private static class Plan {
+
+        private final PropertyCopier[] properties;
+
+        private Plan(PropertyCopier[] properties) {
+            this.properties = properties;
+        }
+
+        private void copy(Object source, Object target, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            for (PropertyCopier property : properties) {
+                property.copy(source, target, filter, converter);
+            }
+        }
+    }
+
+    private interface PropertyCopier {
+
+        void copy(Object source, Object target, Filter<Object, Object> filter, Converter converter) throws Throwable;
+
+    }
+
+    private interface ElementCopier {
+
+        ElementCopier IDENTITY = (value, filter, converter) -> value;
+
+        Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable;
+
+    }
+
+    private static class ValueCopier implements PropertyCopier {
+
+        private final MethodHandle read;
+        private final MethodHandle write;
+        private final MethodHandle targetRead;
+        private final String sourceName;
+        private final String targetName;
+        private final boolean useFilter;
+        private final boolean useConverter;
+        private final Class<?> setterType;
+        private final String setterName;
+        private final InterningPool pool;
+
+        private ValueCopier(MethodHandle read, MethodHandle write, MethodHandle targetRead, String sourceName, String targetName,
+                            boolean useFilter, boolean useConverter, Class<?> setterType, String setterName, InterningPool pool) {
+            this.read = read;
+            this.write = write;
+            this.targetRead = targetRead;
+            this.sourceName = sourceName;
+            this.targetName = targetName;
+            this.useFilter = useFilter;
+            this.useConverter = useConverter;
+            this.setterType = setterType;
+            this.setterName = setterName;
+            this.pool = pool;
+        }
+
+        @Override
+        public void copy(Object source, Object target, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            Object value = (Object) read.invokeExact(source);
+            if (useFilter) {
+                Object targetValue = targetRead == null ? null : (Object) targetRead.invokeExact(target);
+                // 参数顺序与生成的字节码保持一致
+                if (!filter.accept(value, targetName, targetValue, sourceName)) {
+                    return;
+                }
+            }
+            if (useConverter) {
+                value = converter.convert(value, setterType, setterName);
+                if (value == null && setterType.isPrimitive()) {
+                    value = zero(setterType);
+                }
+            }
+            if (pool != null) {
+                value = pool.intern(value);
+            }
+            write.invokeExact(target, value);
+        }
+    }
+
+    private static class BeanCopier implements PropertyCopier {
+
+        private final MethodHandle read;
+        private final MethodHandle write;
+        private final ElementCopier element;
+
+        private BeanCopier(MethodHandle read, MethodHandle write, ElementCopier element) {
+            this.read = read;
+            this.write = write;
+            this.element = element;
+        }
+
+        @Override
+        public void copy(Object source, Object target, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            Object value = (Object) read.invokeExact(source);
+            if (value != null) {
+                write.invokeExact(target, element.copy(value, filter, converter));
+            }
+        }
+    }
+
+    /**
+     * 集合、Map、数组属性，源属性不为null时由element新建拷贝后写入
+     */
+    private static class ContainerCopier implements PropertyCopier {
+
+        private final MethodHandle read;
+        private final MethodHandle write;
+        private final ElementCopier element;
+
+        private ContainerCopier(MethodHandle read, MethodHandle write, ElementCopier element) {
+            this.read = read;
+            this.write = write;
+            this.element = element;
+        }
+
+        @Override
+        public void copy(Object source, Object target, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            Object value = (Object) read.invokeExact(source);
+            if (value != null) {
+                write.invokeExact(target, element.copy(value, filter, converter));
+            }
+        }
+    }
+
+    /**
+     * 对应{@link Copier.Generator}中的newContainer、compact，按CollectionOutput新建目标集合、Map，拷贝完成后转换
+     */
+    private static class ContainerFactory {
+
+        private final MethodHandle constructor;
+        private final Class<?> implClass;
+        private final CollectionOutput output;
+
+        private ContainerFactory(MethodHandle constructor, Class<?> implClass, CollectionOutput output) {
+            this.constructor = constructor;
+            this.implClass = implClass;
+            this.output = output;
+        }
+
+        private Object create(int size) throws Throwable {
+            return output == CollectionOutput.MUTABLE ? (Object) constructor.invokeExact() : CompactCollections.presized(implClass, size);
+        }
+
+        private Object complete(Object container) {
+            return output == CollectionOutput.COMPACT ? CompactCollections.compact(container) : container;
+        }
+    }
+
+    private static class CollectionElementCopier implements ElementCopier {
+
+        private final ContainerFactory factory;
+        private final ElementCopier element;
+
+        private CollectionElementCopier(ContainerFactory factory, ElementCopier element) {
+            this.factory = factory;
+            this.element = element;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (value == null) {
+                return null;
+            }
+            Collection<Object> source = (Collection<Object>) value;
+            Collection<Object> collection = (Collection<Object>) factory.create(source.size());
+            for (Object o : source) {
+                collection.add(element.copy(o, filter, converter));
+            }
+            return factory.complete(collection);
+        }
+    }
+
+    private static class MapElementCopier implements ElementCopier {
+
+        private final ContainerFactory factory;
+        private final ElementCopier key;
+        private final ElementCopier value;
+
+        private MapElementCopier(ContainerFactory factory, ElementCopier key, ElementCopier value) {
+            this.factory = factory;
+            this.key = key;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object copy(Object source, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (source == null) {
+                return null;
+            }
+            Map<Object, Object> sourceMap = (Map<Object, Object>) source;
+            Map<Object, Object> map = (Map<Object, Object>) factory.create(sourceMap.size());
+            for (Map.Entry<Object, Object> entry : sourceMap.entrySet()) {
+                map.put(key.copy(entry.getKey(), filter, converter), value.copy(entry.getValue(), filter, converter));
+            }
+            return factory.complete(map);
+        }
+    }
+
+    private static class ArrayElementCopier implements ElementCopier {
+
+        private final Class<?> componentClass;
+        private final ElementCopier element;
+
+        private ArrayElementCopier(Class<?> componentClass, ElementCopier element) {
+            this.componentClass = componentClass;
+            this.element = element;
+        }
+
+        @Override
+        public Object copy(Object sourceArray, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (sourceArray == null) {
+                return null;
+            }
+            int length = Array.getLength(sourceArray);
+            Object array = Array.newInstance(componentClass, length);
+            for (int i = 0; i < length; i++) {
+                Array.set(array, i, element.copy(Array.get(sourceArray, i), filter, converter));
+            }
+            return array;
+        }
+    }
+
+    /**
+     * 对应{@link Copier.Generator}中的primitiveCopy，先得到基本类型数组再写成目标类型，目标不与源共享存储
+     */
+    private static class PrimitiveElementCopier implements ElementCopier {
+
+        private final Class<?> primitive;
+        private final Class<?> targetClass;
+        private final ContainerFactory factory;
+        private final NullElementPolicy nullElements;
+        private final String path;
+
+        private PrimitiveElementCopier(Class<?> primitive, Class<?> targetClass, ContainerFactory factory, NullElementPolicy nullElements, String path) {
+            this.primitive = primitive;
+            this.targetClass = targetClass;
+            this.factory = factory;
+            this.nullElements = nullElements;
+            this.path = path;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (value == null) {
+                return null;
+            }
+            Object array;
+            if (value.getClass().isArray()) {
+                array = PrimitiveSequences.isList(targetClass) ? copyOf(value, Array.getLength(value)) : value;
+            } else if (PrimitiveSequences.isList(value.getClass())) {
+                array = PrimitiveSequences.toArray(value);
+            } else {
+                array = unbox((Collection<Object>) value);
+            }
+
+            if (targetClass.isArray()) {
+                return array;
+            }
+            if (PrimitiveSequences.isList(targetClass)) {
+                return PrimitiveSequences.wrap(array);
+            }
+            int length = Array.getLength(array);
+            Collection<Object> collection = (Collection<Object>) factory.create(length);
+            for (int i = 0; i < length; i++) {
+                collection.add(Array.get(array, i));
+            }
+            return factory.complete(collection);
+        }
+
+        private Object unbox(Collection<Object> collection) {
+            int size = collection.size();
+            Object array = Array.newInstance(primitive, size);
+            int count = 0;
+            for (Object o : collection) {
+                if (o == null) {
+                    if (nullElements == NullElementPolicy.FAIL) {
+                        throw new NullPointerException(path + "中包含null元素");
+                    }
+                    if (nullElements == NullElementPolicy.ZERO) {
+                        count++;
+                    }
+                    continue;
+                }
+                Array.set(array, count++, o);
+            }
+            return count == size ? array : copyOf(array, count);
+        }
+
+        private Object copyOf(Object array, int length) {
+            Object copied = Array.newInstance(primitive, length);
+            System.arraycopy(array, 0, copied, 0, length);
+            return copied;
+        }
+    }
+
+    /**
+     * 对应{@link Copier.Generator}中的convertElement，转换结果为null并且目标为基本类型时取0
+     */
+    private static class ConvertedElementCopier implements ElementCopier {
+
+        private final Class<?> targetClass;
+        private final String path;
+        private final Object zero;
+
+        private ConvertedElementCopier(Class<?> targetClass, String path) {
+            this.targetClass = targetClass;
+            this.path = path;
+            this.zero = targetClass.isPrimitive() ? Array.get(Array.newInstance(targetClass, 1), 0) : null;
+        }
+
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            Object converted = converter.convert(value, targetClass, path);
+            return converted == null ? zero : converted;
+        }
+    }
+
+    private static class BeanElementCopier implements ElementCopier {
+
+        private final Context context;
+        private final Class<?> sourceClass;
+        private final Class<?> targetClass;
+        private final MethodHandle constructor;
+        private Plan plan;
+
+        private BeanElementCopier(Context context, Class<?> sourceClass, Class<?> targetClass) {
+            this.context = context;
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+            this.constructor = constructor(targetClass);
+        }
+
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (value == null) {
+                return null;
+            }
+            Object target = (Object) constructor.invokeExact();
+            // 嵌套计划延迟解析，避免自引用的bean在构建时无限递归
+            Plan plan = this.plan;
+            if (plan == null) {
+                plan = this.plan = context.plan(sourceClass, targetClass);
+            }
+            plan.copy(value, target, filter, converter);
+            return target;
+        }
+    }
+
+    /**
+     * 没有无参构造的目标bean，参数值按拷贝计划写入数组后调用一次构造方法或者builder
+     */
+    private static class ConstructedElementCopier implements ElementCopier {
+
+        private final Context context;
+        private final Class<?> sourceClass;
+        private final Class<?> targetClass;
+        private final Creator creator;
+        private Plan plan;
+
+        private ConstructedElementCopier(Context context, Class<?> sourceClass, Class<?> targetClass, Creator creator) {
+            this.context = context;
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+            this.creator = creator;
+        }
+
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            if (value == null) {
+                return null;
+            }
+            Plan plan = this.plan;
+            if (plan == null) {
+                plan = this.plan = context.parameterPlan(sourceClass, creator, targetClass);
+            }
+            Object[] args = creator.defaults();
+            plan.copy(value, args, filter, converter);
+            return creator.newInstance(args);
+        }
+    }
+
+    private static class DateElementCopier implements ElementCopier {
+
+        private final Constructor<?> constructor;
+
+        private DateElementCopier(Class<?> targetClass) {
+            try {
+                this.constructor = targetClass.getConstructor(long.class);
+            } catch (NoSuchMethodException e) {
+                throw new CodeGenerationException(e);
+            }
+        }
+
+        @Override
+        public Object copy(Object value, Filter<Object, Object> filter, Converter converter) throws Throwable {
+            return value == null ? null : constructor.newInstance(((Date) value).getTime());
+        }
+    }
+
+    private static MethodHandle getter(Method method) {
+        return unreflect(method).asType(GETTER_TYPE);
+    }
+
+    private static MethodHandle setter(Method method) {
+        return unreflect(method).asType(SETTER_TYPE);
+    }
+
+    /**
+     * 目标属性的写入，构造参数写入参数数组的对应下标
+     */
+    private static MethodHandle writer(PropertyDescriptor setter) {
+        if (setter instanceof Creator.Parameter) {
+            MethodHandle element = MethodHandles.arrayElementSetter(Object[].class);
+            return MethodHandles.insertArguments(element, 1, ((Creator.Parameter) setter).getIndex()).asType(SETTER_TYPE);
+        }
+        return setter(setter.getWriteMethod());
+    }
+
+    /**
+     * 过滤器使用的目标属性当前值，构造参数读取参数数组，没有getter时为null
+     */
+    private static MethodHandle reader(PropertyDescriptor setter) {
+        if (setter instanceof Creator.Parameter) {
+            MethodHandle element = MethodHandles.arrayElementGetter(Object[].class);
+            return MethodHandles.insertArguments(element, 1, ((Creator.Parameter) setter).getIndex()).asType(GETTER_TYPE);
+        }
+        return setter.getReadMethod() == null ? null : getter(setter.getReadMethod());
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> clz) {
+        try {
+            Constructor<?> constructor = clz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    private static Object zero(Class<?> primitive) {
+        return Array.get(Array.newInstance(primitive, 1), 0);
+    }
+}
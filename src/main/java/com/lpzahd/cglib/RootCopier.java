@@ -0,0 +1,211 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.*;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: RootCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 根对象为集合、Map或者数组的拷贝器，源与目标的元素类型都来自声明的{@link TypeRef}，
+ * 整个根结构生成一个类，复用属性拷贝中集合、Map、数组的代码生成，按(源类型, 目标类型)缓存。源对象的元素必须符合声明的源类型
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 23:20
+ * Version: 1.0
+ */
+public abstract class RootCopier extends Copier {
+
+    private static final RootCopierKey KEY_FACTORY = (RootCopierKey) KeyFactory.create(RootCopierKey.class);
+
+    private static final Type ROOT_COPIER = TypeUtils.parseType(RootCopier.class.getName());
+
+    /**
+     * 按(源类型, 目标类型, useFilter, useConverter, selector)缓存的拷贝器
+     */
+    private static final Map<List<Object>, RootCopier> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * MethodName: create
+     * Description: 按声明的源类型与目标类型创建拷贝器，相同的类型与配置返回缓存的拷贝器
+     *
+     * @param sourceType 源类型，集合、Map或者数组，元素类型缺失时为Object
+     * @param targetType 目标类型，集合、Map或者数组，元素类型缺失时为Object
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 23:20
+     * Version: 1.0
+     */
+    public static RootCopier create(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType, boolean useFilter, boolean useConverter, BeanPropertySelector selector) {
+        return CACHE.computeIfAbsent(Arrays.asList(sourceType, targetType, useFilter, useConverter, selector),
+                k -> generate(sourceType, targetType, useFilter, useConverter, selector));
+    }
+
+    private static RootCopier generate(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType, boolean useFilter, boolean useConverter, BeanPropertySelector selector) {
+        Class<?> targetClass = TypeRef.rawType(targetType);
+        Class<?> sourceClass = TypeRef.rawType(sourceType);
+        if (targetClass.isArray()) {
+            if (!sourceClass.isArray()) {
+                throw new IllegalArgumentException(sourceType.getTypeName() + "不能拷贝到数组" + targetType.getTypeName());
+            }
+        } else if (Map.class.isAssignableFrom(targetClass)) {
+            if (!Map.class.isAssignableFrom(sourceClass)) {
+                throw new IllegalArgumentException(sourceType.getTypeName() + "不能拷贝到Map" + targetType.getTypeName());
+            }
+        } else if (Collection.class.isAssignableFrom(targetClass)) {
+            if (!Collection.class.isAssignableFrom(sourceClass)) {
+                throw new IllegalArgumentException(sourceType.getTypeName() + "不能拷贝到集合" + targetType.getTypeName());
+            }
+        } else {
+            throw new IllegalArgumentException(targetType.getTypeName() + "不是集合、Map或者数组");
+        }
+
+        Generator gen = new Generator();
+        gen.setCopier(Copier.generator(sourceClass, targetClass, useFilter, useConverter, Collections.emptyMap(), selector));
+        gen.setTypes(sourceType, targetType);
+        return gen.create();
+    }
+
+    /**
+     * MethodName: copy
+     * Description: 拷贝到已有的集合或者Map，目标原有的内容被替换
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 23:20
+     * Version: 1.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+        Object copied = copyNew(source, filter, converter);
+        if (target instanceof Collection) {
+            ((Collection<Object>) target).clear();
+            ((Collection<Object>) target).addAll((Collection<Object>) copied);
+        } else if (target instanceof Map) {
+            ((Map<Object, Object>) target).clear();
+            ((Map<Object, Object>) target).putAll((Map<Object, Object>) copied);
+        } else {
+            throw new UnsupportedOperationException("只能拷贝到已有的集合或者Map");
+        }
+    }
+
+    /**
+     * 内部字节码代码生成，拷贝代码的生成委托给Copier.Generator
+     */
+    public static class Generator extends AbstractClassGenerator<RootCopier> {
+
+        private static final Source SOURCE = new Source(RootCopier.class.getName());
+
+        private Copier.Generator copier;
+        private java.lang.reflect.Type sourceType;
+        private java.lang.reflect.Type targetType;
+
+        /**
+         * 决定类加载器与保护域的类，取第一个不是由启动类加载器加载的类型
+         */
+        private Class<?> owner = RootCopier.class;
+
+        Generator() {
+            super(SOURCE);
+        }
+
+        void setCopier(Copier.Generator copier) {
+            this.copier = copier;
+        }
+
+        void setTypes(java.lang.reflect.Type sourceType, java.lang.reflect.Type targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            List<Class<?>> types = new ArrayList<>();
+            classes(targetType, types);
+            classes(sourceType, types);
+            for (int i = types.size() - 1; i >= 0; i--) {
+                Class<?> type = types.get(i);
+                while (type.isArray()) {
+                    type = type.getComponentType();
+                }
+                if (!Modifier.isPublic(type.getModifiers())) {
+                    setNamePrefix(type.getName());
+                }
+                if (type.getClassLoader() != null) {
+                    owner = type;
+                }
+            }
+        }
+
+        /**
+         * 类型中出现的所有类，泛型类型先记录原始类型再记录类型参数
+         */
+        private static void classes(java.lang.reflect.Type type, List<Class<?>> types) {
+            types.add(TypeRef.rawType(type));
+            if (type instanceof ParameterizedType) {
+                for (java.lang.reflect.Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                    classes(argument, types);
+                }
+            } else if (type instanceof GenericArrayType) {
+                classes(((GenericArrayType) type).getGenericComponentType(), types);
+            }
+        }
+
+        @Override
+        protected ClassLoader getDefaultClassLoader() {
+            return owner.getClassLoader();
+        }
+
+        @Override
+        protected ProtectionDomain getProtectionDomain() {
+            return ReflectUtils.getProtectionDomain(owner);
+        }
+
+        public RootCopier create() {
+            return (RootCopier) super.create(KEY_FACTORY.newInstance(sourceType.getTypeName(), targetType.getTypeName(), copier.isUseFilter(), copier.isUseConverter(), copier.getSelector()));
+        }
+
+        @Override
+        public void generateClass(ClassVisitor v) {
+            ClassEmitter ce = new ClassEmitter(v);
+            ce.begin_class(Opcodes.V1_2, Constants.ACC_PUBLIC, getClassName(), ROOT_COPIER, null, Constants.SOURCE_FILE);
+            EmitUtils.null_constructor(ce);
+            copier.generateRoot(ce, sourceType, targetType);
+            ce.end_class();
+        }
+
+        @Override
+        protected Object firstInstance(Class type) {
+            copier.initialize(MethodHandles.publicLookup(), type);
+            return ReflectUtils.newInstance(type);
+        }
+
+        @Override
+        protected Object nextInstance(Object instance) {
+            return instance;
+        }
+    }
+
+    public interface RootCopierKey {
+
+        /**
+         * Method Name: newInstance
+         * Description: 创建对象
+         *
+         * @param sourceTypeName 源泛型类型名
+         * @param targetTypeName 目标泛型类型名
+         * @param useFilter      使用过滤器
+         * @param useConvert     使用转换器
+         * @param selector       属性选择器
+         * @author lpzahd
+         * Create DateTime: 2026/10/19 23:20
+         * Version: 1.0
+         */
+        Object newInstance(String sourceTypeName, String targetTypeName, boolean useFilter, boolean useConvert, Object selector);
+
+    }
+}
@@ -0,0 +1,331 @@
+package com.lpzahd.cglib;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Class Name: SnapshotFile
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 只追加的对象快照文件，对象由{@link BeanCodec}直接编码到FileChannel.map映射的内存，读取时也直接从映射的内存解码，
+ * 中间不经过字节数组。文件头为魔数(int)、编码格式版本(int)与布局版本(long)，之后每条记录为记录长度(int，包括记录头)、对象编码的CRC32(int)加编码的对象。
+ * 追加时按区域以READ_WRITE映射，区域不够写入一个对象时从该对象开始重新映射更大的区域，文件随映射增长，末尾未写入的部分内容为0且不会截断；
+ * 读取只以READ_ONLY映射文件已有的部分，只读打开不改变文件。记录长度最后写入，打开时从文件头向后扫描到长度为0的位置即为文件末尾，
+ * 追加时崩溃留下的长度或者CRC32不正确的记录及其之后的内容被丢弃，可写打开时清零。公开方法都已同步
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 03:20
+ * Version: 1.0
+ */
+public final class SnapshotFile implements Closeable {
+
+    /**
+     * 文件头魔数，"CGSN"
+     */
+    public static final int MAGIC = 0x4347534e;
+
+    private static final int HEADER_SIZE = 16;
+    /**
+     * 记录头：记录长度(int)与对象编码的CRC32(int)
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MIN_REGION_SIZE = 1 << 20;
+    private static final int MAX_REGION_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final BeanCodec codec;
+    private final boolean writable;
+
+    private MappedByteBuffer region;
+    private boolean regionWritable;
+    private long regionStart;
+    private int regionSize = MIN_REGION_SIZE;
+
+    /**
+     * 下一条记录的位置
+     */
+    private long end = HEADER_SIZE;
+    private long count;
+    private boolean closed;
+
+    private SnapshotFile(FileChannel channel, BeanCodec codec, boolean writable) {
+        this.channel = channel;
+        this.codec = codec;
+        this.writable = writable;
+    }
+
+    /**
+     * MethodName: open
+     * Description: 打开或者创建快照文件，已有文件的魔数、编码格式版本或者布局版本与codec不一致时抛出IllegalArgumentException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public static SnapshotFile open(Path path, BeanCodec codec) throws IOException {
+        return open(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE), codec, true);
+    }
+
+    /**
+     * MethodName: openReadOnly
+     * Description: 只读打开已有的快照文件，不映射或者修改文件已有内容之外的部分，append时抛出IllegalStateException
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public static SnapshotFile openReadOnly(Path path, BeanCodec codec) throws IOException {
+        return open(FileChannel.open(path, StandardOpenOption.READ), codec, false);
+    }
+
+    private static SnapshotFile open(FileChannel channel, BeanCodec codec, boolean writable) throws IOException {
+        try {
+            SnapshotFile file = new SnapshotFile(channel, codec, writable);
+            file.init();
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void init() throws IOException {
+        long size = channel.size();
+        if (size == 0 && writable) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, BeanCodec.FORMAT_VERSION);
+            header.putLong(8, codec.getLayoutVersion());
+            write(header, 0);
+            return;
+        }
+        if (size < HEADER_SIZE) {
+            throw new IllegalArgumentException("文件长度" + size + "小于快照文件头");
+        }
+        ByteBuffer header = map(0, HEADER_SIZE, false);
+        if (header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("不是快照文件");
+        }
+        if (header.getInt(4) != BeanCodec.FORMAT_VERSION) {
+            throw new IllegalArgumentException("快照文件的编码格式版本" + header.getInt(4) + "与当前版本" + BeanCodec.FORMAT_VERSION + "不一致");
+        }
+        if (header.getLong(8) != codec.getLayoutVersion()) {
+            throw new IllegalArgumentException("快照文件的布局版本与" + codec.getType().getName() + "当前的属性不一致");
+        }
+        long position = HEADER_SIZE;
+        boolean torn = false;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            int length = map(position, RECORD_HEADER_SIZE, false).getInt(offset(position));
+            if (length == 0) {
+                break;
+            }
+            if (length < RECORD_HEADER_SIZE || position + length > size || !valid(position, length)) {
+                // 追加时崩溃留下的不完整记录
+                torn = true;
+                break;
+            }
+            position += length;
+            count++;
+        }
+        end = position;
+        if (torn && writable) {
+            // 清零不完整的记录以及之后的内容，之后追加的记录末尾不会接上残留的数据
+            region = null;
+            ByteBuffer zeros = ByteBuffer.allocate((int) Math.min(MIN_REGION_SIZE, size - end));
+            for (long i = end; i < size; i += zeros.capacity()) {
+                zeros.clear();
+                zeros.limit((int) Math.min(zeros.capacity(), size - i));
+                write(zeros, i);
+            }
+        }
+    }
+
+    /**
+     * 记录数量
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * MethodName: append
+     * Description: 在文件末尾追加一个对象，编码失败时文件内容不变
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    public synchronized void append(Object bean) throws IOException {
+        ensureOpen();
+        if (!writable) {
+            throw new IllegalStateException("快照文件以只读方式打开");
+        }
+        long required = RECORD_HEADER_SIZE + 1;
+        while (true) {
+            ByteBuffer buffer = map(end, (int) required, true);
+            int start = offset(end);
+            buffer.limit(buffer.capacity());
+            buffer.position(start + RECORD_HEADER_SIZE);
+            try {
+                codec.encode(bean, buffer);
+            } catch (BufferOverflowException ex) {
+                clear(buffer, start, buffer.position());
+                required = (long) (buffer.capacity() - start) * 2;
+                if (required > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("单个对象的编码超过2GB");
+                }
+                continue;
+            } catch (RuntimeException ex) {
+                clear(buffer, start, buffer.position());
+                throw ex;
+            }
+            int length = buffer.position() - start;
+            buffer.putInt(start + 4, checksum(buffer, start, length));
+            // 记录长度最后写入，长度不为0的记录都已经写完
+            buffer.putInt(start, length);
+            end += length;
+            count++;
+            return;
+        }
+    }
+
+    /**
+     * MethodName: forEach
+     * Description: 按写入顺序解码每个对象，每个对象直接从映射的内存读取
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> void forEach(Consumer<? super T> action) throws IOException {
+        ensureOpen();
+        long position = HEADER_SIZE;
+        while (position < end) {
+            int length = map(position, RECORD_HEADER_SIZE, false).getInt(offset(position));
+            ByteBuffer record = map(position, length, false).duplicate();
+            int start = offset(position);
+            record.limit(start + length);
+            record.position(start + RECORD_HEADER_SIZE);
+            position += length;
+            action.accept((T) codec.decode(record));
+        }
+    }
+
+    public <T> List<T> readAll() throws IOException {
+        List<T> beans = new ArrayList<>((int) Math.min(size(), Integer.MAX_VALUE - 8));
+        this.<T>forEach(beans::add);
+        return beans;
+    }
+
+    /**
+     * 把映射区域与文件内容写入存储设备
+     */
+    public synchronized void force() throws IOException {
+        ensureOpen();
+        if (!writable) {
+            return;
+        }
+        if (region != null && regionWritable) {
+            region.force();
+        }
+        channel.force(false);
+    }
+
+    /**
+     * MethodName: close
+     * Description: 写入映射区域并关闭文件，映射的内存在回收后释放。映射仍然有效时截断文件的行为没有规定，所以不截断末尾内容为0的部分
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 03:20
+     * Version: 1.0
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (region != null && regionWritable) {
+                region.force();
+            }
+            region = null;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * 映射包括[position, position + minimum)的区域，当前区域已经包括并且满足读写要求时直接返回，否则从position开始重新映射。
+     * 写入时以READ_WRITE映射整个区域，读取时以READ_ONLY映射区域中文件已有的部分
+     */
+    private MappedByteBuffer map(long position, int minimum, boolean write) throws IOException {
+        if (region == null || (write && !regionWritable) || position < regionStart || position + minimum > regionStart + region.capacity()) {
+            while (regionSize < minimum && regionSize < MAX_REGION_SIZE) {
+                regionSize <<= 1;
+            }
+            long size = Math.max(regionSize, minimum);
+            if (write) {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+            } else {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.max(minimum, Math.min(size, channel.size() - position)));
+            }
+            regionWritable = write;
+            regionStart = position;
+        }
+        return region;
+    }
+
+    /**
+     * 记录头中的CRC32与对象编码一致
+     */
+    private boolean valid(long position, int length) throws IOException {
+        ByteBuffer record = map(position, length, false);
+        int start = offset(position);
+        return record.getInt(start + 4) == checksum(record, start, length);
+    }
+
+    /**
+     * 记录中对象编码的CRC32，start为记录在buffer中的位置
+     */
+    private static int checksum(ByteBuffer buffer, int start, int length) {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(start + length);
+        body.position(start + RECORD_HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private int offset(long position) {
+        return (int) (position - regionStart);
+    }
+
+    private static void clear(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("快照文件已经关闭");
+        }
+    }
+}
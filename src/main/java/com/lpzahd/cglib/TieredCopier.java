@@ -0,0 +1,128 @@
+package com.lpzahd.cglib;
+
+import net.sf.cglib.core.Converter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class Name: TieredCopier
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 分层拷贝实现，先由{@link ReflectCopier}提供拷贝，调用次数达到阈值后在后台生成字节码拷贝器并替换。
+ * 执行器拒绝生成任务时下一次调用重新提交，生成失败时继续使用反射拷贝并记录失败原因，见{@link #getFailure()}
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 10:40
+ * Version: 1.0
+ */
+public class TieredCopier extends Copier {
+
+    /**
+     * 后台生成字节码的线程，守护线程不阻止jvm退出
+     */
+    private static final ExecutorService GENERATOR_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cglib-copier-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Generator generator;
+    private final CopierEngine engine;
+
+    private final int threshold;
+    private final Executor executor;
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicBoolean submitted = new AtomicBoolean();
+
+    private volatile Copier delegate;
+    private volatile boolean generated = false;
+    private volatile Throwable failure;
+
+    private TieredCopier(Generator generator, CopierEngine engine, int threshold, Executor executor) {
+        this.generator = generator;
+        this.engine = engine;
+        this.threshold = threshold;
+        this.executor = executor;
+        this.delegate = ReflectCopier.create(generator);
+    }
+
+    public static TieredCopier create(Generator generator, CopierEngine engine, int threshold) {
+        return create(generator, engine, threshold, GENERATOR_EXECUTOR);
+    }
+
+    /**
+     * MethodName: create
+     * Description: 创建分层拷贝器，generator中的配置同时用于反射拷贝与之后生成的字节码拷贝器
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/19 10:45
+     * Version: 1.0
+     */
+    public static TieredCopier create(Generator generator, CopierEngine engine, int threshold, Executor executor) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold必须大于0");
+        }
+        return new TieredCopier(generator, engine, threshold, executor);
+    }
+
+    @Override
+    public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+        count();
+        delegate.copy(source, target, filter, converter);
+    }
+
+    @Override
+    public Object copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        count();
+        return delegate.copyNew(source, filter, converter);
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return delegate.getTargetClass();
+    }
+
+    /**
+     * 是否已经切换到字节码拷贝器
+     */
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * 生成字节码拷贝器失败的原因，还没有生成或者已经生成时返回null，失败后不再重新生成
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public int getInvocations() {
+        return invocations.get();
+    }
+
+    private void count() {
+        if (!generated && invocations.incrementAndGet() >= threshold && !submitted.get() && submitted.compareAndSet(false, true)) {
+            // 只有一个线程负责提交生成任务
+            try {
+                executor.execute(this::generate);
+            } catch (RejectedExecutionException ex) {
+                // 执行器饱和时继续使用反射拷贝，下一次调用重新提交
+                submitted.set(false);
+            }
+        }
+    }
+
+    private void generate() {
+        try {
+            delegate = engine.create(generator);
+            generated = true;
+        } catch (RuntimeException | LinkageError ex) {
+            // 生成失败时继续使用反射拷贝，不影响调用方
+            failure = ex;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.lpzahd.cglib;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Class Name: TypeRef
+ * Package: com.lpzahd.ease.framework.cglib
+ * Description: 保留泛型信息的类型引用，通过匿名子类创建：new TypeRef&lt;List&lt;OrderDto&gt;&gt;(){}
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 23:20
+ * Version: 1.0
+ */
+public abstract class TypeRef<T> {
+
+    private final Type type;
+
+    protected TypeRef() {
+        Type superclass = getClass().getGenericSuperclass();
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("TypeRef需要通过带泛型参数的匿名子类创建");
+        }
+        this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 类型擦除后的类，通配符取上界，类型变量取Object
+     */
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return java.lang.reflect.Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+}
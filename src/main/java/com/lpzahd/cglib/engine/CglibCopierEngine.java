@@ -0,0 +1,20 @@
+package com.lpzahd.cglib.engine;
+
+import com.lpzahd.cglib.Copier;
+import com.lpzahd.cglib.CopierEngine;
+
+/**
+ * Class Name: CglibCopierEngine
+ * Package: com.lpzahd.ease.framework.cglib.engine
+ * Description: 基于cglib AbstractClassGenerator的生成方式，拷贝类定义在源对象的类加载器中并由cglib缓存
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 11:08
+ * Version: 1.0
+ */
+public class CglibCopierEngine implements CopierEngine {
+
+    @Override
+    public Copier create(Copier.Generator generator) {
+        return generator.create();
+    }
+}
@@ -0,0 +1,147 @@
+package com.lpzahd.cglib.engine;
+
+import com.lpzahd.cglib.Copier;
+import com.lpzahd.cglib.CopierEngine;
+import net.sf.cglib.core.CodeGenerationException;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class Name: HiddenClassCopierEngine
+ * Package: com.lpzahd.ease.framework.cglib.engine
+ * Description: 基于MethodHandles.Lookup#defineHiddenClass的生成方式(JDK 15+)，
+ * 拷贝类不被类加载器强引用，拷贝实例不再被引用后即可卸载。
+ * 拷贝类定义在源类型或者目标类型(见{@link #host})所在的包中，宿主类型在命名模块中时，该模块需要向本库所在的模块open宿主类型的包，
+ * 例如在module-info中声明opens，本库在classpath上时启动参数添加--add-opens 模块/包=ALL-UNNAMED，否则创建时抛出IllegalArgumentException
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 11:12
+ * Version: 1.0
+ */
+public class HiddenClassCopierEngine implements CopierEngine {
+
+    /**
+     * 生成的class文件版本，V11起支持ConstantDynamic
+     */
+    private static final int CLASS_VERSION = Opcodes.V11;
+
+    private static final String CLASS_NAME_SUFFIX = "$$CopierByHiddenClass$$";
+
+    private static final MethodHandle DEFINE_HIDDEN_CLASS;
+
+    private static final Object NO_OPTIONS;
+
+    static {
+        MethodHandle defineHiddenClass = null;
+        Object options = null;
+        try {
+            // 项目以JDK 11为基线，通过反射获取JDK 15+的api
+            Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            options = Array.newInstance(classOption, 0);
+            defineHiddenClass = MethodHandles.publicLookup().findVirtual(MethodHandles.Lookup.class, "defineHiddenClass",
+                    MethodType.methodType(MethodHandles.Lookup.class, byte[].class, boolean.class, options.getClass()));
+        } catch (ReflectiveOperationException ignore) {
+            // 当前JDK不支持hidden class
+        }
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NO_OPTIONS = options;
+    }
+
+    private final AtomicInteger index = new AtomicInteger();
+
+    /**
+     * 当前运行的JDK是否支持hidden class
+     */
+    public static boolean isSupported() {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    @Override
+    public Copier create(Copier.Generator generator) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("当前JDK不支持hidden class，需要JDK 15+");
+        }
+        Class<?> host = host(generator.getSource(), generator.getTarget());
+        Module module = host.getModule();
+        if (!module.isOpen(host.getPackageName(), HiddenClassCopierEngine.class.getModule())) {
+            throw new IllegalArgumentException("模块" + module.getName() + "没有向" + HiddenClassCopierEngine.class.getModule() + "开放包" + host.getPackageName()
+                    + "，hidden class无法定义在" + host.getName() + "所在的包中，请open该包或者使用CopierEngine.CGLIB_ENGINE");
+        }
+        String className = host.getName() + CLASS_NAME_SUFFIX + index.incrementAndGet();
+        ClassWriter writer = new FrameComputingClassWriter(host.getClassLoader());
+        try {
+            byte[] bytes = generator.generateBytecode(writer, className, CLASS_VERSION, "hidden-class");
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+            MethodHandles.Lookup hidden = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, bytes, true, NO_OPTIONS);
+            generator.initialize(hidden, hidden.lookupClass());
+            return (Copier) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    /**
+     * hidden class必须与lookup类在同一个包中，以不是public的源类型或者目标类型为宿主，都是public时以源类型为宿主；
+     * 两者都不是public并且不在同一个包中时无法生成
+     */
+    static Class<?> host(Class<?> source, Class<?> target) {
+        if (Modifier.isPublic(target.getModifiers())) {
+            return source;
+        }
+        if (Modifier.isPublic(source.getModifiers())) {
+            return target;
+        }
+        if (!source.getPackageName().equals(target.getPackageName())) {
+            throw new IllegalArgumentException(source.getName() + "与" + target.getName() + "都不是public并且不在同一个包中，hidden class无法同时访问");
+        }
+        return source;
+    }
+
+    /**
+     * 新版本class文件必须带有栈帧，合并类型时使用源对象的类加载器解析
+     */
+    private static class FrameComputingClassWriter extends ClassWriter {
+
+        private static final String OBJECT = "java/lang/Object";
+
+        private final ClassLoader classLoader;
+
+        private FrameComputingClassWriter(ClassLoader classLoader) {
+            super(ClassWriter.COMPUTE_FRAMES);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected String getCommonSuperClass(String type1, String type2) {
+            Class<?> c1;
+            Class<?> c2;
+            try {
+                c1 = Class.forName(type1.replace('/', '.'), false, classLoader);
+                c2 = Class.forName(type2.replace('/', '.'), false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return OBJECT;
+            }
+            if (c1.isAssignableFrom(c2)) {
+                return type1;
+            }
+            if (c2.isAssignableFrom(c1)) {
+                return type2;
+            }
+            if (c1.isInterface() || c2.isInterface()) {
+                return OBJECT;
+            }
+            do {
+                c1 = c1.getSuperclass();
+            } while (!c1.isAssignableFrom(c2));
+            return c1.getName().replace('.', '/');
+        }
+    }
+}
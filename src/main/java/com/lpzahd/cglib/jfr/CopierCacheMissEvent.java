@@ -0,0 +1,25 @@
+package com.lpzahd.cglib.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Class Name: CopierCacheMissEvent
+ * Package: com.lpzahd.ease.framework.cglib.jfr
+ * Description: CopierBuilder缓存未命中事件，持续时间为创建拷贝器的耗时
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 14:25
+ * Version: 1.0
+ */
+@Name("com.lpzahd.cglib.CopierCacheMiss")
+@Label("Copier Cache Miss")
+@Category({"cglib", "Copier"})
+@Description("CopierBuilder缓存中没有对应的拷贝器，需要新建")
+public class CopierCacheMissEvent extends Event {
+
+    @Label("Source Class")
+    public Class<?> sourceClass;
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+}
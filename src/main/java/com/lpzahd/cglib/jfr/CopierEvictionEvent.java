@@ -0,0 +1,26 @@
+package com.lpzahd.cglib.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Class Name: CopierEvictionEvent
+ * Package: com.lpzahd.ease.framework.cglib.jfr
+ * Description: CopierBuilder缓存移除拷贝器事件
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 14:27
+ * Version: 1.0
+ */
+@Name("com.lpzahd.cglib.CopierEviction")
+@Label("Copier Eviction")
+@Category({"cglib", "Copier"})
+@Description("拷贝器从CopierBuilder缓存中移除")
+@StackTrace(false)
+public class CopierEvictionEvent extends Event {
+
+    @Label("Source Class")
+    public Class<?> sourceClass;
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+}
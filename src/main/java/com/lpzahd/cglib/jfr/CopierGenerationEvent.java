@@ -0,0 +1,37 @@
+package com.lpzahd.cglib.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Class Name: CopierGenerationEvent
+ * Package: com.lpzahd.ease.framework.cglib.jfr
+ * Description: 拷贝类生成事件，由Copier.Generator在真正生成字节码时提交
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 14:20
+ * Version: 1.0
+ */
+@Name("com.lpzahd.cglib.CopierGeneration")
+@Label("Copier Generation")
+@Category({"cglib", "Copier"})
+@Description("生成拷贝类的耗时、属性数量与字节码大小")
+@StackTrace(false)
+public class CopierGenerationEvent extends Event {
+
+    @Label("Source Class")
+    public Class<?> sourceClass;
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+    @Label("Engine")
+    public String engine;
+
+    @Label("Property Count")
+    @Description("生成的代码中拷贝的属性数量，包含嵌套bean展开的属性")
+    public int propertyCount;
+
+    @Label("Bytecode Size")
+    @DataAmount
+    public int bytecodeSize;
+
+}
@@ -0,0 +1,27 @@
+package com.lpzahd.cglib.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Class Name: SlowCopyEvent
+ * Package: com.lpzahd.ease.framework.cglib.jfr
+ * Description: 慢拷贝事件，只有耗时超过阈值的拷贝才会被记录，阈值可以在录制配置中修改，
+ * 例如 com.lpzahd.cglib.SlowCopy#threshold=5 ms
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 14:30
+ * Version: 1.0
+ */
+@Name("com.lpzahd.cglib.SlowCopy")
+@Label("Slow Copy")
+@Category({"cglib", "Copier"})
+@Description("耗时超过阈值的抽样拷贝")
+@Threshold("1 ms")
+public class SlowCopyEvent extends Event {
+
+    @Label("Source Class")
+    public Class<?> sourceClass;
+
+    @Label("Target Class")
+    public Class<?> targetClass;
+
+}
@@ -0,0 +1,80 @@
+package com.lpzahd.cglib.jfr;
+
+import com.lpzahd.cglib.Copier;
+import com.lpzahd.cglib.Filter;
+import net.sf.cglib.core.Converter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class Name: SlowCopyRecordingCopier
+ * Package: com.lpzahd.ease.framework.cglib.jfr
+ * Description: 按抽样间隔对拷贝计时，超过阈值时提交SlowCopyEvent
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 14:36
+ * Version: 1.0
+ */
+public class SlowCopyRecordingCopier extends Copier {
+
+    private final Copier delegate;
+    private final Class<?> source;
+    private final Class<?> target;
+    private final int sampleInterval;
+
+    /**
+     * @param sampleInterval 平均每sampleInterval次拷贝计时一次，1表示每次都计时
+     */
+    public SlowCopyRecordingCopier(Copier delegate, Class<?> source, Class<?> target, int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("sampleInterval必须大于0");
+        }
+        this.delegate = delegate;
+        this.source = source;
+        this.target = target;
+        this.sampleInterval = sampleInterval;
+    }
+
+    @Override
+    public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+        if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+            delegate.copy(source, target, filter, converter);
+            return;
+        }
+        SlowCopyEvent event = new SlowCopyEvent();
+        event.begin();
+        delegate.copy(source, target, filter, converter);
+        event.end();
+        // shouldCommit内部根据录制配置的threshold判断是否需要写入
+        if (event.shouldCommit()) {
+            event.sourceClass = this.source;
+            event.targetClass = this.target;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+            return delegate.copyNew(source, filter, converter);
+        }
+        SlowCopyEvent event = new SlowCopyEvent();
+        event.begin();
+        Object target = delegate.copyNew(source, filter, converter);
+        event.end();
+        if (event.shouldCommit()) {
+            event.sourceClass = this.source;
+            event.targetClass = this.target;
+            event.commit();
+        }
+        return target;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return delegate.getTargetClass();
+    }
+
+    public Copier getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,175 @@
+package com.lpzahd.cglib.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class Name: CopierMetrics
+ * Package: com.lpzahd.ease.framework.cglib.metrics
+ * Description: 拷贝器指标，计数器使用LongAdder分段累加，多核并发记录时不互相竞争
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 13:10
+ * Version: 1.0
+ */
+public class CopierMetrics implements CopierMetricsMXBean {
+
+    /**
+     * 直方图桶数，最后一个桶统计所有超过2^(BUCKETS-2)纳秒(约1分钟)的拷贝
+     */
+    private static final int BUCKETS = 38;
+
+    private final Class<?> source;
+    private final Class<?> target;
+
+    private final LongAdder copyCount = new LongAdder();
+    private final LongAdder copyNanos = new LongAdder();
+    private final LongAdder[] latency = new LongAdder[BUCKETS];
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder generationCount = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+    private final LongAdder cacheHit = new LongAdder();
+    private final LongAdder cacheMiss = new LongAdder();
+
+    CopierMetrics(Class<?> source, Class<?> target) {
+        this.source = source;
+        this.target = target;
+        for (int i = 0; i < BUCKETS; i++) {
+            latency[i] = new LongAdder();
+        }
+    }
+
+    public void recordCopy(long nanos, long bytes) {
+        copyCount.increment();
+        copyNanos.add(nanos);
+        latency[bucket(nanos)].increment();
+        if (bytes > 0) {
+            allocatedBytes.add(bytes);
+        }
+    }
+
+    public void recordGeneration(long nanos) {
+        generationCount.increment();
+        generationNanos.add(nanos);
+    }
+
+    public void recordCacheHit() {
+        cacheHit.increment();
+    }
+
+    public void recordCacheMiss() {
+        cacheMiss.increment();
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)), BUCKETS - 1);
+    }
+
+    @Override
+    public String getSourceClass() {
+        return source.getName();
+    }
+
+    @Override
+    public String getTargetClass() {
+        return target.getName();
+    }
+
+    @Override
+    public long getCopyCount() {
+        return copyCount.sum();
+    }
+
+    @Override
+    public long getCopyTotalNanos() {
+        return copyNanos.sum();
+    }
+
+    @Override
+    public double getCopyMeanNanos() {
+        long count = copyCount.sum();
+        return count == 0 ? 0 : (double) copyNanos.sum() / count;
+    }
+
+    @Override
+    public long[] getCopyLatencyHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = latency[i].sum();
+        }
+        return histogram;
+    }
+
+    @Override
+    public long getCopyLatencyP50Nanos() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getCopyLatencyP99Nanos() {
+        return percentile(0.99);
+    }
+
+    private long percentile(double percentile) {
+        long[] histogram = getCopyLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return InstrumentedCopier.isAllocationSupported() ? allocatedBytes.sum() : -1;
+    }
+
+    @Override
+    public double getAllocatedBytesPerCopy() {
+        long count = copyCount.sum();
+        return count == 0 || !InstrumentedCopier.isAllocationSupported() ? 0 : (double) allocatedBytes.sum() / count;
+    }
+
+    @Override
+    public long getGenerationCount() {
+        return generationCount.sum();
+    }
+
+    @Override
+    public long getGenerationTotalNanos() {
+        return generationNanos.sum();
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return cacheHit.sum();
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return cacheMiss.sum();
+    }
+
+    @Override
+    public void reset() {
+        copyCount.reset();
+        copyNanos.reset();
+        for (LongAdder adder : latency) {
+            adder.reset();
+        }
+        allocatedBytes.reset();
+        generationCount.reset();
+        generationNanos.reset();
+        cacheHit.reset();
+        cacheMiss.reset();
+    }
+}
@@ -0,0 +1,67 @@
+package com.lpzahd.cglib.metrics;
+
+/**
+ * Class Name: CopierMetricsMXBean
+ * Package: com.lpzahd.ease.framework.cglib.metrics
+ * Description: 单个(源类型, 目标类型)拷贝器的JMX指标
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 13:02
+ * Version: 1.0
+ */
+public interface CopierMetricsMXBean {
+
+    String getSourceClass();
+
+    String getTargetClass();
+
+    /**
+     * 拷贝次数
+     */
+    long getCopyCount();
+
+    /**
+     * 拷贝总耗时(纳秒)
+     */
+    long getCopyTotalNanos();
+
+    /**
+     * 平均拷贝耗时(纳秒)
+     */
+    double getCopyMeanNanos();
+
+    /**
+     * 拷贝耗时直方图，下标i的桶统计耗时在[2^(i-1), 2^i)纳秒之间的拷贝次数
+     */
+    long[] getCopyLatencyHistogram();
+
+    /**
+     * 根据直方图估算的耗时分位数(纳秒)，取所在桶的上界
+     */
+    long getCopyLatencyP50Nanos();
+
+    long getCopyLatencyP99Nanos();
+
+    /**
+     * 拷贝期间当前线程分配的总字节数，jvm不支持时为-1
+     */
+    long getAllocatedBytes();
+
+    double getAllocatedBytesPerCopy();
+
+    /**
+     * 拷贝类生成次数
+     */
+    long getGenerationCount();
+
+    /**
+     * 拷贝类生成总耗时(纳秒)
+     */
+    long getGenerationTotalNanos();
+
+    long getCacheHitCount();
+
+    long getCacheMissCount();
+
+    void reset();
+
+}
@@ -0,0 +1,69 @@
+package com.lpzahd.cglib.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class Name: CopierMetricsRegistry
+ * Package: com.lpzahd.ease.framework.cglib.metrics
+ * Description: 按(源类型, 目标类型)管理拷贝器指标，并注册为JMX MBean
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 13:25
+ * Version: 1.0
+ */
+public final class CopierMetricsRegistry {
+
+    private static final String DOMAIN = "com.lpzahd.cglib";
+
+    private static final Map<List<Class<?>>, CopierMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private CopierMetricsRegistry() {
+    }
+
+    public static CopierMetrics get(Class<?> source, Class<?> target) {
+        return METRICS.computeIfAbsent(Arrays.asList(source, target), key -> register(new CopierMetrics(source, target)));
+    }
+
+    public static Collection<CopierMetrics> all() {
+        return METRICS.values();
+    }
+
+    private static CopierMetrics register(CopierMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(metrics.getSourceClass(), metrics.getTargetClass());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException | SecurityException ignore) {
+            // 注册失败不影响指标记录
+        }
+        return metrics;
+    }
+
+    /**
+     * 注册驻留池的指标，注册失败不影响驻留
+     */
+    public static void register(InterningPoolMXBean pool) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":type=InterningPool,name=" + ObjectName.quote(pool.getName()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(pool, name);
+            }
+        } catch (JMException | SecurityException ignore) {
+            // 注册失败不影响驻留
+        }
+    }
+
+    public static ObjectName objectName(String source, String target) throws JMException {
+        return new ObjectName(DOMAIN + ":type=CopierMetrics,source=" + ObjectName.quote(source) + ",target=" + ObjectName.quote(target));
+    }
+}
@@ -0,0 +1,89 @@
+package com.lpzahd.cglib.metrics;
+
+import com.lpzahd.cglib.Copier;
+import com.lpzahd.cglib.Filter;
+import net.sf.cglib.core.Converter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Class Name: InstrumentedCopier
+ * Package: com.lpzahd.ease.framework.cglib.metrics
+ * Description: 记录拷贝耗时与线程分配字节数的拷贝器包装，只在开启指标时由CopierBuilder创建
+ * @author lpzahd
+ * Create DateTime: 2026/10/19 13:40
+ * Version: 1.0
+ */
+public class InstrumentedCopier extends Copier {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = allocationThreadMXBean();
+
+    private final Copier delegate;
+    private final CopierMetrics metrics;
+
+    public InstrumentedCopier(Copier delegate, CopierMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationThreadMXBean() {
+        try {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (LinkageError | RuntimeException ignore) {
+            // 非HotSpot虚拟机
+        }
+        return null;
+    }
+
+    static boolean isAllocationSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    @Override
+    public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+        long threadId = Thread.currentThread().getId();
+        long allocated = THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        try {
+            delegate.copy(source, target, filter, converter);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long bytes = THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocated;
+            metrics.recordCopy(nanos, bytes);
+        }
+    }
+
+    @Override
+    public Object copyNew(Object source, Filter<?, ?> filter, Converter converter) {
+        long threadId = Thread.currentThread().getId();
+        long allocated = THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        try {
+            return delegate.copyNew(source, filter, converter);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long bytes = THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocated;
+            metrics.recordCopy(nanos, bytes);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return delegate.getTargetClass();
+    }
+
+    public Copier getDelegate() {
+        return delegate;
+    }
+
+    public CopierMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,31 @@
+package com.lpzahd.cglib.metrics;
+
+/**
+ * Class Name: InterningPoolMXBean
+ * Package: com.lpzahd.ease.framework.cglib.metrics
+ * Description: 拷贝时驻留值使用的驻留池的JMX指标
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 01:40
+ * Version: 1.0
+ */
+public interface InterningPoolMXBean {
+
+    String getName();
+
+    /**
+     * 槽位数量，最多同时驻留的值数量
+     */
+    int getCapacity();
+
+    /**
+     * 命中次数：池中已有相等的值，返回池中的实例
+     */
+    long getHitCount();
+
+    /**
+     * 未命中次数：值放入池中，可能替换同一槽位上的旧值
+     */
+    long getMissCount();
+
+    double getHitRate();
+}
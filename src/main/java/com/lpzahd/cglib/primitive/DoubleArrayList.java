@@ -0,0 +1,130 @@
+package com.lpzahd.cglib.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Class Name: DoubleArrayList
+ * Package: com.lpzahd.ease.framework.cglib.primitive
+ * Description: 以double[]保存元素的List，每个元素只占8个字节，元素不能为null。按下标读写时使用getDouble、setDouble、addDouble不会装箱，
+ * 拷贝时与Collection&lt;Double&gt;、double[]属性之间按基本类型拷贝
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 00:20
+ * Version: 1.0
+ */
+public class DoubleArrayList extends AbstractList<Double> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double[] EMPTY = new double[0];
+
+    private double[] elements;
+    private int size;
+
+    public DoubleArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public DoubleArrayList(int capacity) {
+        this.elements = new double[capacity];
+    }
+
+    /**
+     * MethodName: wrap
+     * Description: 直接使用array作为存储，不复制，之后对array的修改对列表可见
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 00:20
+     * Version: 1.0
+     */
+    public static DoubleArrayList wrap(double[] array) {
+        DoubleArrayList list = new DoubleArrayList();
+        list.elements = array;
+        list.size = array.length;
+        return list;
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public double setDouble(int index, double value) {
+        checkIndex(index);
+        double old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    public void addDouble(double value) {
+        grow(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * 元素复制到新的数组
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+        return setDouble(index, value);
+    }
+
+    @Override
+    public void add(int index, Double value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        double unboxed = value;
+        grow(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = unboxed;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Double remove(int index) {
+        checkIndex(index);
+        double old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    private void grow(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length + (elements.length >> 1) + 1));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
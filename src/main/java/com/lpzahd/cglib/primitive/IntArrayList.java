@@ -0,0 +1,130 @@
+package com.lpzahd.cglib.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Class Name: IntArrayList
+ * Package: com.lpzahd.ease.framework.cglib.primitive
+ * Description: 以int[]保存元素的List，每个元素只占4个字节，元素不能为null。按下标读写时使用getInt、setInt、addInt不会装箱，
+ * 拷贝时与Collection&lt;Integer&gt;、int[]属性之间按基本类型拷贝
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 00:20
+ * Version: 1.0
+ */
+public class IntArrayList extends AbstractList<Integer> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public IntArrayList(int capacity) {
+        this.elements = new int[capacity];
+    }
+
+    /**
+     * MethodName: wrap
+     * Description: 直接使用array作为存储，不复制，之后对array的修改对列表可见
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 00:20
+     * Version: 1.0
+     */
+    public static IntArrayList wrap(int[] array) {
+        IntArrayList list = new IntArrayList();
+        list.elements = array;
+        list.size = array.length;
+        return list;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public int setInt(int index, int value) {
+        checkIndex(index);
+        int old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    public void addInt(int value) {
+        grow(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * 元素复制到新的数组
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        return setInt(index, value);
+    }
+
+    @Override
+    public void add(int index, Integer value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int unboxed = value;
+        grow(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = unboxed;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        checkIndex(index);
+        int old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    private void grow(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length + (elements.length >> 1) + 1));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
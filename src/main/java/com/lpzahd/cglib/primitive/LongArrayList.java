@@ -0,0 +1,130 @@
+package com.lpzahd.cglib.primitive;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Class Name: LongArrayList
+ * Package: com.lpzahd.ease.framework.cglib.primitive
+ * Description: 以long[]保存元素的List，每个元素只占8个字节，元素不能为null。按下标读写时使用getLong、setLong、addLong不会装箱，
+ * 拷贝时与Collection&lt;Long&gt;、long[]属性之间按基本类型拷贝
+ *
+ * @author lpzahd
+ * Create DateTime: 2026/10/20 00:20
+ * Version: 1.0
+ */
+public class LongArrayList extends AbstractList<Long> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public LongArrayList(int capacity) {
+        this.elements = new long[capacity];
+    }
+
+    /**
+     * MethodName: wrap
+     * Description: 直接使用array作为存储，不复制，之后对array的修改对列表可见
+     *
+     * @author lpzahd
+     * Create DateTime: 2026/10/20 00:20
+     * Version: 1.0
+     */
+    public static LongArrayList wrap(long[] array) {
+        LongArrayList list = new LongArrayList();
+        list.elements = array;
+        list.size = array.length;
+        return list;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public long setLong(int index, long value) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    public void addLong(long value) {
+        grow(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * 元素复制到新的数组
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        return setLong(index, value);
+    }
+
+    @Override
+    public void add(int index, Long value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long unboxed = value;
+        grow(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = unboxed;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Long remove(int index) {
+        checkIndex(index);
+        long old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    private void grow(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length + (elements.length >> 1) + 1));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
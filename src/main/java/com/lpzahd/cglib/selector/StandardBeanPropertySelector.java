@@ -2,9 +2,10 @@ package com.lpzahd.cglib.selector;
 
 
 import com.lpzahd.cglib.BeanPropertySelector;
-import net.sf.cglib.core.ReflectUtils;
+import com.lpzahd.cglib.PropertyIndex;
 
 import java.beans.PropertyDescriptor;
+import java.util.Map;
 
 /**
  * Class Name: StandardBeanPropertySelector
@@ -18,20 +19,18 @@ public class StandardBeanPropertySelector implements BeanPropertySelector {
 
     @Override
     public PropertyDescriptor[] selectGetters(Class<?> clazz) {
-        // 基于标准 JavaBean 命名约定选择属性获取器
-        PropertyDescriptor[] beanGetters = ReflectUtils.getBeanGetters(clazz);
-        PropertyDescriptor[] getters = new PropertyDescriptor[beanGetters.length];
-        System.arraycopy(beanGetters, 0, getters, 0, beanGetters.length);
-        return getters;
+        // 基于标准 JavaBean 命名约定选择属性获取器，返回缓存的数组
+        return PropertyIndex.of(clazz).getGetters();
     }
 
     @Override
     public PropertyDescriptor[] selectSetters(Class<?> clazz) {
-        // 基于标准 JavaBean 命名约定选择属性设置器
-        PropertyDescriptor[] beanSetters = ReflectUtils.getBeanSetters(clazz);
-        PropertyDescriptor[] setters = new PropertyDescriptor[beanSetters.length];
-        System.arraycopy(beanSetters, 0, setters, 0, beanSetters.length);
-        return setters;
+        // 基于标准 JavaBean 命名约定选择属性设置器，返回缓存的数组
+        return PropertyIndex.of(clazz).getSetters();
     }
-}
 
+    @Override
+    public Map<String, PropertyDescriptor> selectGetterNames(Class<?> clazz) {
+        return PropertyIndex.of(clazz).getGetterNames();
+    }
+}
@@ -0,0 +1,85 @@
+package com.lpzahd.cglib;
+
+import com.lpzahd.cglib.engine.HiddenClassCopierEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 对比CGLIB_ENGINE与HIDDEN_CLASS_ENGINE的首个拷贝器生成耗时、持续生成耗时与预热后的拷贝吞吐，直接运行main方法，不属于单元测试。
+ * 首个拷贝器的耗时包括引擎自身的类加载与初始化，只有进程中第一个运行的引擎测得的是冷启动耗时，
+ * 需要分别对比时以参数cglib或者hidden在不同的进程中各运行一次
+ */
+public class CopierEngineBenchmark {
+
+    private static final int GENERATIONS = 200;
+    private static final int COPIES = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * 防止拷贝结果被JIT消除
+     */
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        List<CopierEngine> engines = new ArrayList<>();
+        if (args.length == 0 || args[0].equals("cglib")) {
+            engines.add(CopierEngine.CGLIB_ENGINE);
+        }
+        if (args.length == 0 || args[0].equals("hidden")) {
+            if (HiddenClassCopierEngine.isSupported()) {
+                engines.add(CopierEngine.HIDDEN_CLASS_ENGINE);
+            } else {
+                System.out.println("当前JDK不支持hidden class，跳过HIDDEN_CLASS_ENGINE");
+            }
+        }
+        for (CopierEngine engine : engines) {
+            long start = System.nanoTime();
+            sink = engine.create(generator(false));
+            System.out.printf("%-24s first copier %10.1f us%n", engine.getClass().getSimpleName(), (System.nanoTime() - start) / 1000.0);
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            for (CopierEngine engine : engines) {
+                long generation = generation(engine);
+                long copy = throughput(engine);
+                System.out.printf("round %d %-24s generate %8.1f us/class   copy %8.1f ns/op%n",
+                        round, engine.getClass().getSimpleName(),
+                        generation / 1000.0 / GENERATIONS, (double) copy / COPIES);
+            }
+        }
+    }
+
+    private static Copier.Generator generator(boolean useCache) {
+        Copier.Generator generator = new Copier.Generator();
+        generator.setSource(CopyTest.Source.class);
+        generator.setTarget(CopyTest.Target.class);
+        generator.setUseCache(useCache);
+        return generator;
+    }
+
+    private static long generation(CopierEngine engine) {
+        long start = System.nanoTime();
+        for (int i = 0; i < GENERATIONS; i++) {
+            // 关闭cglib缓存，每次都真正生成一个类
+            sink = engine.create(generator(false));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(CopierEngine engine) {
+        Copier copier = engine.create(generator(true));
+        CopyTest.Source source = new CopyTest.Source();
+        CopyTest.Target target = new CopyTest.Target();
+        // 预热
+        for (int i = 0; i < COPIES; i++) {
+            copier.copy(source, target, null, null);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < COPIES; i++) {
+            copier.copy(source, target, null, null);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = target;
+        return elapsed;
+    }
+}
@@ -1,14 +1,35 @@
 package com.lpzahd.cglib;
 
+import com.lpzahd.cglib.engine.HiddenClassCopierEngine;
+import com.lpzahd.cglib.fixture.Internals;
+import com.lpzahd.cglib.metrics.CopierMetrics;
+import com.lpzahd.cglib.metrics.CopierMetricsRegistry;
+import com.lpzahd.cglib.primitive.DoubleArrayList;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Value;
+import net.sf.cglib.core.Converter;
 import net.sf.cglib.core.DebuggingClassWriter;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class CopyTest {
 
@@ -130,6 +151,220 @@ public class CopyTest {
         private Map<Integer, BigInteger> mBigIntegerMap = singletonMap(90, BigInteger.ONE.add(BigInteger.ONE));
     }
 
+    @Value
+    public static class Money {
+        BigDecimal amount;
+        String currency;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class MoneyDto {
+        private BigDecimal amount;
+        private String currency;
+    }
+
+    /**
+     * 字段声明顺序与构造参数顺序相反，参数类型相同
+     */
+    public static class CurrencyCode {
+        private final String code;
+        private final String currency;
+
+        public CurrencyCode(String currency, String code) {
+            this.currency = currency;
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+    }
+
+    public static class NamedCurrencyCode extends CurrencyCode {
+        @java.beans.ConstructorProperties({"currency", "code"})
+        public NamedCurrencyCode(String currency, String code) {
+            super(currency, code);
+        }
+    }
+
+    @Data
+    public static class CurrencyCodeDto {
+        private String currency = "CNY";
+        private String code = "156";
+    }
+
+    @Value
+    @Builder
+    public static class Payment {
+        String currency;
+        int cents;
+        List<Money> parts;
+    }
+
+    @Data
+    public static class Order {
+        private Money price = new Money(BigDecimal.TEN, "CNY");
+        private List<Money> history = Collections.singletonList(new Money(BigDecimal.ONE, "CNY"));
+        private SourceChild child = new SourceChild();
+    }
+
+    @Data
+    public static class OrderView {
+        private Money price;
+        private SourceChild child;
+    }
+
+    /**
+     * 重写setter的子类，直接访问字段时不会调用
+     */
+    public static class CountingTarget extends Target {
+
+        private int setterCalls;
+
+        @Override
+        public void setMInt(int mInt) {
+            setterCalls++;
+            super.setMInt(mInt);
+        }
+    }
+
+    @Data
+    public static class Ticket {
+        private String code = "7";
+        private String name = "ticket";
+    }
+
+    @Data
+    public static class TicketView {
+        /**
+         * 每创建一个中间对象计数一次
+         */
+        static int created;
+
+        private Integer code;
+        private String name;
+
+        public TicketView() {
+            created++;
+        }
+    }
+
+    @Data
+    public static class Shape {
+        private String name = "shape";
+    }
+
+    @Data
+    public static class Circle extends Shape {
+        private int radius = 1;
+    }
+
+    @Data
+    public static class ShapeDto {
+        private String name;
+    }
+
+    @Data
+    public static class CircleDto extends ShapeDto {
+        private int radius;
+    }
+
+    @Data
+    public static class Drawing {
+        private Shape shape = new Circle();
+        private List<Shape> shapes = Arrays.asList(new Circle(), new Shape());
+        private Object any = new Circle();
+    }
+
+    @Data
+    public static class DrawingDto {
+        private ShapeDto shape;
+        private List<ShapeDto> shapes;
+        private Object any;
+    }
+
+    @Data
+    public static class Sheet<T> {
+        private List<T> items;
+        private Map<String, Set<T>> groups;
+    }
+
+    @Data
+    public static class SourceSheet extends Sheet<SourceChild> {
+        private List<List<SourceChild>> rows = Arrays.asList(Arrays.asList(new SourceChild(), null), Collections.emptyList());
+        private List<? extends SourceChild> extras = Collections.singletonList(new SourceChild());
+        private List<SourceChild>[] pages = new List[]{Collections.singletonList(new SourceChild())};
+        private List<String> ids = Arrays.asList("1", "2");
+
+        public Set<String> getCodes() {
+            return Collections.singleton("3");
+        }
+    }
+
+    @Data
+    public static class TargetSheet extends Sheet<TargetChild> {
+        private List<List<TargetChild>> rows;
+        private List<TargetChild> extras;
+        private List<TargetChild>[] pages;
+        private List<Long> ids;
+        private Set<Long> codes;
+    }
+
+    @Data
+    public static class Ledger {
+        private String status = new String("OPEN");
+        private Money total = new Money(BigDecimal.ONE, new String("CNY"));
+        private List<String> tags = Arrays.asList(new String("a"), new String("a"));
+    }
+
+    @Data
+    public static class Samples {
+        private List<Long> ids = Arrays.asList(1L, null, 3L);
+        private List<Double> values = Arrays.asList(0.5, 1.5);
+        private int[] counts = {1, 2};
+        private double[] weights = {1.0};
+        private List<List<Integer>> matrix = Collections.singletonList(Arrays.asList(4, 5));
+    }
+
+    @Data
+    public static class SamplesDto {
+        private long[] ids;
+        private DoubleArrayList values;
+        private List<Integer> counts;
+        private DoubleArrayList weights;
+        private List<int[]> matrix;
+    }
+
+    @Data
+    public static class Account {
+        private long id = 7L;
+        private boolean active = true;
+        private char grade = 'A';
+        private String name = "账户";
+        private BigDecimal balance = new BigDecimal("12.50");
+        private int[] scores = {1, 2, 3};
+        private LocalDate opened = LocalDate.of(2026, 10, 20);
+        private Map<String, Long> limits = singletonMap("day", 100L);
+        private List<Account> children = new ArrayList<>();
+        private String[] labels = {"x", null};
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Trade {
+        private long id;
+        private String symbol;
+        private double price;
+        private Integer quantity;
+        private List<String> notes;
+    }
+
     private static <K, V> Map<K, V> singletonMap(K key, V value) {
         HashMap<K, V> map = new HashMap<>();
         map.put(key, value);
@@ -282,4 +517,761 @@ public class CopyTest {
 //            var6.setChildRMap(var11);
 //        }
     }
+
+    @Test
+    public void tieredCopy() {
+        TieredCopier copier = TieredCopier.create(Copier.generator(Source.class, Target.class, false, false, Collections.emptyMap(), null), CopierEngine.CGLIB_ENGINE, 2, Runnable::run);
+
+        Target first = new Target();
+        copier.copy(new Source(), first, null, null);
+        assertFalse(copier.isGenerated());
+        assertEquals(1, first.getMInt());
+        assertEquals(2, first.getChild().getMInt());
+        assertEquals(1, first.getChildList().size());
+        assertEquals(2, first.getChildMap().get(1).getMInt());
+
+        Target second = new Target();
+        copier.copy(new Source(), second, null, null);
+        assertTrue(copier.isGenerated());
+        assertEquals(first, second);
+        assertNull(copier.getFailure());
+
+        // 执行器拒绝时继续反射拷贝，下一次调用重新提交
+        AtomicInteger submissions = new AtomicInteger();
+        TieredCopier rejected = TieredCopier.create(Copier.generator(Source.class, Target.class, false, false, Collections.emptyMap(), null), CopierEngine.CGLIB_ENGINE, 1, task -> {
+            if (submissions.incrementAndGet() == 1) {
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        });
+        rejected.copy(new Source(), new Target(), null, null);
+        assertFalse(rejected.isGenerated());
+        rejected.copy(new Source(), new Target(), null, null);
+        assertTrue(rejected.isGenerated());
+
+        // 生成失败时记录原因，不再重新生成
+        IllegalStateException error = new IllegalStateException("generation failed");
+        TieredCopier failed = TieredCopier.create(Copier.generator(Source.class, Target.class, false, false, Collections.emptyMap(), null), g -> {
+            throw error;
+        }, 1, Runnable::run);
+        Target reflected = new Target();
+        failed.copy(new Source(), reflected, null, null);
+        failed.copy(new Source(), new Target(), null, null);
+        assertFalse(failed.isGenerated());
+        assertSame(error, failed.getFailure());
+        assertEquals(first, reflected);
+    }
+
+    @Test
+    public void builderCache() {
+        Copier copier = Cglib.builder(SourceChild.class, TargetChild.class).append("MString", "MString").build();
+        assertSame(copier, Cglib.builder(SourceChild.class, TargetChild.class).append("MString", "MString").build());
+        assertNotSame(copier, Cglib.builder(SourceChild.class, TargetChild.class).append("MString", "MInteger").build());
+        assertNotSame(copier, Cglib.builder(SourceChild.class, TargetChild.class).build());
+        assertSame(copier, Cglib.builder(SourceChild.class, TargetChild.class).append("MString", "MString").evict());
+        assertNotSame(copier, Cglib.builder(SourceChild.class, TargetChild.class).append("MString", "MString").build());
+    }
+
+    @Test
+    public void metrics() {
+        Cglib.builder(SourceChild.class, Target.class).metrics(true).build().copy(new SourceChild(), new Target(), null, null);
+        Cglib.builder(SourceChild.class, Target.class).metrics(true).build().copy(new SourceChild(), new Target(), null, null);
+
+        CopierMetrics metrics = CopierMetricsRegistry.get(SourceChild.class, Target.class);
+        assertEquals(2, metrics.getCopyCount());
+        assertEquals(1, metrics.getCacheMissCount());
+        assertEquals(1, metrics.getCacheHitCount());
+        assertEquals(1, metrics.getGenerationCount());
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                assertDoesNotThrow(() -> CopierMetricsRegistry.objectName(SourceChild.class.getName(), Target.class.getName()))));
+    }
+
+    @Test
+    public void generationEvent() throws Exception {
+        Path file = Files.createTempFile("copier", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.lpzahd.cglib.CopierGeneration");
+            recording.enable("com.lpzahd.cglib.CopierCacheMiss");
+            recording.start();
+            Cglib.builder(Source.class, TargetChild.class).build();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        RecordedEvent generation = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.lpzahd.cglib.CopierGeneration"))
+                .findFirst().orElseThrow(AssertionError::new);
+        assertEquals(Source.class.getName(), generation.getClass("sourceClass").getName());
+        assertEquals(TargetChild.class.getName(), generation.getClass("targetClass").getName());
+        assertTrue(generation.getInt("propertyCount") > 0);
+        assertTrue(generation.getInt("bytecodeSize") > 0);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.lpzahd.cglib.CopierCacheMiss")));
+    }
+
+    @Test
+    public void plan() {
+        CopyPlan plan = Cglib.builder(Source.class, Target.class).plan();
+        assertTrue(plan.getCopyMethodSize() > 0);
+        assertTrue(plan.getSkippedProperties().isEmpty());
+        assertEquals(CopyPlan.Strategy.NESTED_BEAN, find(plan, "child").getStrategy());
+        assertEquals(CopyPlan.Strategy.DIRECT, find(plan, "child.MInt").getStrategy());
+        assertEquals(CopyPlan.Strategy.DEEP_COLLECTION, find(plan, "childList").getStrategy());
+        assertEquals(CopyPlan.Strategy.NESTED_BEAN, find(plan, "childList[]").getStrategy());
+        assertEquals(CopyPlan.Strategy.NESTED_BEAN, find(plan, "childRMap{key}").getStrategy());
+        assertEquals(CopyPlan.Strategy.ELEMENT_REFERENCE, find(plan, "childRMap{value}").getStrategy());
+
+        CopyPlan converted = Cglib.builder(Source.class, Target.class).converter(true).plan();
+        assertEquals(CopyPlan.Strategy.CONVERT, find(converted, "MInt").getStrategy());
+        assertTrue(find(converted, "MInt").isBoxed());
+
+        // 跳过的基本类型属性不生成代码，不会装箱
+        CopyPlan.Property skipped = find(Cglib.builder(SourceChild.class, TargetChild.class).append("MInt", "MString").plan(), "MString");
+        assertEquals(CopyPlan.Strategy.SKIPPED_INCOMPATIBLE, skipped.getStrategy());
+        assertFalse(skipped.isBoxed());
+    }
+
+    @Test
+    public void fieldAccess() {
+        Target expected = Cglib.copy(new Source(), new Target());
+        Target actual = new Target();
+        Cglib.builder(Source.class, Target.class).fieldAccess(true).build().copy(new Source(), actual, null, null);
+        assertEquals(expected, actual);
+
+        Target filtered = new Target();
+        Cglib.builder(Source.class, Target.class).fieldAccess(true).filter(true).build().copy(new Source(), filtered, Filter.FILTER_IGNORE_NULL, null);
+        assertEquals(expected, filtered);
+
+        // 子类重写的setter被绕过，说明通过VarHandle直接写入了字段
+        CountingTarget counted = new CountingTarget();
+        Cglib.builder(Source.class, Target.class).fieldAccess(true).build().copy(new Source(), counted, null, null);
+        assertEquals(0, counted.setterCalls);
+        assertEquals(expected.getMInt(), counted.getMInt());
+        Cglib.builder(Source.class, Target.class).build().copy(new Source(), counted, null, null);
+        assertEquals(1, counted.setterCalls);
+    }
+
+    @Test
+    public void deepClone() {
+        assertTrue(Immutables.isImmutable(Money.class));
+        assertFalse(Immutables.isImmutable(SourceChild.class));
+
+        Order order = new Order();
+        Order clone = Cglib.deepClone(order);
+        assertEquals(order, clone);
+        assertSame(order.getPrice(), clone.getPrice());
+        assertNotSame(order.getHistory(), clone.getHistory());
+        assertSame(order.getHistory().get(0), clone.getHistory().get(0));
+        assertNotSame(order.getChild(), clone.getChild());
+        assertSame(order.getPrice(), Cglib.deepClone(order.getPrice()));
+    }
+
+    @Test
+    public void polymorphic() {
+        Drawing drawing = new Drawing();
+        Drawing clone = Cglib.deepClone(drawing);
+        assertEquals(Circle.class, clone.getShape().getClass());
+        assertNotSame(drawing.getShape(), clone.getShape());
+        assertEquals(Circle.class, clone.getShapes().get(0).getClass());
+        assertEquals(Shape.class, clone.getShapes().get(1).getClass());
+        assertEquals(Circle.class, clone.getAny().getClass());
+        assertNotSame(drawing.getAny(), clone.getAny());
+
+        DrawingDto dto = new DrawingDto();
+        Cglib.builder(Drawing.class, DrawingDto.class)
+                .subtype(Circle.class, CircleDto.class)
+                .subtype(Shape.class, ShapeDto.class)
+                .build()
+                .copy(drawing, dto, null, null);
+        assertEquals(1, ((CircleDto) dto.getShape()).getRadius());
+        assertEquals(CircleDto.class, dto.getShapes().get(0).getClass());
+        assertEquals(ShapeDto.class, dto.getShapes().get(1).getClass());
+        assertEquals(CircleDto.class, dto.getAny().getClass());
+        assertEquals(CopyPlan.Strategy.POLYMORPHIC, find(Cglib.builder(Drawing.class, DrawingDto.class).polymorphic(true).plan(), "shape").getStrategy());
+
+        // 按运行时类型拷贝的子拷贝器沿用所在拷贝器的配置
+        BeanPropertySelector noRadius = excluding("radius");
+        for (CopierEngine engine : supportedEngines()) {
+            DrawingDto selected = (DrawingDto) Cglib.builder(Drawing.class, DrawingDto.class)
+                    .subtype(Circle.class, CircleDto.class)
+                    .selector(noRadius)
+                    .engine(engine)
+                    .build()
+                    .copyNew(drawing, null, null);
+            assertEquals("shape", selected.getShape().getName());
+            assertEquals(0, ((CircleDto) selected.getShape()).getRadius());
+        }
+    }
+
+    @Test
+    public void engines() {
+        Source source = new Source();
+        Target expected = Cglib.copyByClass(source, Target.class);
+        for (CopierEngine engine : supportedEngines()) {
+            Target target = (Target) Cglib.builder(Source.class, Target.class).engine(engine).build().copyNew(source, null, null);
+            assertEquals(expected, target);
+            assertNotSame(source.getChild(), target.getChild());
+
+            // 其他包中不是public的目标类型
+            Object internal = Cglib.builder(SourceChild.class, Internals.targetType()).engine(engine).build().copyNew(new SourceChild(), null, null);
+            assertEquals(Internals.targetType(), internal.getClass());
+            assertEquals(2, Internals.mInt(internal));
+            assertEquals("2", Internals.mString(internal));
+        }
+        assumeTrue(HiddenClassCopierEngine.isSupported());
+        // hidden class的类名带有"/"后缀
+        assertTrue(Cglib.builder(Source.class, Target.class).engine(CopierEngine.HIDDEN_CLASS_ENGINE).build().getClass().getName().contains("/"));
+        // java.base没有开放java.time包，hidden class不能定义在LocalDate所在的包中
+        assertThrows(IllegalArgumentException.class, () -> CopierEngine.HIDDEN_CLASS_ENGINE.create(
+                Copier.generator(LocalDate.class, TargetChild.class, false, false, Collections.emptyMap(), null)));
+    }
+
+    /**
+     * 当前JDK支持的拷贝类生成方式
+     */
+    private static List<CopierEngine> supportedEngines() {
+        return HiddenClassCopierEngine.isSupported()
+                ? Arrays.asList(CopierEngine.CGLIB_ENGINE, CopierEngine.HIDDEN_CLASS_ENGINE)
+                : Collections.singletonList(CopierEngine.CGLIB_ENGINE);
+    }
+
+    /**
+     * 在STANDARD_SELECTOR的基础上排除指定属性，getter与setter都不包括这些属性
+     */
+    private static BeanPropertySelector excluding(String... names) {
+        Set<String> excluded = new HashSet<>(Arrays.asList(names));
+        return new BeanPropertySelector() {
+            @Override
+            public java.beans.PropertyDescriptor[] selectGetters(Class<?> clazz) {
+                return Arrays.stream(STANDARD_SELECTOR.selectGetters(clazz)).filter(p -> !excluded.contains(p.getName())).toArray(java.beans.PropertyDescriptor[]::new);
+            }
+
+            @Override
+            public java.beans.PropertyDescriptor[] selectSetters(Class<?> clazz) {
+                return Arrays.stream(STANDARD_SELECTOR.selectSetters(clazz)).filter(p -> !excluded.contains(p.getName())).toArray(java.beans.PropertyDescriptor[]::new);
+            }
+        };
+    }
+
+    @Test
+    public void merge() {
+        Source source = new Source();
+        Target target = new Target();
+        Copier copier = Cglib.builder(Source.class, Target.class).merge(true).build();
+        copier.copy(source, target, null, null);
+        TargetChild child = target.getChild();
+        TargetChild[] childArray = target.getChildArray();
+        List<TargetChild> childList = target.getChildList();
+        TargetChild element = childList.get(0);
+        Map<Integer, TargetChild> childMap = target.getChildMap();
+        TargetChild value = childMap.get(1);
+
+        source.getChild().setMInt(5);
+        source.setChildList(Arrays.asList(new SourceChild(), new SourceChild()));
+        copier.copy(source, target, null, null);
+        assertSame(child, target.getChild());
+        assertEquals(5, target.getChild().getMInt());
+        assertSame(childArray, target.getChildArray());
+        assertSame(childList, target.getChildList());
+        assertSame(element, target.getChildList().get(0));
+        assertEquals(2, target.getChildList().size());
+        assertSame(childMap, target.getChildMap());
+        assertSame(value, target.getChildMap().get(1));
+
+        source.setChildList(Collections.emptyList());
+        copier.copy(source, target, null, null);
+        assertSame(childList, target.getChildList());
+        assertTrue(target.getChildList().isEmpty());
+    }
+
+    @Test
+    public void diff() {
+        SourceChild source = new SourceChild();
+        TargetChild target = new TargetChild();
+        Cglib.copy(source, target);
+        Differ differ = Cglib.differ(SourceChild.class, TargetChild.class);
+        assertEquals(0L, differ.diff(source, target, false));
+
+        source.setMInt(5);
+        source.setMString("5");
+        long changed = differ.diff(source, target, true);
+        assertEquals(Arrays.asList("MInt", "MString"), differ.names(changed).stream().sorted().collect(java.util.stream.Collectors.toList()));
+        assertEquals(5, target.getMInt());
+        assertEquals("5", target.getMString());
+        assertTrue(differ.diffAll(source, target, false).isEmpty());
+
+        // mapper为null与空映射相同，selector不同的比较器不共享生成类
+        assertEquals(Arrays.asList(differ.getProperties()), Arrays.asList(Differ.create(SourceChild.class, TargetChild.class, null, null).getProperties()));
+        BeanPropertySelector noString = excluding("MString");
+        Differ selected = Differ.create(SourceChild.class, TargetChild.class, null, noString);
+        assertFalse(Arrays.asList(selected.getProperties()).contains("MString"));
+        assertTrue(Arrays.asList(differ.getProperties()).contains("MString"));
+    }
+
+    @Test
+    public void deepEquals() {
+        Source source = new Source();
+        Source clone = Cglib.deepClone(source);
+        assertTrue(Cglib.deepEquals(source, clone));
+        assertEquals(Cglib.deepHash(source), Cglib.deepHash(clone));
+
+        clone.getChildArray()[1].setMString("changed");
+        assertFalse(Cglib.deepEquals(source, clone));
+        assertFalse(Cglib.deepEquals(new Drawing(), new Source()));
+    }
+
+    @Test
+    public void map() {
+        SourceChild source = new SourceChild();
+        Map<String, Object> map = Cglib.toMap(source);
+        assertEquals(2, map.get("MInt"));
+        assertEquals("2", map.get("MString"));
+
+        map.put("MInt", "7");
+        map.put("MLongValue", 8);
+        map.put("unknown", 1);
+        TargetChild target = Cglib.fromMap(map, TargetChild.class);
+        assertEquals(7, target.getMInt());
+        assertEquals(8L, target.getMLongValue());
+        assertEquals("2", target.getMString());
+    }
+
+    @Test
+    public void addProperties() {
+        SourceChild source = new SourceChild();
+        SourceChild first = Cglib.addProperties(source, new Cglib.Property<>("extra", String.class, "a"), new Cglib.Property<>("count", int.class, 3));
+        SourceChild second = Cglib.addProperties(source, new Cglib.Property<>("extra", String.class, "b"), new Cglib.Property<>("count", int.class, 4));
+        assertSame(first.getClass(), second.getClass());
+        assertEquals(source.getMString(), second.getMString());
+        assertEquals("b", Cglib.toMap(second).get("extra"));
+        assertEquals(4, Cglib.toMap(second).get("count"));
+    }
+
+    @Test
+    public void propertyIndex() {
+        PropertyIndex index = PropertyIndex.of(SourceChild.class);
+        assertSame(index, PropertyIndex.of(SourceChild.class));
+        // 返回的数组是副本，修改不影响缓存
+        java.beans.PropertyDescriptor[] getters = BeanPropertySelector.STANDARD_SELECTOR.selectGetters(SourceChild.class);
+        assertArrayEquals(index.getGetters(), getters);
+        assertSame(index.getGetters()[0], getters[0]);
+        getters[0] = null;
+        assertNotNull(index.getGetters()[0]);
+        assertTrue(index.indexOf("MInt") >= 0);
+        assertEquals(-1, index.indexOf("missing"));
+        assertEquals(int.class, index.getGetterNames().get("MInt").getPropertyType());
+    }
+
+    @Test
+    public void construct() {
+        Money money = Cglib.copyByClass(new MoneyDto(BigDecimal.ONE, "USD"), Money.class);
+        assertEquals(new Money(BigDecimal.ONE, "USD"), money);
+
+        Order order = new Order();
+        Order copy = Cglib.copyByClass(order, Order.class);
+        assertEquals(order, copy);
+        assertNotSame(order.getPrice(), copy.getPrice());
+        assertNotSame(order.getHistory().get(0), copy.getHistory().get(0));
+
+        Payment payment = Payment.builder().currency("CNY").cents(5).parts(order.getHistory()).build();
+        Payment paymentCopy = Cglib.copyByClass(payment, Payment.class);
+        assertEquals(payment, paymentCopy);
+        assertEquals(Collections.singletonList(money), Cglib.copyListByClass(Collections.singletonList(new MoneyDto(BigDecimal.ONE, "USD")), Money.class));
+        assertEquals(paymentCopy, ReflectCopier.create(Payment.class, Payment.class, false, false, null, BeanPropertySelector.STANDARD_SELECTOR).copyNew(payment, null, null));
+
+        // @ConstructorProperties按名称对应参数
+        NamedCurrencyCode named = Cglib.copyByClass(new CurrencyCodeDto(), NamedCurrencyCode.class);
+        assertEquals("CNY", named.getCurrency());
+        assertEquals("156", named.getCode());
+        // 参数类型相同又没有参数名时无法确定对应的字段，创建拷贝器时拒绝
+        if (CurrencyCode.class.getConstructors()[0].getParameters()[0].isNamePresent()) {
+            assertEquals("CNY", Cglib.copyByClass(new CurrencyCodeDto(), CurrencyCode.class).getCurrency());
+        } else {
+            assertThrows(IllegalArgumentException.class, () -> Cglib.copyByClass(new CurrencyCodeDto(), CurrencyCode.class));
+        }
+
+        // 没有重写copyNew的子类通过无参构造创建目标
+        Copier custom = new Copier() {
+            @Override
+            public void copy(Object source, Object target, Filter<?, ?> filter, Converter converter) {
+                ((CurrencyCodeDto) target).setCurrency(((MoneyDto) source).getCurrency());
+            }
+
+            @Override
+            public Class<?> getTargetClass() {
+                return CurrencyCodeDto.class;
+            }
+        };
+        CurrencyCodeDto created = (CurrencyCodeDto) custom.copyNew(new MoneyDto(BigDecimal.ONE, "USD"), null, null);
+        assertEquals("USD", created.getCurrency());
+    }
+
+    @Test
+    public void fanOut() {
+        SourceChild source = new SourceChild();
+        FanOutCopier copier = Cglib.builder(SourceChild.class, TargetChild.class).fanOut(SourceChild.class, MoneyDto.class);
+        Object[] targets = copier.copyNew(source, null, null);
+        assertEquals(3, targets.length);
+        assertEquals(source.getMString(), ((TargetChild) targets[0]).getMString());
+        assertEquals(source, targets[1]);
+        assertNull(((MoneyDto) targets[2]).getCurrency());
+
+        TargetChild existing = new TargetChild();
+        Object[] copied = copier.copy(source, new Object[]{existing, null, null}, null, null);
+        assertSame(existing, copied[0]);
+        assertEquals(source.getMInt(), existing.getMInt());
+        assertNotNull(copied[1]);
+
+        // selector不同的拷贝器不共享生成类
+        BeanPropertySelector noString = excluding("MString");
+        Object[] selected = Cglib.builder(SourceChild.class, TargetChild.class).selector(noString).fanOut(SourceChild.class, MoneyDto.class).copyNew(source, null, null);
+        assertNull(((TargetChild) selected[0]).getMString());
+        assertEquals(source.getMInt(), ((TargetChild) selected[0]).getMInt());
+    }
+
+    @Test
+    public void coalesce() {
+        SourceChild base = new SourceChild();
+        base.setMString(null);
+        base.setMLong(null);
+        TargetChild override = new TargetChild();
+        override.setMString("override");
+        SourceChild defaults = new SourceChild();
+        defaults.setMLong(9L);
+
+        TargetChild target = Cglib.coalesce(new TargetChild(), base, override, defaults);
+        assertEquals("override", target.getMString());
+        assertEquals(9L, target.getMLong());
+        assertEquals(base.getMInt(), target.getMInt());
+
+        CoalescingCopier copier = CoalescingCopier.create(TargetChild.class, SourceChild.class, TargetChild.class);
+        TargetChild partial = copier.copy(new Object[]{null, override}, new TargetChild());
+        assertEquals("override", partial.getMString());
+        assertThrows(IllegalArgumentException.class, () -> copier.copy(new Object[]{base}, new TargetChild()));
+
+        // 相同的类型与selector返回缓存的拷贝器，selector不同的拷贝器不共享生成类
+        assertSame(copier, CoalescingCopier.create(TargetChild.class, SourceChild.class, TargetChild.class));
+        BeanPropertySelector noString = excluding("MString");
+        CoalescingCopier selected = CoalescingCopier.create(TargetChild.class, new Class<?>[]{SourceChild.class, TargetChild.class}, noString);
+        assertNotSame(copier, selected);
+        TargetChild unselected = selected.copy(new Object[]{null, override}, new TargetChild());
+        assertNull(unselected.getMString());
+    }
+
+    @Test
+    public void via() {
+        Order order = new Order();
+        Copier copier = Cglib.builder(Order.class, Order.class).via(OrderView.class).build();
+        Order target = new Order();
+        target.setHistory(null);
+        copier.copy(order, target, null, null);
+        assertNull(target.getHistory());
+        assertEquals(order.getPrice(), target.getPrice());
+        assertEquals(order.getChild(), target.getChild());
+        assertNotSame(order.getChild(), target.getChild());
+
+        CopyPlan plan = Cglib.builder(Order.class, Order.class).via(OrderView.class).plan();
+        assertEquals(CopyPlan.Strategy.SKIPPED_NO_SOURCE, find(plan, "history").getStrategy());
+
+        // 中间属性的类型不同：不使用转换器时与分两次拷贝一样跳过，使用转换器时依次转换为中间属性与目标属性的类型
+        Ticket ticket = new Ticket();
+        ticket.setCode("8");
+        Ticket fused = (Ticket) Cglib.builder(Ticket.class, Ticket.class).via(TicketView.class).build().copyNew(ticket, null, null);
+        assertEquals("7", fused.getCode());
+        assertEquals("ticket", fused.getName());
+        assertEquals(CopyPlan.Strategy.SKIPPED_INCOMPATIBLE,
+                find(Cglib.builder(Ticket.class, Ticket.class).via(TicketView.class).plan(), "code").getStrategy());
+
+        List<Object> conversions = new ArrayList<>();
+        Converter converter = (value, type, context) -> {
+            conversions.add(type.getSimpleName() + ":" + context);
+            if (type == Integer.class && value instanceof String) {
+                return Integer.valueOf((String) value);
+            }
+            return type == String.class && value instanceof Integer ? "#" + value : value;
+        };
+        Copier converting = Cglib.builder(Ticket.class, Ticket.class).via(TicketView.class).converter(true).build();
+        int created = TicketView.created;
+        fused = (Ticket) converting.copyNew(ticket, null, converter);
+        assertEquals("#8", fused.getCode());
+        assertTrue(conversions.containsAll(Arrays.asList("Integer:setCode", "String:setCode")));
+        // 融合拷贝不创建中间对象
+        assertEquals(created, TicketView.created);
+        Ticket chained = (Ticket) Cglib.builder(TicketView.class, Ticket.class).converter(true).build()
+                .copyNew(Cglib.builder(Ticket.class, TicketView.class).converter(true).build().copyNew(ticket, null, converter), null, converter);
+        assertEquals(chained, fused);
+        assertEquals(created + 1, TicketView.created);
+    }
+
+    @Test
+    public void typeRef() {
+        // 整个结构生成一个拷贝器，相同的(源类型, 目标类型)复用同一个拷贝器
+        TypeRef<List<SourceChild>> sourceType = new TypeRef<List<SourceChild>>() {
+        };
+        TypeRef<List<TargetChild>> targetType = new TypeRef<List<TargetChild>>() {
+        };
+        List<SourceChild> sources = Arrays.asList(new SourceChild(), null, new SourceChild());
+        List<TargetChild> targets = Cglib.copy(sources, sourceType, targetType);
+        assertEquals(3, targets.size());
+        assertNull(targets.get(1));
+        assertEquals(sources.get(0).getMString(), targets.get(0).getMString());
+        assertEquals(sources.get(2).getMInt(), targets.get(2).getMInt());
+
+        Map<String, SourceChild> map = singletonMap("a", new SourceChild());
+        Map<String, TargetChild> targetMap = Cglib.copy(map, new TypeRef<Map<String, SourceChild>>() {
+        }, new TypeRef<Map<String, TargetChild>>() {
+        });
+        assertEquals(map.get("a").getMString(), targetMap.get("a").getMString());
+
+        TargetChild[] array = Cglib.copy(new SourceChild[]{new SourceChild()}, new TypeRef<SourceChild[]>() {
+        }, new TypeRef<TargetChild[]>() {
+        });
+        assertEquals(1, array.length);
+        assertEquals(2, array[0].getMInt());
+
+        assertTrue(Cglib.copy(Collections.emptyList(), sourceType, targetType).isEmpty());
+
+        assertSame(RootCopier.create(sourceType.getType(), targetType.getType(), false, false, BeanPropertySelector.STANDARD_SELECTOR),
+                RootCopier.create(new TypeRef<List<SourceChild>>() {
+                }.getType(), new TypeRef<List<TargetChild>>() {
+                }.getType(), false, false, BeanPropertySelector.STANDARD_SELECTOR));
+        assertThrows(IllegalArgumentException.class, () -> RootCopier.create(new TypeRef<Map<String, SourceChild>>() {
+        }.getType(), targetType.getType(), false, false, BeanPropertySelector.STANDARD_SELECTOR));
+    }
+
+    @Test
+    public void genericElements() {
+        SourceSheet sheet = new SourceSheet();
+        sheet.setItems(Collections.singletonList(new SourceChild()));
+        sheet.setGroups(singletonMap("g", Collections.singleton(new SourceChild())));
+        Copier copier = Cglib.builder(SourceSheet.class, TargetSheet.class).converter(true).build();
+        TargetSheet target = (TargetSheet) copier.copyNew(sheet, null,
+                (value, type, context) -> type == Long.class && value instanceof String ? Long.valueOf((String) value) : value);
+
+        // 嵌套集合逐层拷贝
+        assertEquals(2, target.getRows().size());
+        assertEquals(2, target.getRows().get(0).get(0).getMInt());
+        assertNull(target.getRows().get(0).get(1));
+        assertTrue(target.getRows().get(1).isEmpty());
+        assertEquals(TargetChild.class, target.getPages()[0].get(0).getClass());
+        // 通配符与继承来的类型变量
+        assertEquals(TargetChild.class, target.getExtras().get(0).getClass());
+        assertEquals(TargetChild.class, target.getItems().get(0).getClass());
+        assertEquals(TargetChild.class, target.getGroups().get("g").iterator().next().getClass());
+        // 元素经过Converter转换，只读的源属性取getter的泛型类型
+        assertEquals(Arrays.asList(1L, 2L), target.getIds());
+        assertEquals(Collections.singleton(3L), target.getCodes());
+
+        CopyPlan plan = Cglib.builder(SourceSheet.class, TargetSheet.class).converter(true).plan();
+        assertEquals(CopyPlan.Strategy.DEEP_COLLECTION, find(plan, "rows[]").getStrategy());
+        assertEquals(CopyPlan.Strategy.NESTED_BEAN, find(plan, "rows[][]").getStrategy());
+        assertEquals(CopyPlan.Strategy.CONVERT, find(plan, "ids[]").getStrategy());
+
+        List<List<TargetChild>> nested = Cglib.copy(Collections.singletonList(Collections.singletonList(new SourceChild())), new TypeRef<List<List<SourceChild>>>() {
+        }, new TypeRef<List<List<TargetChild>>>() {
+        });
+        assertEquals(TargetChild.class, nested.get(0).get(0).getClass());
+
+        // 嵌套的根结构按声明的源类型生成，不按元素推断
+        Map<String, List<SourceChild>> groups = singletonMap("g", Arrays.asList(new SourceChild(), null));
+        Map<String, Set<TargetChild>> generated = Cglib.copy(groups, new TypeRef<Map<String, List<SourceChild>>>() {
+        }, new TypeRef<Map<String, Set<TargetChild>>>() {
+        });
+        assertEquals(new HashSet<>(Arrays.asList(Cglib.copyByClass(groups.get("g").get(0), TargetChild.class), null)), generated.get("g"));
+    }
+
+    @Test
+    public void primitiveSequences() {
+        Samples samples = new Samples();
+        assertThrows(NullPointerException.class, () -> Cglib.builder(Samples.class, SamplesDto.class).build().copyNew(samples, null, null));
+
+        SamplesDto dto = (SamplesDto) Cglib.builder(Samples.class, SamplesDto.class).nullElements(NullElementPolicy.SKIP).build().copyNew(samples, null, null);
+        assertArrayEquals(new long[]{1L, 3L}, dto.getIds());
+        assertEquals(1.5, dto.getValues().getDouble(1));
+        assertEquals(Arrays.asList(1, 2), dto.getCounts());
+        assertArrayEquals(new int[]{4, 5}, dto.getMatrix().get(0));
+        // 基本类型列表不与源数组共享存储
+        samples.getWeights()[0] = 9.0;
+        assertEquals(1.0, dto.getWeights().getDouble(0));
+
+        SamplesDto zero = (SamplesDto) Cglib.builder(Samples.class, SamplesDto.class).nullElements(NullElementPolicy.ZERO).build().copyNew(samples, null, null);
+        assertArrayEquals(new long[]{1L, 0L, 3L}, zero.getIds());
+
+        Samples back = (Samples) Cglib.builder(SamplesDto.class, Samples.class).build().copyNew(dto, null, null);
+        assertEquals(Arrays.asList(1L, 3L), back.getIds());
+        assertEquals(Arrays.asList(0.5, 1.5), back.getValues());
+        assertArrayEquals(new int[]{1, 2}, back.getCounts());
+        assertArrayEquals(new double[]{1.0}, back.getWeights());
+        assertEquals(Collections.singletonList(Arrays.asList(4, 5)), back.getMatrix());
+
+        CopyPlan plan = Cglib.builder(Samples.class, SamplesDto.class).plan();
+        assertEquals(CopyPlan.Strategy.PRIMITIVE_SEQUENCE, find(plan, "ids").getStrategy());
+        assertEquals(CopyPlan.Strategy.PRIMITIVE_SEQUENCE, find(plan, "matrix[]").getStrategy());
+    }
+
+    @Test
+    public void collectionOutput() {
+        SourceSheet sheet = new SourceSheet();
+        sheet.setItems(Collections.emptyList());
+        sheet.setGroups(singletonMap("g", Collections.singleton(new SourceChild())));
+        Converter converter = (value, type, context) -> type == Long.class && value instanceof String ? Long.valueOf((String) value) : value;
+
+        TargetSheet compact = (TargetSheet) Cglib.builder(SourceSheet.class, TargetSheet.class).converter(true)
+                .collectionOutput(CollectionOutput.COMPACT).build().copyNew(sheet, null, converter);
+        // 空集合共享单例，一个元素使用singleton
+        assertSame(Collections.emptyList(), compact.getItems());
+        assertSame(Collections.emptyList(), compact.getRows().get(1));
+        assertFalse(Merges.isMutable(compact.getGroups()));
+        assertFalse(Merges.isMutable(compact.getGroups().get("g")));
+        // 包含null元素的列表
+        assertNull(compact.getRows().get(0).get(1));
+        assertThrows(UnsupportedOperationException.class, () -> compact.getRows().get(0).add(null));
+        assertEquals(Arrays.asList(1L, 2L), compact.getIds());
+        assertThrows(UnsupportedOperationException.class, () -> compact.getIds().add(3L));
+
+        TargetSheet trimmed = (TargetSheet) Cglib.builder(SourceSheet.class, TargetSheet.class).converter(true)
+                .collectionOutput(CollectionOutput.TRIMMED).build().copyNew(sheet, null, converter);
+        assertEquals(Arrays.asList(1L, 2L), trimmed.getIds());
+        trimmed.getIds().add(3L);
+        assertEquals(3, trimmed.getIds().size());
+    }
+
+    @Test
+    public void intern() {
+        InterningPool pool = InterningPool.named("copy-test", 1 << 16);
+        Copier copier = Cglib.builder(Ledger.class, Ledger.class).intern("copy-test", Money.class).build();
+        Ledger first = (Ledger) copier.copyNew(new Ledger(), null, null);
+        Ledger second = (Ledger) copier.copyNew(new Ledger(), null, null);
+        assertSame(first.getStatus(), second.getStatus());
+        assertSame(first.getTotal(), second.getTotal());
+        assertSame(first.getTags().get(0), first.getTags().get(1));
+        assertSame(first.getTags().get(0), second.getTags().get(0));
+        assertTrue(pool.getHitCount() > 0);
+        assertTrue(pool.getHitRate() > 0);
+
+        // 可变类型不能驻留
+        assertThrows(IllegalArgumentException.class, () -> Cglib.builder(Ledger.class, Ledger.class).intern("copy-test", Ledger.class));
+    }
+
+    @Test
+    public void columnar() {
+        List<Trade> trades = Arrays.asList(new Trade(1L, "A", 1.5, 10, null), new Trade(2L, null, 2.5, null, null));
+        ColumnarCopier copier = Cglib.columnar(Trade.class);
+        // 可变类型的属性不按列保存
+        assertFalse(copier.getColumnNames().contains("notes"));
+
+        ColumnBatch batch = copier.toColumns(trades);
+        assertEquals(2, batch.size());
+        assertArrayEquals(new long[]{1L, 2L}, batch.longs("id"));
+        assertArrayEquals(new String[]{"A", null}, batch.strings("symbol"));
+        assertArrayEquals(new double[]{1.5, 2.5}, batch.doubles("price"));
+        assertArrayEquals(new Integer[]{10, null}, batch.column("quantity", Integer[].class));
+        assertThrows(IllegalArgumentException.class, () -> batch.ints("id"));
+
+        List<Trade> back = copier.fromColumns(batch);
+        assertEquals(trades, back);
+
+        // 指定列
+        ColumnarCopier prices = Cglib.columnar(Trade.class, "price", "id");
+        assertEquals(Arrays.asList("price", "id"), prices.getColumnNames());
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("price", new double[]{3.0, 4.0, 0});
+        columns.put("id", new long[]{3L, 4L, 0});
+        List<Trade> built = prices.fromColumns(new ColumnBatch(2, columns));
+        assertEquals(Arrays.asList(new Trade(3L, null, 3.0, null, null), new Trade(4L, null, 4.0, null, null)), built);
+
+        assertThrows(IllegalArgumentException.class, () -> copier.fromColumns(new ColumnBatch(2, columns)));
+        assertThrows(IllegalArgumentException.class, () -> Cglib.columnar(Trade.class, "notes"));
+        assertThrows(NullPointerException.class, () -> copier.toColumns(Arrays.asList(trades.get(0), null)));
+
+        // 相同的类型、属性与selector返回缓存的拷贝器
+        assertSame(copier, Cglib.columnar(Trade.class));
+        assertSame(prices, Cglib.columnar(Trade.class, "price", "id"));
+        assertTrue(copier.canMaterialize());
+
+        // 没有public无参构造的类型只能按列拷贝
+        ColumnarCopier currencies = Cglib.columnar(Money.class, "currency");
+        assertFalse(currencies.canMaterialize());
+        ColumnBatch money = currencies.toColumns(Collections.singletonList(new Money(BigDecimal.ONE, "CNY")));
+        assertArrayEquals(new String[]{"CNY"}, money.strings("currency"));
+        assertThrows(UnsupportedOperationException.class, () -> currencies.fromColumns(money));
+    }
+
+    @Test
+    public void codec() throws Exception {
+        Account account = new Account();
+        Account child = new Account();
+        child.setName(null);
+        child.setScores(new int[0]);
+        account.getChildren().add(child);
+        account.getChildren().add(null);
+
+        BeanCodec codec = Cglib.codec(Account.class);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.encode(account, buffer);
+        buffer.flip();
+        assertEquals(account, codec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+        assertThrows(java.nio.BufferOverflowException.class, () -> codec.encode(account, ByteBuffer.allocate(8)));
+
+        Path file = Files.createTempFile("accounts", ".snapshot");
+        try {
+            try (SnapshotFile snapshot = SnapshotFile.open(file, codec)) {
+                for (int i = 0; i < 1000; i++) {
+                    account.setId(i);
+                    snapshot.append(account);
+                }
+            }
+            try (SnapshotFile snapshot = SnapshotFile.open(file, codec)) {
+                assertEquals(1000, snapshot.size());
+                snapshot.append(child);
+                List<Account> accounts = snapshot.readAll();
+                assertEquals(1001, accounts.size());
+                assertEquals(999L, accounts.get(999).getId());
+                assertEquals(account.getChildren(), accounts.get(0).getChildren());
+                assertEquals(child, accounts.get(1000));
+            }
+            // 布局不同的编码不能读取
+            assertThrows(IllegalArgumentException.class, () -> SnapshotFile.open(file, Cglib.codec(Trade.class)));
+
+            // 只读打开不改变文件
+            long length = Files.size(file);
+            try (SnapshotFile snapshot = SnapshotFile.openReadOnly(file, codec)) {
+                assertEquals(1001, snapshot.readAll().size());
+                assertThrows(IllegalStateException.class, () -> snapshot.append(child));
+            }
+            assertEquals(length, Files.size(file));
+
+            // 模拟追加时崩溃：最后一条记录的内容不完整，打开时丢弃并且可以继续追加
+            Files.delete(file);
+            try (SnapshotFile snapshot = SnapshotFile.open(file, codec)) {
+                assertEquals(0, snapshot.size());
+                snapshot.append(account);
+                snapshot.append(child);
+            }
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file, java.nio.file.StandardOpenOption.WRITE, java.nio.file.StandardOpenOption.READ)) {
+                ByteBuffer first = ByteBuffer.allocate(4);
+                channel.read(first, 16);
+                ByteBuffer body = ByteBuffer.allocate(1);
+                channel.read(body, 16 + first.getInt(0) + 8);
+                body.put(0, (byte) ~body.get(0));
+                body.rewind();
+                channel.write(body, 16 + first.getInt(0) + 8);
+            }
+            try (SnapshotFile snapshot = SnapshotFile.open(file, codec)) {
+                assertEquals(1, snapshot.size());
+                snapshot.append(child);
+            }
+            try (SnapshotFile snapshot = SnapshotFile.openReadOnly(file, codec)) {
+                assertEquals(Arrays.asList(account, child), snapshot.readAll());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static CopyPlan.Property find(CopyPlan plan, String path) {
+        return plan.getProperties().stream().filter(p -> p.getPath().equals(path)).findFirst().orElseThrow(AssertionError::new);
+    }
 }
@@ -0,0 +1,55 @@
+package com.lpzahd.cglib;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 对比A -> B -> C两次拷贝与via融合后一次拷贝的耗时与每次拷贝的分配字节数，直接运行main方法，不属于单元测试。
+ * 分配字节数由com.sun.management.ThreadMXBean#getThreadAllocatedBytes统计当前线程，两者之差即融合后省去的中间对象(包括嵌套对象与集合)
+ */
+public class FusedCopierBenchmark {
+
+    private static final int COPIES = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * 防止拷贝结果被JIT消除
+     */
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("当前JVM不支持统计线程分配的字节数");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        Copier first = Cglib.builder(CopyTest.Source.class, CopyTest.Target.class).build();
+        Copier second = Cglib.builder(CopyTest.Target.class, CopyTest.Source.class).build();
+        Copier fused = Cglib.builder(CopyTest.Source.class, CopyTest.Source.class).via(CopyTest.Target.class).build();
+        CopyTest.Source source = new CopyTest.Source();
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] chained = measure(threads, () -> sink = second.copyNew(first.copyNew(source, null, null), null, null));
+            long[] direct = measure(threads, () -> sink = fused.copyNew(source, null, null));
+            System.out.printf("round %d chained %8.1f ns/op %8d B/op   fused %8.1f ns/op %8d B/op   saved %8d B/op%n",
+                    round, (double) chained[0] / COPIES, chained[1] / COPIES, (double) direct[0] / COPIES, direct[1] / COPIES,
+                    (chained[1] - direct[1]) / COPIES);
+        }
+    }
+
+    /**
+     * 预热后执行COPIES次，返回{耗时纳秒, 当前线程分配的字节数}
+     */
+    private static long[] measure(com.sun.management.ThreadMXBean threads, Runnable copy) {
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < COPIES; i++) {
+            copy.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < COPIES; i++) {
+            copy.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed, threads.getThreadAllocatedBytes(thread) - allocated};
+    }
+}
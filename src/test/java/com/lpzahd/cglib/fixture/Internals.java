@@ -0,0 +1,30 @@
+package com.lpzahd.cglib.fixture;
+
+import lombok.Data;
+
+/**
+ * 其他包中不是public的拷贝目标，测试生成类对宿主类型的选择
+ */
+public final class Internals {
+
+    private Internals() {
+    }
+
+    public static Class<?> targetType() {
+        return InternalTarget.class;
+    }
+
+    public static int mInt(Object target) {
+        return ((InternalTarget) target).getMInt();
+    }
+
+    public static String mString(Object target) {
+        return ((InternalTarget) target).getMString();
+    }
+
+    @Data
+    static class InternalTarget {
+        private int mInt;
+        private String mString;
+    }
+}